@@ -3,6 +3,7 @@ plugins {
 	alias(libs.plugins.spring.boot)
 	alias(libs.plugins.spring.dependency.management)
 	id("jacoco")
+	alias(libs.plugins.jmh)
 }
 
 allprojects {
@@ -19,7 +20,7 @@ group = "io.hhplus"
 version = "0.0.1-SNAPSHOT"
 
 java {
-	sourceCompatibility = JavaVersion.VERSION_17
+	sourceCompatibility = JavaVersion.VERSION_21
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
@@ -34,6 +35,8 @@ configurations {
 
 dependencies {
 	implementation(libs.spring.boot.starter.web)
+	implementation(libs.spring.boot.starter.actuator)
+	implementation(libs.micrometer.registry.prometheus)
 	annotationProcessor(libs.spring.boot.configuration.processor)
 	testImplementation(libs.spring.boot.starter.test)
 
@@ -41,6 +44,19 @@ dependencies {
 	annotationProcessor(libs.lombok)
 }
 
+// benchmark tasks
+// ./gradlew jmh -PjmhThreads=16 -PjmhIncludes=PointServiceBenchmark -PjmhProfilers=gc
+jmh {
+	jmhVersion.set(libs.versions.jmh)
+	threads.set(providers.gradleProperty("jmhThreads").map(String::toInt).orElse(4))
+	includes.set(providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(listOf(".*")))
+	profilers.set(providers.gradleProperty("jmhProfilers").map { it.split(",") }.orElse(emptyList()))
+	fork.set(1)
+	warmupIterations.set(2)
+	iterations.set(3)
+	resultFormat.set("JSON")
+}
+
 // bundling tasks
 tasks.getByName("bootJar") {
 	enabled = true
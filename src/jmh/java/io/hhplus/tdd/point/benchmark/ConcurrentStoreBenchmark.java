@@ -0,0 +1,93 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.ConcurrentFailedEventRepository;
+import io.hhplus.tdd.point.repository.ConcurrentPointHistoryRepository;
+import io.hhplus.tdd.point.repository.ConcurrentUserPointRepository;
+import io.hhplus.tdd.point.repository.FailedEventRepository;
+import io.hhplus.tdd.point.repository.FailedEventTableRepository;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.UserPointTableRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장소를 여러 스레드가 동시에 쓸 때의 처리량 벤치마크
+ * - store : table(지연 없는 Table 을 한 잠금으로 감싼 기존 저장소), concurrent(줄무늬 맵과 잠금 없는 추가 로그)
+ * 원본 Table 은 동시에 쓰면 데이터가 사라지므로 SwitchableLatencyTables 의 잠금을 건 Table 과 비교합니다.
+ * ./gradlew jmh -PjmhThreads=16 -PjmhIncludes=ConcurrentStoreBenchmark 로 스레드 수를 바꿔가며 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConcurrentStoreBenchmark {
+    private static final int USER_COUNT = 10_000;
+
+    @Param({"table", "concurrent"})
+    public String store;
+
+    private UserPointRepository userPoints;
+    private PointHistoryRepository histories;
+    private FailedEventRepository failedEvents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SwitchableLatencyTables.throttled(false);
+        if ("table".equals(store)) {
+            userPoints = new UserPointTableRepository(new SwitchableLatencyTables.UserPoints());
+            histories = new IndexedPointHistoryRepository(new SwitchableLatencyTables.Histories());
+            failedEvents = new FailedEventTableRepository(new SwitchableLatencyTables.FailedEvents());
+        } else {
+            userPoints = new ConcurrentUserPointRepository();
+            histories = new ConcurrentPointHistoryRepository();
+            failedEvents = new ConcurrentFailedEventRepository();
+        }
+        for (int userId = 0; userId < USER_COUNT; userId++) {
+            userPoints.insertOrUpdate(userId, 1_000L);
+            histories.insert(userId, 1_000L, TransactionType.CHARGE, userId);
+        }
+    }
+
+    /**
+     * 충전 한 번의 저장소 호출 (잔액 조회, 이력 추가, 잔액 저장)
+     */
+    @Benchmark
+    public UserPoint charge() {
+        long userId = ThreadLocalRandom.current().nextInt(USER_COUNT);
+        UserPoint current = userPoints.selectById(userId);
+        histories.insert(userId, 10L, TransactionType.CHARGE, System.currentTimeMillis());
+        return userPoints.insertOrUpdate(userId, current.point() + 10L);
+    }
+
+    @Benchmark
+    public UserPoint selectPoint() {
+        return userPoints.selectById((long) ThreadLocalRandom.current().nextInt(USER_COUNT));
+    }
+
+    @Benchmark
+    public List<PointHistory> selectHistories() {
+        return histories.selectAllByUserId(ThreadLocalRandom.current().nextInt(USER_COUNT));
+    }
+
+    @Benchmark
+    public PointFailedEvent saveFailedEvent() {
+        long userId = ThreadLocalRandom.current().nextInt(USER_COUNT);
+        return failedEvents.save(new PointFailedEvent(0, userId, "USE", 10L, "포인트가 부족합니다.", System.currentTimeMillis()));
+    }
+}
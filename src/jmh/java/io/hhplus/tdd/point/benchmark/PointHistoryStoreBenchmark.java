@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.OffHeapPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryTableRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이력 저장소별 행당 메모리와 GC 부담 벤치마크
+ * - store : table(PointHistoryTable 의 ArrayList), indexed(Table + 사용자별 long 배열 색인), offheap(힙 밖 컬럼 저장소)
+ * - rows : 미리 쌓아둘 이력 수
+ * Setup 에서 이력을 채우기 전후의 힙 사용량으로 행당 힙 바이트를 출력합니다.
+ * ./gradlew jmh -PjmhIncludes=PointHistoryStoreBenchmark -PjmhProfilers=gc 로 실행하면
+ * gc.count / gc.time 에서 이력이 많이 쌓인 힙의 GC 횟수와 시간을, gc.alloc.rate.norm 에서 조회 한 번의 할당량을 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PointHistoryStoreBenchmark {
+    private static final int USER_COUNT = 10_000;
+    private static final PointHistoryCondition PAGE = new PointHistoryCondition(null, 20, null, null, null);
+
+    @Param({"table", "indexed", "offheap"})
+    public String store;
+
+    @Param({"10000000"})
+    public int rows;
+
+    private PointHistoryRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SwitchableLatencyTables.throttled(false);
+        long before = usedHeap();
+        repository = switch (store) {
+            case "table" -> new PointHistoryTableRepository(new SwitchableLatencyTables.Histories());
+            case "indexed" -> new IndexedPointHistoryRepository(new SwitchableLatencyTables.Histories());
+            default -> new OffHeapPointHistoryRepository();
+        };
+        for (int i = 0; i < rows; i++) {
+            repository.insert(i % USER_COUNT, i, i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE, i);
+        }
+        long heapBytes = usedHeap() - before;
+        long offHeapBytes = repository instanceof OffHeapPointHistoryRepository offHeap ? offHeap.allocatedBytes() : 0;
+        System.out.printf("%n[%s] rows=%d heapBytesPerRow=%.1f offHeapBytesPerRow=%.1f%n", store, rows,
+                (double) heapBytes / rows, (double) offHeapBytes / rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        repository = null;
+    }
+
+    /**
+     * 이력이 쌓인 상태에서 계속 추가합니다. 힙 저장소는 행마다 객체가 늘어 GC 가 훑을 대상이 커집니다.
+     */
+    @Benchmark
+    public PointHistory insert() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return repository.insert(random.nextInt(USER_COUNT), 1L, TransactionType.CHARGE, System.currentTimeMillis());
+    }
+
+    /**
+     * 사용자 한 명의 첫 페이지 조회, 조회 결과로 돌려주는 PointHistory 만 만들어집니다.
+     */
+    @Benchmark
+    public List<PointHistory> selectPage() {
+        return repository.selectByUserId(ThreadLocalRandom.current().nextInt(USER_COUNT), PAGE, PAGE.size());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
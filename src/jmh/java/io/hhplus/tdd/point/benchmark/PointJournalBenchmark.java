@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointJournalProperties;
+import io.hhplus.tdd.point.config.PointQueueProperties;
+import io.hhplus.tdd.point.journal.MappedPointJournal;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.FailedEventTableRepository;
+import io.hhplus.tdd.point.repository.PointHistoryTableRepository;
+import io.hhplus.tdd.point.repository.UserPointTableRepository;
+import io.hhplus.tdd.point.service.PointAsyncExecutor;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.PointServiceImpl;
+import io.hhplus.tdd.point.service.UserRequestQueueExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 충전 기록(write-ahead log)을 켰을 때와 껐을 때의 처리량 비교
+ * - journal : none(메모리 Table 만 사용), mapped(응답 전에 세그먼트 파일에 기록하고 fsync)
+ * Table 지연은 끄고 기본 엔진으로 여러 사용자에게 고르게 충전해, fsync 비용이 얼마나 묶여서 줄어드는지 봅니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PointJournalBenchmark {
+    private static final int USER_COUNT = 10_000;
+
+    @Param({"none", "mapped"})
+    public String journal;
+
+    private Path directory;
+    private MappedPointJournal mappedJournal;
+    private UserRequestQueueExecutor requestQueueExecutor;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SwitchableLatencyTables.throttled(false);
+        UserPointTableRepository userPointRepository = new UserPointTableRepository(new SwitchableLatencyTables.UserPoints());
+        PointJournal pointJournal = PointJournal.noop();
+        if ("mapped".equals(journal)) {
+            directory = Files.createTempDirectory("point-journal-");
+            mappedJournal = new MappedPointJournal(new PointJournalProperties(true, directory.toString(), 64 * 1024 * 1024), userPointRepository);
+            pointJournal = mappedJournal;
+        }
+        requestQueueExecutor = new UserRequestQueueExecutor(new PointQueueProperties(64, 100_000, 600_000L, 64, PointQueueProperties.Lanes.PER_USER, 4096));
+        pointService = new PointServiceImpl(userPointRepository, new PointHistoryTableRepository(new SwitchableLatencyTables.Histories()),
+                new FailedEventTableRepository(new SwitchableLatencyTables.FailedEvents()), requestQueueExecutor,
+                new PointAsyncExecutor(PointExecutionProperties.platform()), PointMetrics.noop(), pointJournal);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException, IOException {
+        requestQueueExecutor.shutdown();
+        if (mappedJournal != null) {
+            mappedJournal.shutdown();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * 충전 금액 0 은 기록과 저장을 모두 거치면서도 최대 포인트 제한에 걸리지 않습니다.
+     */
+    @Benchmark
+    public UserPoint chargePoint() {
+        return pointService.chargePoint(ThreadLocalRandom.current().nextInt(USER_COUNT), 0L);
+    }
+}
@@ -0,0 +1,147 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointHistoryPipelineProperties;
+import io.hhplus.tdd.point.config.PointQueueProperties;
+import io.hhplus.tdd.point.config.PointShardingProperties;
+import io.hhplus.tdd.point.config.UserPointCacheProperties;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.AsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.FailedEventTableRepository;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointTableRepository;
+import io.hhplus.tdd.point.repository.WriteBehindUserPointRepository;
+import io.hhplus.tdd.point.service.CasPointService;
+import io.hhplus.tdd.point.service.PointAsyncExecutor;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.PointServiceImpl;
+import io.hhplus.tdd.point.service.ShardedPointService;
+import io.hhplus.tdd.point.service.UserRequestQueueExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 엔진별 처리량 벤치마크
+ * - engine : queue(PointServiceImpl), cas(CasPointService), sharded(ShardedPointService, 코어 수만큼 샤드)
+ * - latency : zero(Table 지연 없음, 엔진 비용만 측정), table(원본 Table 과 같은 임의 지연)
+ * - users : hot(한 사용자에게 몰림), uniform(여러 사용자에게 고르게 분산)
+ * - historySize : 미리 쌓아둘 이력 수
+ * 스레드 수는 ./gradlew jmh -PjmhThreads=N 으로 바꿉니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PointServiceBenchmark {
+    // 충전 대상과 사용 대상을 나눠서, 사용 대상은 잔액이 모자라지 않게 하고 충전 대상은 최대 포인트 제한에 걸리지 않게 합니다.
+    private static final long USE_USER_OFFSET = 1_000_000L;
+    private static final long USE_BALANCE = Long.MAX_VALUE / 2;
+
+    @Param({"queue", "cas", "sharded"})
+    public String engine;
+
+    @Param({"zero", "table"})
+    public String latency;
+
+    @Param({"hot", "uniform"})
+    public String users;
+
+    @Param({"0", "100000"})
+    public int historySize;
+
+    private int userCount;
+    private PointService pointService;
+    private UserRequestQueueExecutor requestQueueExecutor;
+    private ShardedPointService shardedPointService;
+    private WriteBehindUserPointRepository userPointRepository;
+    private AsyncPointHistoryRepository pointHistoryRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userCount = "hot".equals(users) ? 1 : 10_000;
+
+        // 미리 채우는 동안에는 지연을 끄고, 측정 직전에 파라미터에 맞게 켭니다.
+        SwitchableLatencyTables.throttled(false);
+        SwitchableLatencyTables.UserPoints userPointTable = new SwitchableLatencyTables.UserPoints();
+        SwitchableLatencyTables.Histories historyTable = new SwitchableLatencyTables.Histories();
+        IndexedPointHistoryRepository historyStore = new IndexedPointHistoryRepository(historyTable);
+        for (int i = 0; i < historySize; i++) {
+            historyStore.insert(i % userCount, 1L, TransactionType.CHARGE, System.currentTimeMillis());
+        }
+        for (long userId = 0; userId < userCount; userId++) {
+            userPointTable.insertOrUpdate(USE_USER_OFFSET + userId, USE_BALANCE);
+        }
+
+        userPointRepository = new WriteBehindUserPointRepository(new UserPointTableRepository(userPointTable), new UserPointCacheProperties(true, 100L));
+        pointHistoryRepository = new AsyncPointHistoryRepository(historyStore, new PointHistoryPipelineProperties(true, 10_000, 256, 3));
+        FailedEventTableRepository failedEventRepository = new FailedEventTableRepository(new SwitchableLatencyTables.FailedEvents());
+        if ("cas".equals(engine)) {
+            pointService = new CasPointService(userPointRepository, pointHistoryRepository, failedEventRepository);
+        } else if ("sharded".equals(engine)) {
+            shardedPointService = new ShardedPointService(userPointRepository, pointHistoryRepository, failedEventRepository,
+                    new PointShardingProperties(0, 100_000, 256, 600_000L), new PointAsyncExecutor(PointExecutionProperties.platform()),
+                    PointExecutionProperties.platform(), PointMetrics.noop(), PointJournal.noop());
+            pointService = shardedPointService;
+        } else {
+            requestQueueExecutor = new UserRequestQueueExecutor(new PointQueueProperties(64, 100_000, 600_000L, 64, PointQueueProperties.Lanes.PER_USER, 4096));
+            pointService = new PointServiceImpl(userPointRepository, pointHistoryRepository, failedEventRepository, requestQueueExecutor,
+                    new PointAsyncExecutor(PointExecutionProperties.platform()), PointMetrics.noop(), PointJournal.noop());
+        }
+        SwitchableLatencyTables.throttled("table".equals(latency));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        SwitchableLatencyTables.throttled(false);
+        if (requestQueueExecutor != null) {
+            requestQueueExecutor.shutdown();
+        }
+        if (shardedPointService != null) {
+            shardedPointService.shutdown();
+        }
+        pointHistoryRepository.shutdown();
+        userPointRepository.shutdown();
+    }
+
+    /**
+     * 충전 금액 0 은 규칙 검사, 잔액 저장, 이력 저장을 모두 거치면서도 최대 포인트 제한에 걸리지 않습니다.
+     */
+    @Benchmark
+    public UserPoint chargePoint() {
+        return pointService.chargePoint(nextUserId(), 0L);
+    }
+
+    @Benchmark
+    public UserPoint usePoint() {
+        return pointService.usePoint(USE_USER_OFFSET + nextUserId(), 1L);
+    }
+
+    @Benchmark
+    public UserPoint getPointById() {
+        return pointService.getPointById(nextUserId());
+    }
+
+    @Benchmark
+    public List<PointHistory> getHistoriesByUserId() {
+        return pointService.getHistoriesByUserId(nextUserId());
+    }
+
+    private long nextUserId() {
+        return userCount == 1 ? 0L : ThreadLocalRandom.current().nextInt(userCount);
+    }
+}
@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.database.PointFailedEventsTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 벤치마크용 Table
+ * 원본 Table 클래스는 바꾸지 않고, 같은 공개 API 를 재정의해 지연(throttle)을 켜고 끌 수 있게 합니다.
+ * - throttled = true : 원본과 같은 임의 지연을 줍니다.
+ * - throttled = false : 지연 없이 바로 처리해 엔진 자체의 비용만 측정합니다.
+ */
+final class SwitchableLatencyTables {
+    private static volatile boolean throttled;
+
+    private SwitchableLatencyTables() {
+    }
+
+    static void throttled(boolean value) {
+        throttled = value;
+    }
+
+    private static void throttle(long millis) {
+        if (!throttled) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep((long) (Math.random() * millis));
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static final class UserPoints extends UserPointTable {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            throttle(200);
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            throttle(300);
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    static final class Histories extends PointHistoryTable {
+        private final List<PointHistory> table = new ArrayList<>();
+        private final AtomicLong cursor = new AtomicLong();
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            throttle(300);
+            PointHistory pointHistory = new PointHistory(cursor.incrementAndGet(), userId, amount, type, updateMillis);
+            synchronized (table) {
+                table.add(pointHistory);
+            }
+            return pointHistory;
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            synchronized (table) {
+                return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+            }
+        }
+    }
+
+    static final class FailedEvents extends PointFailedEventsTable {
+        private final List<PointFailedEvent> table = new ArrayList<>();
+        private final AtomicLong cursor = new AtomicLong();
+
+        @Override
+        public PointFailedEvent insert(long userId, String operation, long amount, String errorMessage, long timestamp) {
+            throttle(300);
+            PointFailedEvent event = new PointFailedEvent(cursor.incrementAndGet(), userId, operation, amount, errorMessage, timestamp);
+            synchronized (table) {
+                table.add(event);
+            }
+            return event;
+        }
+
+        @Override
+        public List<PointFailedEvent> selectAllByUserId(long userId) {
+            synchronized (table) {
+                return table.stream().filter(event -> event.getUserId() == userId).toList();
+            }
+        }
+    }
+}
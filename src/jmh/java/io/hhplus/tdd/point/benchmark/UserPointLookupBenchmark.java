@@ -0,0 +1,130 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.UserPointCacheProperties;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.ConcurrentUserPointRepository;
+import io.hhplus.tdd.point.repository.StripedLongMap;
+import io.hhplus.tdd.point.repository.WriteBehindUserPointRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 아이디로 잔액을 찾고 바꾸는 경로의 할당량 벤치마크
+ * - store : boxed(ConcurrentHashMap&lt;Long, UserPoint&gt;, 이전 write-behind 캐시 구조), striped(StripedLongMap),
+ *           writeBehind(지금의 기본 잔액 저장소 WriteBehindUserPointRepository)
+ * 아이디는 Long 캐시(-128 ~ 127) 밖의 값을 씁니다.
+ * ./gradlew jmh -PjmhIncludes=UserPointLookupBenchmark -PjmhProfilers=gc 로 실행해 gc.alloc.rate.norm (호출당 바이트) 을 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserPointLookupBenchmark {
+    private static final long FIRST_USER_ID = 1_000_000L;
+    private static final int USER_COUNT = 100_000;
+
+    @Param({"boxed", "striped", "writeBehind"})
+    public String store;
+
+    private Store target;
+    private WriteBehindUserPointRepository writeBehind;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        target = switch (store) {
+            case "boxed" -> new BoxedStore();
+            case "striped" -> new StripedStore();
+            default -> {
+                writeBehind = new WriteBehindUserPointRepository(new ConcurrentUserPointRepository(), new UserPointCacheProperties(true, 1_000L),
+                        PointExecutionProperties.platform());
+                yield new WriteBehindStore(writeBehind);
+            }
+        };
+        for (long userId = FIRST_USER_ID; userId < FIRST_USER_ID + USER_COUNT; userId++) {
+            target.update(userId, 1_000L);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        if (writeBehind != null) {
+            writeBehind.shutdown();
+        }
+    }
+
+    @Benchmark
+    public UserPoint select() {
+        return target.select(nextUserId());
+    }
+
+    @Benchmark
+    public UserPoint update() {
+        return target.update(nextUserId(), 2_000L);
+    }
+
+    private static long nextUserId() {
+        return FIRST_USER_ID + ThreadLocalRandom.current().nextInt(USER_COUNT);
+    }
+
+    private interface Store {
+        UserPoint select(long userId);
+
+        UserPoint update(long userId, long point);
+    }
+
+    private static final class BoxedStore implements Store {
+        private final ConcurrentHashMap<Long, UserPoint> map = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint select(long userId) {
+            return map.get(userId);
+        }
+
+        @Override
+        public UserPoint update(long userId, long point) {
+            UserPoint userPoint = new UserPoint(userId, point, System.currentTimeMillis());
+            map.put(userId, userPoint);
+            return userPoint;
+        }
+    }
+
+    private static final class StripedStore implements Store {
+        private final StripedLongMap<UserPoint> map = new StripedLongMap<>(64);
+
+        @Override
+        public UserPoint select(long userId) {
+            return map.get(userId);
+        }
+
+        @Override
+        public UserPoint update(long userId, long point) {
+            UserPoint userPoint = new UserPoint(userId, point, System.currentTimeMillis());
+            map.put(userId, userPoint);
+            return userPoint;
+        }
+    }
+
+    private record WriteBehindStore(WriteBehindUserPointRepository repository) implements Store {
+        @Override
+        public UserPoint select(long userId) {
+            return repository.selectById(userId);
+        }
+
+        @Override
+        public UserPoint update(long userId, long point) {
+            return repository.insertOrUpdate(userId, point);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointQueueProperties;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.service.UserRequestQueueExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대기열 배정 방식별 처리량과 메모리 사용량 벤치마크
+ * - 요청마다 처음 보는 사용자 아이디를 사용해 사용자 수가 계속 늘어나는 상황을 흉내 냅니다.
+ * - ./gradlew jmh -PjmhIncludes=UserRequestQueueExecutorBenchmark -PjmhProfilers=gc 로 실행하면
+ *   gc.alloc.rate.norm 에서 요청 하나당 할당량을, TearDown 출력에서 남아 있는 대기열 수를 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserRequestQueueExecutorBenchmark {
+
+    @Param({"PER_USER", "STRIPED"})
+    public PointQueueProperties.Lanes lanes;
+
+    private final AtomicLong nextUserId = new AtomicLong();
+    private UserRequestQueueExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PointQueueProperties properties = new PointQueueProperties(64, 100_000, 600_000L, 64, lanes, 4096);
+        executor = new UserRequestQueueExecutor(properties, PointExecutionProperties.platform(), PointMetrics.noop());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("%n[%s] users=%d activeQueues=%d usedHeapMb=%d%n", lanes, nextUserId.get(), executor.activeUserCount(),
+                (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public Object executeForNewUser() {
+        return executor.execute(nextUserId.getAndIncrement(), () -> Boolean.TRUE);
+    }
+}
@@ -0,0 +1,168 @@
+package io.hhplus.tdd.point.analytics;
+
+import io.hhplus.tdd.point.config.PointFailedEventAnalyticsProperties;
+import io.hhplus.tdd.point.model.FailedEventSummary;
+import io.hhplus.tdd.point.model.FailedEventSummary.ErrorFailures;
+import io.hhplus.tdd.point.model.FailedEventSummary.OperationFailures;
+import io.hhplus.tdd.point.model.FailedEventSummary.UserFailures;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 실패 이벤트를 저장할 때마다 조금씩 더해 두는 실시간 집계
+ * - 작업별, 작업과 오류 메시지별로 분 단위 고리 카운터를 두어 최근 windowMinutes 분의 분별 실패 수를 셉니다.
+ * - 실패가 많은 사용자는 Space-Saving 스케치로 추정하고, topUsersWindowMinutes 마다 새 스케치로 넘어갑니다.
+ *   조회는 최근 두 스케치를 합치므로 최근 topUsersWindowMinutes ~ 2배 기간의 상위 사용자를 보여줍니다.
+ * - 조회 비용은 이벤트 수가 아니라 보관 기간, 조합 수, 스케치 칸 수로 정해지므로 Table 을 훑지 않습니다.
+ * 서비스가 쓰는 실패 이벤트 저장소(AnalyzedFailedEventRepository)가 저장하기 전에 기록하므로, 비동기 저장을 켜든 끄든 채워지고 버퍼가 넘쳐 버린 이벤트도 셉니다.
+ */
+@Component
+public class FailedEventAnalytics {
+    static final String OTHER_ERRORS = "기타";
+
+    private final int windowMinutes;
+    private final int maxKeys;
+    private final int topUsersWindowMinutes;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, MinuteWindowCounter> operations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ErrorKey, MinuteWindowCounter> errors = new ConcurrentHashMap<>();
+
+    private final ReentrantLock usersLock = new ReentrantLock();
+    private final int topUsers;
+    private SpaceSavingSketch currentUsers;
+    private SpaceSavingSketch previousUsers;
+    private long currentUsersEpoch = Long.MIN_VALUE;
+
+    @Autowired
+    public FailedEventAnalytics(PointFailedEventAnalyticsProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    FailedEventAnalytics(PointFailedEventAnalyticsProperties properties, LongSupplier clock) {
+        this.windowMinutes = properties.windowMinutes();
+        this.maxKeys = properties.maxKeys();
+        this.topUsers = properties.topUsers();
+        this.topUsersWindowMinutes = properties.topUsersWindowMinutes();
+        this.clock = clock;
+        this.currentUsers = new SpaceSavingSketch(topUsers);
+        this.previousUsers = new SpaceSavingSketch(topUsers);
+    }
+
+    public void record(PointFailedEvent event) {
+        long minute = TimeUnit.MILLISECONDS.toMinutes(event.getTimestamp());
+        String operation = event.getOperation();
+        operations.computeIfAbsent(operation, key -> new MinuteWindowCounter(windowMinutes)).increment(minute);
+        errorCounter(operation, event.getErrorMessage()).increment(minute);
+
+        long epoch = minute / topUsersWindowMinutes;
+        usersLock.lock();
+        try {
+            if (epoch > currentUsersEpoch) {
+                previousUsers = epoch == currentUsersEpoch + 1 ? currentUsers : new SpaceSavingSketch(topUsers);
+                currentUsers = new SpaceSavingSketch(topUsers);
+                currentUsersEpoch = epoch;
+            }
+            if (epoch == currentUsersEpoch) {
+                currentUsers.offer(event.getUserId());
+            } else if (epoch == currentUsersEpoch - 1) {
+                previousUsers.offer(event.getUserId());
+            }
+        } finally {
+            usersLock.unlock();
+        }
+    }
+
+    /**
+     * 최근 minutes 분의 집계를 돌려줍니다. (1 ~ windowMinutes 로 맞춥니다)
+     * @param top 돌려줄 상위 사용자 수 (topUsers 이하)
+     */
+    public FailedEventSummary summary(int minutes, int top) {
+        int window = Math.max(1, Math.min(minutes, windowMinutes));
+        long nowMinute = TimeUnit.MILLISECONDS.toMinutes(clock.getAsLong());
+
+        List<OperationFailures> operationFailures = new ArrayList<>(operations.size());
+        operations.forEach((operation, counter) -> {
+            long[] perMinute = new long[window];
+            long total = counter.fill(nowMinute, perMinute);
+            operationFailures.add(new OperationFailures(operation, total, toList(perMinute)));
+        });
+        operationFailures.sort(Comparator.comparing(OperationFailures::operation));
+
+        List<ErrorFailures> errorFailures = new ArrayList<>(errors.size());
+        long[] perMinute = new long[window];
+        errors.forEach((key, counter) -> {
+            long total = counter.fill(nowMinute, perMinute);
+            if (total > 0) {
+                errorFailures.add(new ErrorFailures(key.operation(), key.errorMessage(), total));
+            }
+        });
+        errorFailures.sort(Comparator.comparingLong(ErrorFailures::count).reversed());
+
+        return new FailedEventSummary(window, operationFailures, errorFailures, topUsers(nowMinute / topUsersWindowMinutes, top));
+    }
+
+    private List<UserFailures> topUsers(long nowEpoch, int top) {
+        Map<Long, UserFailures> merged = new HashMap<>();
+        usersLock.lock();
+        try {
+            // 두 주기보다 오래된 스케치는 합치지 않습니다.
+            if (currentUsersEpoch >= nowEpoch - 1) {
+                merge(merged, currentUsers);
+            }
+            if (currentUsersEpoch - 1 >= nowEpoch - 1) {
+                merge(merged, previousUsers);
+            }
+        } finally {
+            usersLock.unlock();
+        }
+        return merged.values().stream()
+                .sorted(Comparator.comparingLong(UserFailures::count).reversed())
+                .limit(Math.max(0, Math.min(top, topUsers)))
+                .toList();
+    }
+
+    private static void merge(Map<Long, UserFailures> merged, SpaceSavingSketch sketch) {
+        for (UserFailures entry : sketch.entries()) {
+            merged.merge(entry.userId(), entry, (left, right) ->
+                    new UserFailures(left.userId(), left.count() + right.count(), left.error() + right.error()));
+        }
+    }
+
+    /**
+     * 조합 수가 maxKeys 에 이르면 새 오류 메시지는 작업별 "기타" 로 셉니다.
+     */
+    private MinuteWindowCounter errorCounter(String operation, String errorMessage) {
+        ErrorKey key = new ErrorKey(operation, errorMessage);
+        MinuteWindowCounter counter = errors.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        if (errors.size() >= maxKeys) {
+            key = new ErrorKey(operation, OTHER_ERRORS);
+        }
+        return errors.computeIfAbsent(key, k -> new MinuteWindowCounter(windowMinutes));
+    }
+
+    private static List<Long> toList(long[] values) {
+        List<Long> list = new ArrayList<>(values.length);
+        for (long value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    private record ErrorKey(String operation, String errorMessage) {
+    }
+}
@@ -0,0 +1,58 @@
+package io.hhplus.tdd.point.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 분 단위 칸을 고리(ring) 모양으로 돌려 쓰는 잠금 없는 카운터
+ * 칸 하나에 (분 << 32 | 수) 를 담아, 다른 분의 칸이면 CAS 한 번으로 비우면서 1 로 시작합니다.
+ * 칸 수만큼 지난 분은 다음에 같은 칸을 쓸 때 덮어써지므로 메모리는 칸 수로 고정됩니다.
+ */
+final class MinuteWindowCounter {
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final AtomicLongArray slots;
+
+    MinuteWindowCounter(int minutes) {
+        this.slots = new AtomicLongArray(minutes);
+    }
+
+    void increment(long minute) {
+        int slot = (int) (minute % slots.length());
+        while (true) {
+            long current = slots.get(slot);
+            long stamp = current >>> 32;
+            long next;
+            if (stamp == minute) {
+                if ((current & COUNT_MASK) == COUNT_MASK) {
+                    return;
+                }
+                next = current + 1;
+            } else if (stamp < minute) {
+                next = minute << 32 | 1;
+            } else {
+                // 이미 더 최근 분이 쓰고 있는 칸이면 보관 기간이 지난 이벤트이므로 세지 않습니다.
+                return;
+            }
+            if (slots.compareAndSet(slot, current, next)) {
+                return;
+            }
+        }
+    }
+
+    long count(long minute) {
+        long current = slots.get((int) (minute % slots.length()));
+        return current >>> 32 == minute ? current & COUNT_MASK : 0;
+    }
+
+    /**
+     * nowMinute 까지 최근 minutes 분의 분별 수를 오래된 분부터 채웁니다.
+     */
+    long fill(long nowMinute, long[] perMinute) {
+        long total = 0;
+        for (int i = 0; i < perMinute.length; i++) {
+            perMinute[i] = count(nowMinute - perMinute.length + 1 + i);
+            total += perMinute[i];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,147 @@
+package io.hhplus.tdd.point.analytics;
+
+import io.hhplus.tdd.point.model.FailedEventSummary.UserFailures;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 자주 나오는 사용자 아이디를 고정된 칸 수로 추정하는 Space-Saving 스케치
+ * - 칸이 남아 있으면 새 사용자에게 칸을 주고, 가득 찼으면 가장 작은 칸을 새 사용자에게 넘기며 그 수에 1 을 더합니다.
+ * - 추정치는 실제 값 이상이고, 넘겨받은 칸의 이전 수(error)만큼 클 수 있습니다.
+ *   전체 이벤트 수 / 칸 수 보다 많이 나온 사용자는 반드시 칸을 가지고 있습니다.
+ * - 칸은 같은 수끼리 묶음(bucket)에 담고 묶음을 수 오름차순 연결 리스트로 이어 둡니다. (stream-summary)
+ *   가장 작은 칸은 첫 묶음에 있고, 수를 올릴 때는 바로 다음 묶음으로 옮기기만 하므로 칸 수와 관계없이 O(1) 입니다.
+ * 동기화는 호출하는 쪽에서 합니다.
+ */
+final class SpaceSavingSketch {
+    private final int capacity;
+    private final Map<Long, Counter> counters;
+    // 수가 가장 작은 묶음, 묶음들은 next 로 갈수록 수가 커집니다.
+    private Bucket smallest;
+
+    SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    void offer(long userId) {
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            increment(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(userId, 0);
+            counters.put(userId, counter);
+            if (smallest == null || smallest.count != 1) {
+                Bucket bucket = new Bucket(1);
+                bucket.next = smallest;
+                if (smallest != null) {
+                    smallest.prev = bucket;
+                }
+                smallest = bucket;
+            }
+            smallest.add(counter);
+            return;
+        }
+        // 가장 작은 묶음의 칸 하나를 새 사용자에게 넘기고, 넘겨받은 수를 오차로 둡니다.
+        counter = smallest.head;
+        counters.remove(counter.userId);
+        counter.userId = userId;
+        counter.error = smallest.count;
+        counters.put(userId, counter);
+        increment(counter);
+    }
+
+    List<UserFailures> entries() {
+        List<UserFailures> entries = new ArrayList<>(counters.size());
+        for (Bucket bucket = smallest; bucket != null; bucket = bucket.next) {
+            for (Counter counter = bucket.head; counter != null; counter = counter.next) {
+                entries.add(new UserFailures(counter.userId, bucket.count, counter.error));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 칸을 수가 하나 큰 묶음으로 옮깁니다. 그런 묶음이 없으면 지금 묶음 바로 뒤에 만듭니다.
+     */
+    private void increment(Counter counter) {
+        Bucket bucket = counter.bucket;
+        long count = bucket.count + 1;
+        Bucket target = bucket.next;
+        if (target == null || target.count != count) {
+            target = new Bucket(count);
+            target.prev = bucket;
+            target.next = bucket.next;
+            if (bucket.next != null) {
+                bucket.next.prev = target;
+            }
+            bucket.next = target;
+        }
+        bucket.remove(counter);
+        target.add(counter);
+        if (bucket.head == null) {
+            unlink(bucket);
+        }
+    }
+
+    private void unlink(Bucket bucket) {
+        if (bucket.prev == null) {
+            smallest = bucket.next;
+        } else {
+            bucket.prev.next = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.prev = bucket.prev;
+        }
+    }
+
+    private static final class Bucket {
+        private final long count;
+        private Bucket prev;
+        private Bucket next;
+        private Counter head;
+
+        private Bucket(long count) {
+            this.count = count;
+        }
+
+        private void add(Counter counter) {
+            counter.bucket = this;
+            counter.prev = null;
+            counter.next = head;
+            if (head != null) {
+                head.prev = counter;
+            }
+            head = counter;
+        }
+
+        private void remove(Counter counter) {
+            if (counter.prev == null) {
+                head = counter.next;
+            } else {
+                counter.prev.next = counter.next;
+            }
+            if (counter.next != null) {
+                counter.next.prev = counter.prev;
+            }
+        }
+    }
+
+    private static final class Counter {
+        private long userId;
+        private long error;
+        private Bucket bucket;
+        private Counter prev;
+        private Counter next;
+
+        private Counter(long userId, long error) {
+            this.userId = userId;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 이벤트 소싱 엔진 설정 (point.engine=event-sourced)
+ * - snapshotIntervalMillis : 변경된 사용자의 잔액 스냅샷을 UserPointTable 에 남기는 주기
+ *   길수록 Table 쓰기는 줄고, 재시작 후 다시 읽어야 하는 이력은 늘어납니다.
+ */
+@ConfigurationProperties(prefix = "point.event-sourcing")
+public record PointEventSourcingProperties(
+        @DefaultValue("1000") long snapshotIntervalMillis
+) {
+    public static PointEventSourcingProperties defaults() {
+        return new PointEventSourcingProperties(1000);
+    }
+}
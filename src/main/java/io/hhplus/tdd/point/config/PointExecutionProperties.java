@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 포인트 기능이 내부에서 만드는 스레드 설정
+ * - virtualThreads : 대기열 워커, 이력 writer, 잔액 내려쓰기 스레드를 가상 스레드로 만듭니다.
+ *   Table 의 sleep 처럼 대부분 대기하는 작업은 가상 스레드에서 캐리어 스레드를 놓아주므로 동시에 더 많이 처리됩니다.
+ *   요청 처리 스레드(Tomcat)는 spring.threads.virtual.enabled 로 함께 전환합니다.
+ * - asyncWorkers : 비동기 API 가 조회 작업을 실행하는 플랫폼 스레드 수 (가상 스레드 모드에서는 작업마다 스레드를 만듭니다)
+ * - fanOutParallelism : 여러 사용자 잔액 조회에서 요청 하나가 동시에 실행하는 최대 조회 수
+ */
+@ConfigurationProperties(prefix = "point.execution")
+public record PointExecutionProperties(
+        @DefaultValue("false") boolean virtualThreads,
+        @DefaultValue("64") int asyncWorkers,
+        @DefaultValue("16") int fanOutParallelism
+) {
+
+    public static PointExecutionProperties platform() {
+        return new PointExecutionProperties(false, 64, 16);
+    }
+
+    /**
+     * 설정에 따라 "{prefix}{순번}" 이름의 가상 스레드 또는 데몬 플랫폼 스레드를 만드는 ThreadFactory 를 반환합니다.
+     */
+    public ThreadFactory threadFactory(String prefix) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name(prefix, 1).factory();
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
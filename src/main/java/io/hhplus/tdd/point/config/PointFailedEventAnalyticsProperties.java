@@ -0,0 +1,36 @@
+package io.hhplus.tdd.point.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 실패 이벤트 실시간 집계 설정
+ * - windowMinutes : 분 단위 실패 수를 보관하는 기간
+ * - maxKeys : 작업과 오류 메시지 조합을 따로 세는 최대 개수, 넘는 조합은 작업별 "기타" 로 셉니다.
+ * - topUsers : 실패가 많은 사용자를 추적하는 칸 수 (Space-Saving), 조회할 수 있는 상위 사용자 수의 상한입니다.
+ * - topUsersWindowMinutes : 상위 사용자를 새로 세기 시작하는 주기, 조회 결과는 최근 두 주기를 합친 값입니다.
+ * windowMinutes, topUsers, topUsersWindowMinutes 는 1 이상이어야 하며, 아니면 기동할 때 설정 오류로 실패합니다.
+ */
+@ConfigurationProperties(prefix = "point.failed-event-analytics")
+public record PointFailedEventAnalyticsProperties(
+        @DefaultValue("60") int windowMinutes,
+        @DefaultValue("1024") int maxKeys,
+        @DefaultValue("100") int topUsers,
+        @DefaultValue("10") int topUsersWindowMinutes
+) {
+    public PointFailedEventAnalyticsProperties {
+        requirePositive("window-minutes", windowMinutes);
+        requirePositive("top-users", topUsers);
+        requirePositive("top-users-window-minutes", topUsersWindowMinutes);
+    }
+
+    public static PointFailedEventAnalyticsProperties defaults() {
+        return new PointFailedEventAnalyticsProperties(60, 1024, 100, 10);
+    }
+
+    private static void requirePositive(String name, int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException("point.failed-event-analytics." + name + " 는 1 이상이어야 합니다. (" + value + ")");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 실패 이벤트 비동기 저장 설정
+ * - enabled : 비동기 저장 사용 여부 (사용하지 않으면 실패한 요청 처리 중에 바로 저장합니다)
+ * - bufferSize : 저장 대기 버퍼 크기, 가득 차면 기다리지 않고 이벤트를 버립니다.
+ * - batchSize : 전용 writer 가 한 번에 꺼내 저장하는 최대 개수
+ * - writers : 전용 writer 수, 버퍼는 writer 수로 나눠 가집니다. Table 저장소는 한 번에 하나씩만 저장하므로 concurrent 저장소에서만 늘릴 의미가 있습니다.
+ */
+@ConfigurationProperties(prefix = "point.failed-event-pipeline")
+public record PointFailedEventPipelineProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int bufferSize,
+        @DefaultValue("256") int batchSize,
+        @DefaultValue("1") int writers
+) {
+}
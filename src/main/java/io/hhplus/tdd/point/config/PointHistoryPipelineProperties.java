@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트 이력 비동기 저장 설정
+ * - enabled : 비동기 저장 사용 여부 (사용하지 않으면 요청 스레드에서 바로 저장합니다)
+ * - bufferSize : 저장 대기 버퍼 크기, 가득 차면 요청 스레드가 빈 자리가 날 때까지 기다립니다.
+ * - batchSize : 전용 writer 가 한 번에 꺼내 저장하는 최대 개수
+ * - maxAttempts : 이력 한 건을 저장하다 실패했을 때 처음 시도를 포함해 시도하는 최대 횟수
+ */
+@ConfigurationProperties(prefix = "point.history-pipeline")
+public record PointHistoryPipelineProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int bufferSize,
+        @DefaultValue("256") int batchSize,
+        @DefaultValue("3") int maxAttempts
+) {
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Idempotency-Key 중복 요청 캐시 설정
+ * - maxEntries : 보관하는 완료된 결과의 최대 키 수, 넘으면 가장 오래된 완료 결과부터 내보냅니다.
+ * - maxInFlight : 동시에 처리 중일 수 있는 최대 키 수, 처리 중인 항목은 내보낼 수 없으므로 넘으면 새 키를 거절합니다.
+ * - maxKeyLength : 허용하는 키의 최대 길이, 항목 하나가 차지하는 메모리의 상한이 됩니다.
+ * - ttlMillis : 완료된 결과를 보관하는 시간, 지나면 같은 키로 다시 요청할 때 새로 처리합니다.
+ */
+@ConfigurationProperties(prefix = "point.idempotency")
+public record PointIdempotencyProperties(
+        @DefaultValue("100000") int maxEntries,
+        @DefaultValue("128") int maxKeyLength,
+        @DefaultValue("600000") long ttlMillis,
+        @DefaultValue("10000") int maxInFlight
+) {
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 충전/사용 기록(write-ahead log) 설정
+ * - enabled : 사용 여부 (사용하지 않으면 기존처럼 메모리 Table 만 사용합니다)
+ * - directory : 세그먼트 파일을 둘 디렉터리
+ * - segmentBytes : 세그먼트 파일 하나의 크기, 가득 차면 다음 세그먼트로 넘어갑니다. (기록 하나는 32바이트)
+ */
+@ConfigurationProperties(prefix = "point.journal")
+public record PointJournalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/point-journal") String directory,
+        @DefaultValue("67108864") int segmentBytes
+) {
+}
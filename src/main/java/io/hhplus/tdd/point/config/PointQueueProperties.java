@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 사용자별 요청 대기열 설정
+ * - workers : 대기열을 처리하는 공용 워커 스레드 수
+ * - maxQueueDepth : 대기열 하나에 쌓일 수 있는 최대 대기 요청 수
+ * - timeoutMillis : 요청이 처리될 때까지 기다리는 최대 시간
+ * - drainBatchSize : 워커가 한 사용자의 요청을 연속으로 처리하는 최대 개수 (다른 사용자에게 양보하기 위한 값)
+ * - lanes : 사용자를 대기열에 배정하는 방식
+ *   per-user : 사용자마다 대기열 하나, 대기열이 비면 제거합니다. (대기 중인 요청이 있는 사용자 수만큼만 유지)
+ *   striped : 아이디 해시로 stripes 개의 고정 대기열 중 하나에 배정합니다. 같은 대기열의 사용자끼리는 순서대로 처리됩니다.
+ * - stripes : striped 방식의 대기열 수 (2의 거듭제곱)
+ */
+@ConfigurationProperties(prefix = "point.queue")
+public record PointQueueProperties(
+        @DefaultValue("64") int workers,
+        @DefaultValue("1000") int maxQueueDepth,
+        @DefaultValue("30000") long timeoutMillis,
+        @DefaultValue("64") int drainBatchSize,
+        @DefaultValue("per-user") Lanes lanes,
+        @DefaultValue("4096") int stripes
+) {
+
+    public enum Lanes {
+        PER_USER, STRIPED
+    }
+
+    public static PointQueueProperties defaults() {
+        return new PointQueueProperties(64, 1000, 30000L, 64, Lanes.PER_USER, 4096);
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * PointController 앞단의 요청 제한 설정
+ * - enabled : 요청 제한 사용 여부
+ * - stripes : 사용자별 상태를 나눠 담는 칸 수 (2의 거듭제곱), 사용자 수와 관계없이 메모리 사용량이 고정됩니다.
+ * - userPermitsPerSecond / userBurst : 사용자 한 명의 초당 허용 요청 수와 순간적으로 몰려도 허용하는 요청 수
+ * - globalPermitsPerSecond / globalBurst : 전체 요청의 초당 허용 요청 수와 순간 허용 요청 수
+ * - maxConcurrentPerUser : 사용자 한 명이 동시에 처리 중일 수 있는 최대 요청 수
+ * - dailyChargeLimit : 사용자 한 명의 하루 최대 충전 요청 횟수, 0 이면 세지 않습니다. (기본값)
+ */
+@ConfigurationProperties(prefix = "point.rate-limit")
+public record PointRateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("65536") int stripes,
+        @DefaultValue("10") double userPermitsPerSecond,
+        @DefaultValue("20") int userBurst,
+        @DefaultValue("5000") double globalPermitsPerSecond,
+        @DefaultValue("10000") int globalBurst,
+        @DefaultValue("20") int maxConcurrentPerUser,
+        @DefaultValue("0") int dailyChargeLimit
+) {
+}
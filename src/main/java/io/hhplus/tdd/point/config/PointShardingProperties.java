@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 샤드 엔진 설정 (point.engine=sharded)
+ * - shards : 사용자를 나눠 맡는 샤드 수, 0 이면 사용 가능한 코어 수
+ * - mailboxCapacity : 샤드 하나의 우편함에 쌓일 수 있는 최대 요청 수, 가득 차면 요청을 거절합니다.
+ * - batchSize : 샤드가 우편함에서 한 번에 꺼내 함께 기록(fsync)하고 저장하는 최대 요청 수
+ * - timeoutMillis : 요청이 처리될 때까지 기다리는 최대 시간
+ */
+@ConfigurationProperties(prefix = "point.sharding")
+public record PointShardingProperties(
+        @DefaultValue("0") int shards,
+        @DefaultValue("10000") int mailboxCapacity,
+        @DefaultValue("256") int batchSize,
+        @DefaultValue("30000") long timeoutMillis
+) {
+    public static PointShardingProperties defaults() {
+        return new PointShardingProperties(0, 10000, 256, 30000L);
+    }
+
+    public int shardCount() {
+        return shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point.config;
+
+import io.hhplus.tdd.point.ratelimit.PointRateLimitInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 포인트 API 앞단에 요청 제한을 등록합니다. (point.rate-limit.enabled=false 이면 등록하지 않습니다)
+ */
+@Configuration
+public class PointWebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<PointRateLimitInterceptor> rateLimitInterceptor;
+
+    @Autowired
+    public PointWebConfig(ObjectProvider<PointRateLimitInterceptor> rateLimitInterceptor) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        rateLimitInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/point/**"));
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 사용자 포인트 write-behind 캐시 설정
+ * - enabled : 캐시 사용 여부 (사용하지 않으면 UserPointTable 을 직접 사용합니다)
+ * - flushIntervalMillis : 변경된 잔액을 UserPointTable 에 내려쓰는 주기
+ */
+@ConfigurationProperties(prefix = "point.user-point-cache")
+public record UserPointCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") long flushIntervalMillis
+) {
+}
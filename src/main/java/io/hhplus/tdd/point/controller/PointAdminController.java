@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point.controller;
+
+import io.hhplus.tdd.point.analytics.FailedEventAnalytics;
+import io.hhplus.tdd.point.model.FailedEventSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/point")
+public class PointAdminController {
+
+    private final FailedEventAnalytics failedEventAnalytics;
+
+    @Autowired
+    public PointAdminController(FailedEventAnalytics failedEventAnalytics) {
+        this.failedEventAnalytics = failedEventAnalytics;
+    }
+
+    /**
+     * 최근 minutes 분 동안의 작업별 분당 실패 수, 많이 난 오류, 실패가 많은 사용자를 조회합니다.
+     * 미리 더해 둔 집계를 읽기만 하므로 실패 이벤트 수와 상관없이 바로 응답합니다.
+     */
+    @GetMapping("failed-events/summary")
+    public FailedEventSummary failedEventSummary(
+            @RequestParam(defaultValue = "5") int minutes,
+            @RequestParam(defaultValue = "10") int top
+    ) {
+        return failedEventAnalytics.summary(minutes, top);
+    }
+}
@@ -1,76 +1,235 @@
 package io.hhplus.tdd.point.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.hhplus.tdd.point.model.PointHistory;
 import io.hhplus.tdd.point.dto.request.ChargePointRequest;
+import io.hhplus.tdd.point.dto.request.PointOperationRequest;
+import io.hhplus.tdd.point.dto.response.PointOperationResponse;
+import io.hhplus.tdd.point.exception.PointInvalidRequestException;
+import io.hhplus.tdd.point.dto.response.PointHistoryPageResponse;
 import io.hhplus.tdd.point.dto.response.UserPointResponse;
-import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.PointHistoryPage;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.TransactionType;
 import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.ratelimit.PointRateLimitInterceptor;
+import io.hhplus.tdd.point.service.IdempotencyCache;
+import io.hhplus.tdd.point.service.PointService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 
 @RestController
 @RequestMapping("/point")
 public class PointController {
 
+    // 일괄 요청 한 번에 담을 수 있는 최대 건수
+    static final int MAX_BULK_OPERATIONS = 1000;
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
     private final PointService pointService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyCache idempotencyCache;
+    private final ObjectProvider<PointRateLimitInterceptor> rateLimitInterceptor;
 
     @Autowired
-    public PointController(PointService pointService) {
+    public PointController(PointService pointService, ObjectMapper objectMapper, IdempotencyCache idempotencyCache,
+                           ObjectProvider<PointRateLimitInterceptor> rateLimitInterceptor) {
         this.pointService = pointService;
+        this.objectMapper = objectMapper;
+        this.idempotencyCache = idempotencyCache;
+        this.rateLimitInterceptor = rateLimitInterceptor;
     }
 
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
+     * CompletableFuture 를 반환하면 결과가 나올 때까지 요청 스레드를 반납하고, 완료되면 응답합니다.
      */
     @GetMapping("{id}")
-    public UserPointResponse point(
+    public CompletableFuture<UserPointResponse> point(
             @PathVariable long id
     ) {
-        UserPoint userPoint = pointService.getPointById(id);
-        log.info("남은 포인트는 {}",userPoint.point());
-        return new UserPointResponse(userPoint.id(), userPoint.point());
+        return pointService.getPointByIdAsync(id).thenApply(userPoint -> {
+            log.info("남은 포인트는 {}",userPoint.point());
+            return new UserPointResponse(userPoint.id(), userPoint.point());
+        });
+    }
+
+    /**
+     * 여러 유저의 포인트를 한 번에 조회합니다. (GET /point?ids=1,2,3)
+     * 중복된 아이디는 한 번만 조회하고, 조회는 병렬로 실행되어 가장 느린 조회 시간에 가깝게 응답합니다.
+     */
+    @GetMapping(params = "ids")
+    public CompletableFuture<List<UserPointResponse>> points(
+            @RequestParam List<Long> ids
+    ) {
+        return pointService.getPointsByIdsAsync(ids).thenApply(userPoints -> {
+            log.info("포인트 {}건 조회, 조회아이디 {}", userPoints.size(), ids);
+            return userPoints.stream()
+                    .map(userPoint -> new UserPointResponse(userPoint.id(), userPoint.point()))
+                    .toList();
+        });
     }
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
+    public CompletableFuture<List<PointHistory>> history(
+            @PathVariable long id
+    ) {
+        return pointService.getHistoriesByUserIdAsync(id).thenApply(historyList -> {
+            log.info("포인트 내역 {}건 조회, 조회아이디 {}", historyList.size(), id);
+            return historyList;
+        });
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 한 줄에 하나씩 NDJSON 으로 흘려보냅니다.
+     * 전체 목록을 메모리에 만들지 않으므로 내역이 많은 사용자도 일정한 메모리로 내려받을 수 있습니다.
+     */
+    @GetMapping(value = "{id}/histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> historyStream(
             @PathVariable long id
     ) {
-        List<PointHistory> historyList = pointService.getHistoriesByUserId(id);
-        log.info(historyList+"");
-        return historyList;
+        return ndjson(List.of(id));
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/이용 내역을 유저 순서대로 이어서 NDJSON 으로 흘려보냅니다.
+     */
+    @GetMapping(value = "histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> historiesStream(
+            @RequestParam List<Long> ids
+    ) {
+        return ndjson(ids);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 커서 기반으로 나눠서 조회합니다.
+     * 응답의 nextCursor 를 다음 요청의 cursor 로 넘기면 이어서 조회합니다.
+     */
+    @GetMapping("{id}/histories/page")
+    public PointHistoryPageResponse historyPage(
+            @PathVariable long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type
+    ) {
+        PointHistoryPage page = pointService.getHistoryPage(id, new PointHistoryCondition(cursor, size, from, to, type));
+        log.info("포인트 내역 {}건 조회, 조회아이디 {}", page.histories().size(), id);
+        return new PointHistoryPageResponse(page.histories(), page.nextCursor());
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더를 보내면 같은 키로 재시도한 요청은 다시 충전하지 않고 처음 결과를 돌려줍니다.
      */
     @PatchMapping("{id}/charge")
-    public UserPointResponse charge(
+    public CompletableFuture<UserPointResponse> charge(
             @PathVariable long id,
-            @RequestBody ChargePointRequest request
+            @RequestBody ChargePointRequest request,
+            @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey
     ) {
-        UserPoint updatedUserPoint = pointService.chargePoint(id, request.getAmount());
-        log.info("{}포인트 충전, 충전아이디 {}", request.getAmount(), id);
-
-        return new UserPointResponse(updatedUserPoint.id(), updatedUserPoint.point());
+        return idempotent(idempotencyKey, id, TransactionType.CHARGE, request.getAmount(),
+                () -> pointService.chargePointAsync(id, request.getAmount())).thenApply(updatedUserPoint -> {
+            log.info("{}포인트 충전, 충전아이디 {}", request.getAmount(), id);
+            return new UserPointResponse(updatedUserPoint.id(), updatedUserPoint.point());
+        });
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
      */
     @PatchMapping("{id}/use")
-    public UserPointResponse use(
-            @PathVariable long id, @RequestBody ChargePointRequest request) {
-        UserPoint updatedUserPoint = pointService.usePoint(id, request.getAmount());
-        log.info("{}포인트 사용, 사용아이디 {}", request.getAmount(), id);
-        return new UserPointResponse(updatedUserPoint.id(), updatedUserPoint.point());
+    public CompletableFuture<UserPointResponse> use(
+            @PathVariable long id, @RequestBody ChargePointRequest request,
+            @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey) {
+        return idempotent(idempotencyKey, id, TransactionType.USE, request.getAmount(),
+                () -> pointService.usePointAsync(id, request.getAmount())).thenApply(updatedUserPoint -> {
+            log.info("{}포인트 사용, 사용아이디 {}", request.getAmount(), id);
+            return new UserPointResponse(updatedUserPoint.id(), updatedUserPoint.point());
+        });
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/사용을 한 번에 처리합니다.
+     * 요청 순서대로 건별 결과를 돌려주며, 일부가 실패해도 나머지는 처리됩니다.
+     * 건수가 MAX_BULK_OPERATIONS 를 넘거나 충전/사용 구분이 없는 건이 있으면 처리하지 않고 400 으로 응답합니다.
+     * 사용자가 본문에만 있으므로 요청 제한은 본문을 읽은 뒤 담긴 사용자마다 적용합니다.
+     */
+    @PatchMapping("bulk")
+    public CompletableFuture<List<PointOperationResponse>> bulk(
+            @RequestBody List<PointOperationRequest> requests, HttpServletRequest httpRequest
+    ) {
+        if (requests.size() > MAX_BULK_OPERATIONS) {
+            throw new PointInvalidRequestException("일괄 처리는 한 번에 " + MAX_BULK_OPERATIONS + "건까지 가능합니다.");
+        }
+        List<PointOperation> operations = requests.stream().map(request -> {
+            if (request.getType() == null) {
+                throw new PointInvalidRequestException("충전/사용 구분이 없습니다.");
+            }
+            return new PointOperation(request.getUserId(), request.getType(), request.getAmount());
+        }).toList();
+        rateLimitInterceptor.ifAvailable(interceptor -> interceptor.admitBulk(httpRequest, operations));
+        return pointService.applyBulkAsync(operations).thenApply(results -> {
+            log.info("포인트 일괄처리 {}건, 실패 {}건", results.size(), results.stream().filter(result -> !result.succeeded()).count());
+            return results.stream()
+                    .map(result -> new PointOperationResponse(
+                            result.operation().userId(),
+                            result.operation().type(),
+                            result.operation().amount(),
+                            result.succeeded(),
+                            result.succeeded() ? result.userPoint().point() : null,
+                            result.errorMessage()))
+                    .toList();
+        });
+    }
+
+    private CompletableFuture<UserPoint> idempotent(String idempotencyKey, long id, TransactionType type, long amount, Supplier<CompletableFuture<UserPoint>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        return idempotencyCache.execute(idempotencyKey, id, type, amount, action);
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(List<Long> ids) {
+        StreamingResponseBody body = outputStream -> {
+            BufferedOutputStream out = new BufferedOutputStream(outputStream);
+            for (long id : ids) {
+                pointService.streamHistoriesByUserId(id, history -> writeLine(out, history));
+            }
+            out.flush();
+            log.info("포인트 내역 스트리밍 완료, 조회아이디 {}", ids);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, PointHistory history) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(history));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
 }
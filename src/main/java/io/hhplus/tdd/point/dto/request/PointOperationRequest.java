@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point.dto.request;
+
+import io.hhplus.tdd.point.model.TransactionType;
+
+public class PointOperationRequest {
+    private long userId;
+    private TransactionType type;
+    private long amount;
+
+    // Getters and setters
+    public long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+}
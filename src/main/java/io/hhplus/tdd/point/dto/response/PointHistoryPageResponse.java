@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point.dto.response;
+
+
+import io.hhplus.tdd.point.model.PointHistory;
+
+import java.util.List;
+
+public class PointHistoryPageResponse {
+    private List<PointHistory> histories;
+    private Long nextCursor;
+
+    // Constructors, getters, and setters
+    public PointHistoryPageResponse(List<PointHistory> histories, Long nextCursor) {
+        this.histories = histories;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<PointHistory> getHistories() {
+        return histories;
+    }
+
+    public void setHistories(List<PointHistory> histories) {
+        this.histories = histories;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point.dto.response;
+
+import io.hhplus.tdd.point.model.TransactionType;
+
+public class PointOperationResponse {
+    private long userId;
+    private TransactionType type;
+    private long amount;
+    private boolean success;
+    private Long point;
+    private String errorMessage;
+
+    // Constructors, getters, and setters
+    public PointOperationResponse(long userId, TransactionType type, long amount, boolean success, Long point, String errorMessage) {
+        this.userId = userId;
+        this.type = type;
+        this.amount = amount;
+        this.success = success;
+        this.point = point;
+        this.errorMessage = errorMessage;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public Long getPoint() {
+        return point;
+    }
+
+    public void setPoint(Long point) {
+        this.point = point;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 이미 쓴 Idempotency-Key 로 다른 충전/사용 요청을 보낸 경우
+ * 키가 처음 요청에 묶여 있어 처리하지 않으므로 409 로 응답합니다.
+ */
+public class PointIdempotencyConflictException extends PointException {
+
+    public PointIdempotencyConflictException(String message) {
+        super(message);
+    }
+}
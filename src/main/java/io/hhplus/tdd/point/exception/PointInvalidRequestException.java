@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 요청 자체가 잘못되어 처리하지 않은 경우 (필수 값 누락, 일괄 요청 건수 초과 등)
+ * 다시 보내도 같은 결과이므로 400 으로 응답합니다.
+ */
+public class PointInvalidRequestException extends PointException {
+
+    public PointInvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 요청 제한에 걸려 서비스까지 도달하기 전에 거절된 경우
+ * retryAfterSeconds 뒤에 다시 요청하면 허용될 수 있습니다.
+ */
+public class PointRateLimitException extends PointRequestRejectedException {
+
+    private final long retryAfterSeconds;
+
+    public PointRateLimitException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 요청이 비즈니스 로직까지 도달하지 못하고 거절된 경우 (대기열 초과, 대기 시간 초과 등)
+ */
+public class PointRequestRejectedException extends PointException {
+
+    public PointRequestRejectedException(String message) {
+        super(message);
+    }
+
+    public PointRequestRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
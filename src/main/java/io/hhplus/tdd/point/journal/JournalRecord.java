@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.journal;
+
+import io.hhplus.tdd.point.model.TransactionType;
+
+/**
+ * 세그먼트에 저장되는 기록 하나 (32바이트 고정)
+ * userId(8) | amount(8) | updateMillis(8) | type(4) | checksum(4)
+ * 보상 기록(aborted)은 type 에 ABORTED 비트를 켜고, 되돌릴 기록의 변화량을 부호를 바꿔 담습니다.
+ */
+public record JournalRecord(long userId, long amount, TransactionType type, long updateMillis, boolean aborted) {
+    static final int BYTES = 32;
+    static final int ABORTED = 1 << 8;
+}
@@ -0,0 +1,524 @@
+package io.hhplus.tdd.point.journal;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointJournalProperties;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 맵 세그먼트 파일에 충전/사용 기록을 남기는 write-ahead log (point.journal.enabled=true)
+ * - 기록은 32바이트 고정 크기로 세그먼트 파일 끝에 이어 붙이며, 세그먼트가 가득 차면 다음 세그먼트를 만듭니다.
+ *   세그먼트 파일 이름은 첫 기록의 순번입니다.
+ * - 전용 sync 스레드가 그 사이 쌓인 기록을 fsync 한 번으로 내려쓰고, 기다리던 요청을 함께 깨웁니다. (group fsync)
+ *   요청 수가 많을수록 fsync 한 번에 더 많은 기록이 묶입니다.
+ * - 세그먼트를 넘길 때마다 체크포인트 스레드가 닫힌 세그먼트를 사용자별 잔액으로 접어 체크포인트 파일에 남기고 그 세그먼트를 지웁니다.
+ *   그래서 디스크에는 체크포인트 하나와 아직 접지 않은 세그먼트만 남고, 재시작할 때 다시 읽는 기록도 그만큼으로 줄어듭니다.
+ * - 시작할 때 체크포인트와 그 이후 세그먼트를 읽어 사용자별 잔액을 다시 계산하고 UserPointTable 에 복원합니다.
+ *   checksum 이 맞지 않는 기록(쓰다가 멈춘 기록)을 만나면 거기서 멈추고, 그 자리부터 이어서 씁니다.
+ *   기록에는 잔액 변화량만 남으므로 포인트 이력(PointHistory)은 복원하지 않습니다.
+ * - 기록을 남긴 뒤 잔액/이력 저장이 실패한 요청은 엔진이 abort 로 보상 기록을 남겨, 복원할 때 더해지지 않게 합니다.
+ * - fsync 가 실패하면 그 뒤로는 기록을 받지 않고, 내려가지 못한 기록은 0 으로 지워 나중에 페이지가 내려가도 복원되지 않게 합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.journal.enabled", havingValue = "true")
+public class MappedPointJournal implements PointJournal {
+    private static final Logger logger = LoggerFactory.getLogger(MappedPointJournal.class);
+    private static final String SUFFIX = ".wal";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final PointMetrics metrics;
+
+    // 기록 쓰기와 세그먼트 교체를 보호합니다.
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition appended = appendLock.newCondition();
+    private Segment current;
+    private long appendedSequence;
+
+    private volatile long durableSequence;
+    private volatile RuntimeException failure;
+    private final ReentrantLock durableLock = new ReentrantLock();
+    private final Condition durable = durableLock.newCondition();
+
+    private final Thread syncer;
+    private final ExecutorService checkpointer;
+    private volatile boolean running = true;
+
+    public MappedPointJournal(PointJournalProperties properties, UserPointRepository store) {
+        this(properties, store, PointExecutionProperties.platform(), PointMetrics.noop());
+    }
+
+    @Autowired
+    public MappedPointJournal(PointJournalProperties properties, @Qualifier("userPointStore") UserPointRepository store,
+                              PointExecutionProperties execution, PointMetrics metrics) {
+        this.directory = Path.of(properties.directory());
+        this.segmentBytes = properties.segmentBytes() / JournalRecord.BYTES * JournalRecord.BYTES;
+        if (segmentBytes == 0) {
+            throw new IllegalArgumentException("segmentBytes 는 " + JournalRecord.BYTES + " 이상이어야 합니다.");
+        }
+        this.metrics = metrics;
+        try {
+            Files.createDirectories(directory);
+            restore(store);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.checkpointer = Executors.newSingleThreadExecutor(execution.threadFactory("point-journal-checkpoint-"));
+        // 지난 실행에서 접지 못한 닫힌 세그먼트가 있으면 바로 접습니다.
+        checkpointer.execute(this::checkpoint);
+        this.syncer = execution.threadFactory("point-journal-sync-").newThread(this::syncLoop);
+        this.syncer.start();
+    }
+
+    @Override
+    public long append(long userId, long amount, TransactionType type, long updateMillis) {
+        return append(userId, amount, type.ordinal(), updateMillis);
+    }
+
+    @Override
+    public void abort(long userId, long amount, TransactionType type, long updateMillis) {
+        try {
+            awaitDurable(append(userId, -amount, type.ordinal() | JournalRecord.ABORTED, updateMillis));
+        } catch (RuntimeException ex) {
+            logger.error("포인트 보상 기록 실패아이디: {}. 되돌릴포인트: {}. 에러: {}", userId, amount, ex.getMessage());
+        }
+    }
+
+    private long append(long userId, long amount, int type, long updateMillis) {
+        appendLock.lock();
+        try {
+            if (!running) {
+                throw new PointException("포인트 기록이 종료되었습니다.");
+            }
+            if (failure != null) {
+                throw new PointException("포인트 기록을 디스크에 저장하지 못해 기록을 받지 않습니다.", failure);
+            }
+            if (current.writeOffset == current.capacity) {
+                roll();
+            }
+            write(current.buffer, current.writeOffset, userId, amount, type, updateMillis);
+            current.writeOffset += JournalRecord.BYTES;
+            appended.signal();
+            return ++appendedSequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        if (sequence <= durableSequence) {
+            return;
+        }
+        durableLock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null || !syncer.isAlive()) {
+                    throw new PointException("포인트 기록을 디스크에 저장하지 못했습니다.", failure);
+                }
+                durable.await(10, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PointException("포인트 기록 저장이 중단되었습니다.", ex);
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    /**
+     * 체크포인트의 잔액에 그 이후 세그먼트의 기록을 더해 저장소에 복원하고, 마지막 유효한 기록 뒤부터 이어 쓰도록 합니다.
+     * 기록은 변화량이므로 세그먼트 안의 순서와 관계없이 모두 더하면 잔액이 됩니다.
+     */
+    private void restore(UserPointRepository store) throws IOException {
+        Checkpoint checkpoint = readCheckpoint();
+        Map<Long, Long> balances = checkpoint.balances();
+        long recovered = recover(checkpoint.sequence(), record -> balances.merge(record.userId(), record.amount(), Long::sum));
+        balances.forEach(store::insertOrUpdate);
+        if (!balances.isEmpty()) {
+            logger.info("포인트 기록 복원: 체크포인트 순번 {}, 이후 기록 {}건, 사용자 {}명", checkpoint.sequence(), recovered, balances.size());
+        }
+    }
+
+    /**
+     * 세그먼트를 순서대로 읽어 after 보다 큰 순번의 기록을 넘기고, 넘긴 기록 수를 반환합니다.
+     * 레코드의 순번은 세그먼트 이름(첫 기록 직전의 순번)에 세그먼트 안의 위치를 더한 값입니다.
+     */
+    private long recover(long after, Consumer<JournalRecord> consumer) throws IOException {
+        List<Path> segments = listSegments();
+        long sequence = after;
+        long recovered = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Path path = segments.get(i);
+            Segment segment = Segment.open(path, baseSequenceOf(path), 0);
+            long recordSequence = segment.baseSequence;
+            int offset = 0;
+            while (offset < segment.capacity && isValid(segment.buffer, offset)) {
+                // 체크포인트에 접힌 뒤 지우기 전에 멈춘 세그먼트의 기록은 건너뜁니다.
+                if (++recordSequence > after) {
+                    consumer.accept(read(segment.buffer, offset));
+                    recovered++;
+                }
+                offset += JournalRecord.BYTES;
+            }
+            sequence = Math.max(sequence, recordSequence);
+            if (i < segments.size() - 1) {
+                segment.close();
+                continue;
+            }
+            // 마지막 세그먼트는 쓰다가 멈춘 기록과 그 뒤에 남은 기록을 지우고 그 자리부터 이어 씁니다.
+            clearFrom(segment, offset);
+            segment.writeOffset = offset;
+            segment.syncedOffset = offset;
+            current = segment;
+        }
+        if (current == null) {
+            current = Segment.open(segmentPath(sequence), sequence, segmentBytes);
+        }
+        appendedSequence = sequence;
+        durableSequence = sequence;
+        return recovered;
+    }
+
+    /**
+     * 지금 세그먼트를 모두 내려쓰고 다음 세그먼트로 넘어갑니다. appendLock 안에서만 호출됩니다.
+     * 내려쓴 세그먼트의 기록은 모두 디스크에 있으므로 durableSequence 도 함께 올리고, 닫힌 세그먼트는 체크포인트로 접습니다.
+     */
+    private void roll() {
+        try {
+            current.buffer.force();
+            current.close();
+            current = Segment.open(segmentPath(appendedSequence), appendedSequence, segmentBytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        advanceDurable(appendedSequence);
+        checkpointer.execute(this::checkpoint);
+    }
+
+    private void syncLoop() {
+        while (true) {
+            Segment segment;
+            int from;
+            int to;
+            long target;
+            appendLock.lock();
+            try {
+                while (appendedSequence == durableSequence && running) {
+                    appended.await(100, TimeUnit.MILLISECONDS);
+                }
+                if (appendedSequence == durableSequence) {
+                    return;
+                }
+                segment = current;
+                from = segment.syncedOffset;
+                to = segment.writeOffset;
+                target = appendedSequence;
+            } catch (InterruptedException ex) {
+                running = false;
+                continue;
+            } finally {
+                appendLock.unlock();
+            }
+            long started = System.nanoTime();
+            try {
+                // 세그먼트를 넘긴 기록은 roll 에서 이미 내려썼으므로 지금 세그먼트에 새로 쓴 구간만 내려씁니다.
+                if (to > from) {
+                    segment.buffer.force(from, to - from);
+                }
+            } catch (RuntimeException ex) {
+                fail(segment, ex);
+                return;
+            }
+            segment.syncedOffset = to;
+            metrics.recordJournalSync(System.nanoTime() - started, Math.max(0, target - durableSequence));
+            appendLock.lock();
+            try {
+                advanceDurable(target);
+            } finally {
+                appendLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * durableSequence 를 앞으로만 옮기고 기다리는 요청을 깨웁니다. appendLock 안에서만 호출됩니다.
+     */
+    private void advanceDurable(long sequence) {
+        if (sequence > durableSequence) {
+            durableSequence = sequence;
+            signalDurable();
+        }
+    }
+
+    /**
+     * fsync 가 실패하면 더 이상 기록을 받지 않고, 내려가지 못한 기록을 0 으로 지웁니다.
+     * 그 기록의 요청은 실패로 응답하므로, 나중에 페이지가 디스크에 내려가더라도 복원할 때 읽히지 않아야 합니다.
+     */
+    private void fail(Segment segment, RuntimeException ex) {
+        appendLock.lock();
+        try {
+            failure = ex;
+            if (segment == current) {
+                for (int offset = segment.syncedOffset; offset < segment.writeOffset; offset += 8) {
+                    segment.buffer.putLong(offset, 0L);
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        logger.error("포인트 기록 fsync 실패. 에러: {}", ex.getMessage());
+        signalDurable();
+    }
+
+    /**
+     * 닫힌 세그먼트의 기록을 체크포인트의 잔액에 더해 새 체크포인트를 쓰고, 접은 세그먼트를 지웁니다. 체크포인트 스레드에서만 실행됩니다.
+     * 새 체크포인트는 임시 파일에 쓰고 fsync 한 뒤 이름을 바꾸므로, 도중에 멈추면 이전 체크포인트와 세그먼트가 그대로 남습니다.
+     * 이름을 바꾼 뒤 세그먼트를 지우기 전에 멈추면, 다음 시작 때 체크포인트 순번 이하의 기록은 건너뜁니다.
+     */
+    private void checkpoint() {
+        long upTo;
+        appendLock.lock();
+        try {
+            upTo = current.baseSequence;
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            List<Path> closed = listSegments().stream().filter(path -> baseSequenceOf(path) < upTo).toList();
+            if (closed.isEmpty()) {
+                return;
+            }
+            Checkpoint checkpoint = readCheckpoint();
+            for (Path path : closed) {
+                Segment segment = Segment.open(path, baseSequenceOf(path), 0);
+                long recordSequence = segment.baseSequence;
+                for (int offset = 0; offset < segment.capacity && isValid(segment.buffer, offset); offset += JournalRecord.BYTES) {
+                    if (++recordSequence > checkpoint.sequence()) {
+                        checkpoint.balances().merge(segment.buffer.getLong(offset), segment.buffer.getLong(offset + 8), Long::sum);
+                    }
+                }
+                segment.close();
+            }
+            writeCheckpoint(new Checkpoint(upTo, checkpoint.balances()));
+            for (Path path : closed) {
+                Files.delete(path);
+            }
+        } catch (IOException | RuntimeException ex) {
+            // 세그먼트는 그대로 남아 있으므로 다음에 세그먼트를 넘길 때 다시 접습니다.
+            logger.error("포인트 기록 체크포인트 실패. 에러: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 체크포인트 파일 : sequence(8) | count(4) | (userId(8) | balance(8)) * count | checksum(8)
+     */
+    private Checkpoint readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT);
+        if (!Files.exists(path)) {
+            return new Checkpoint(0, new HashMap<>());
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        long sequence = buffer.getLong();
+        int count = buffer.getInt();
+        long hash = mix(sequence ^ count);
+        Map<Long, Long> balances = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            long userId = buffer.getLong();
+            long balance = buffer.getLong();
+            hash = mix(mix(hash ^ userId) ^ balance);
+            balances.put(userId, balance);
+        }
+        if (buffer.getLong() != hash) {
+            // 잔액을 잃은 채로 시작하지 않도록 멈춥니다.
+            throw new IllegalStateException("포인트 기록 체크포인트가 손상되었습니다. " + path);
+        }
+        return new Checkpoint(sequence, balances);
+    }
+
+    private void writeCheckpoint(Checkpoint checkpoint) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 4 + checkpoint.balances().size() * 16 + 8);
+        buffer.putLong(checkpoint.sequence()).putInt(checkpoint.balances().size());
+        long hash = mix(checkpoint.sequence() ^ checkpoint.balances().size());
+        for (Map.Entry<Long, Long> entry : checkpoint.balances().entrySet()) {
+            buffer.putLong(entry.getKey()).putLong(entry.getValue());
+            hash = mix(mix(hash ^ entry.getKey()) ^ entry.getValue());
+        }
+        buffer.putLong(hash).flip();
+        Path temporary = directory.resolve(CHECKPOINT + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void signalDurable() {
+        durableLock.lock();
+        try {
+            durable.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        appendLock.lock();
+        try {
+            running = false;
+            appended.signal();
+        } finally {
+            appendLock.unlock();
+        }
+        syncer.join(TimeUnit.SECONDS.toMillis(30));
+        checkpointer.shutdown();
+        checkpointer.awaitTermination(30, TimeUnit.SECONDS);
+        current.close();
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).toList());
+            segments.sort((left, right) -> Long.compare(baseSequenceOf(left), baseSequenceOf(right)));
+            return segments;
+        }
+    }
+
+    private Path segmentPath(long baseSequence) {
+        return directory.resolve(String.format("%020d%s", baseSequence, SUFFIX));
+    }
+
+    private static long baseSequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private static void write(MappedByteBuffer buffer, int offset, long userId, long amount, int type, long updateMillis) {
+        buffer.putLong(offset, userId);
+        buffer.putLong(offset + 8, amount);
+        buffer.putLong(offset + 16, updateMillis);
+        buffer.putInt(offset + 24, type);
+        buffer.putInt(offset + 28, checksum(userId, amount, updateMillis, type));
+    }
+
+    private static JournalRecord read(MappedByteBuffer buffer, int offset) {
+        int type = buffer.getInt(offset + 24);
+        return new JournalRecord(buffer.getLong(offset), buffer.getLong(offset + 8), TYPES[type & ~JournalRecord.ABORTED],
+                buffer.getLong(offset + 16), (type & JournalRecord.ABORTED) != 0);
+    }
+
+    private static boolean isValid(MappedByteBuffer buffer, int offset) {
+        int type = buffer.getInt(offset + 24);
+        int ordinal = type & ~JournalRecord.ABORTED;
+        return ordinal >= 0 && ordinal < TYPES.length
+                && buffer.getInt(offset + 28) == checksum(buffer.getLong(offset), buffer.getLong(offset + 8), buffer.getLong(offset + 16), type);
+    }
+
+    /**
+     * 마지막 유효한 기록 뒤에 0 이 아닌 값이 남아 있으면 0 으로 지웁니다.
+     * 이어 쓴 기록이 일부만 내려간 상태에서 다시 멈춰도, 예전 기록이 유효한 기록으로 읽히지 않게 합니다.
+     */
+    private static void clearFrom(Segment segment, int offset) {
+        int end = offset;
+        while (end < segment.capacity && (segment.buffer.getLong(end + 16) != 0 || segment.buffer.getInt(end + 28) != 0)) {
+            for (int i = 0; i < JournalRecord.BYTES; i += 8) {
+                segment.buffer.putLong(end + i, 0L);
+            }
+            end += JournalRecord.BYTES;
+        }
+        if (end > offset) {
+            segment.buffer.force(offset, end - offset);
+        }
+    }
+
+    /**
+     * 기록 필드를 섞은 값, 0 으로 채워진 빈 자리는 유효한 기록으로 읽히지 않도록 0 을 만들지 않습니다.
+     */
+    static int checksum(long userId, long amount, long updateMillis, int type) {
+        long hash = mix(0x9E3779B97F4A7C15L ^ userId);
+        hash = mix(hash ^ amount);
+        hash = mix(hash ^ updateMillis);
+        hash = mix(hash ^ type);
+        int checksum = (int) (hash ^ (hash >>> 32));
+        return checksum == 0 ? 1 : checksum;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private record Checkpoint(long sequence, Map<Long, Long> balances) {
+    }
+
+    private static final class Segment {
+        private final long baseSequence;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        // appendLock 안에서만 바꿉니다.
+        private int writeOffset;
+        // sync 스레드만 바꿉니다.
+        private int syncedOffset;
+
+        private Segment(long baseSequence, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+            this.baseSequence = baseSequence;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+
+        /**
+         * 세그먼트 파일을 엽니다. 새 파일이면 size 만큼 0 으로 채워진 파일이 만들어지고, 기존 파일이면 파일 크기대로 엽니다.
+         */
+        static Segment open(Path path, long baseSequence, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            int capacity = (int) Math.max(channel.size(), size) / JournalRecord.BYTES * JournalRecord.BYTES;
+            return new Segment(baseSequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), capacity);
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                logger.error("포인트 기록 세그먼트 닫기 실패. 에러: {}", ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point.journal;
+
+import io.hhplus.tdd.point.model.TransactionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "point.journal.enabled", havingValue = "false", matchIfMissing = true)
+public class NoopPointJournal implements PointJournal {
+    static final NoopPointJournal INSTANCE = new NoopPointJournal();
+
+    @Override
+    public long append(long userId, long amount, TransactionType type, long updateMillis) {
+        return 0;
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+    }
+
+    @Override
+    public void abort(long userId, long amount, TransactionType type, long updateMillis) {
+    }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point.journal;
+
+import io.hhplus.tdd.point.model.TransactionType;
+
+/**
+ * 충전/사용 결과를 응답하기 전에 남기는 기록(write-ahead log)
+ * 엔진은 규칙 검사를 통과한 요청을 append 하고, 응답하기 전에 awaitDurable 로 디스크에 내려가기를 기다립니다.
+ */
+public interface PointJournal {
+
+    /**
+     * 기록을 추가하고 순번을 반환합니다. 이 시점에는 아직 디스크에 내려가지 않았을 수 있습니다.
+     * @param amount 포인트 변화량 (사용은 음수)
+     */
+    long append(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * 해당 순번까지의 기록이 디스크에 내려갈 때까지 기다립니다.
+     * 여러 요청이 기다리면 fsync 한 번으로 함께 내려갑니다.
+     */
+    void awaitDurable(long sequence);
+
+    /**
+     * append 한 기록의 뒤처리(잔액/이력 저장)가 실패해 요청을 실패로 응답할 때, 그 기록을 되돌리는 보상 기록을 남깁니다.
+     * 복원할 때 원래 기록과 보상 기록이 상쇄되므로 실패로 응답한 요청이 잔액에 더해지지 않습니다.
+     * 실패 처리 중에 호출되므로 예외를 던지지 않고, 보상 기록을 남기지 못하면 로그로 남깁니다.
+     * @param amount append 할 때 넘긴 변화량 그대로
+     */
+    void abort(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * 기록을 남기지 않는 journal (point.journal.enabled=false, 단위 테스트, 벤치마크)
+     */
+    static PointJournal noop() {
+        return NoopPointJournal.INSTANCE;
+    }
+}
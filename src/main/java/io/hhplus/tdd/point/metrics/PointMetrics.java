@@ -0,0 +1,227 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 포인트 기능의 지표를 한 곳에서 이름과 태그를 맞춰 기록합니다.
+ * - point.service : PointService 메서드별 처리 시간 (operation, outcome)
+ * - point.table : Table 호출별 지연 시간 (table, operation)
+ * - point.queue.wait / point.queue.hold : 사용자 대기열에서 기다린 시간 / 실행한 시간 (기존 잠금 대기/보유 시간에 해당)
+ * - point.rejections : 처리되지 못하고 거절된 요청 수 (operation, reason)
+ * - point.failed.events : 저장된 실패 이벤트 수 (operation)
+ * - point.failed.events.dropped : 저장하지 못하고 버린 실패 이벤트 수 (reason : overflow, closed, error, shutdown)
+ * - point.history.write.failures : 비동기 이력 저장 실패 수 (result : retried, failed)
+ * - point.idempotency.requests / point.idempotency.evictions : Idempotency-Key 캐시 적중(hit, miss)과 내보낸 항목 수 (reason)
+ * - point.journal.sync / point.journal.group : 포인트 기록(journal) fsync 한 번에 걸린 시간과 함께 내려쓴 기록 수
+ * - point.shard.mailbox.depth : 샤드 엔진의 샤드별 우편함에 쌓인 요청 수 (shard)
+ * 모든 지표는 /actuator/prometheus 로 노출됩니다.
+ * 요청마다 builder 로 registry 를 찾지 않도록, 태그 없는 지표는 생성할 때 한 번 등록하고 태그가 있는 지표는 태그 값별로 맵에 담아 다시 씁니다.
+ */
+@Component
+public class PointMetrics {
+    private static final int SUCCESS = 0;
+    private static final int FAILURE = 1;
+
+    private final MeterRegistry registry;
+    private final Timer queueWait;
+    private final Timer queueHold;
+    private final Timer journalSync;
+    private final DistributionSummary journalGroup;
+
+    // operation -> [success, failure]
+    private final ConcurrentHashMap<String, Timer[]> serviceTimers = new ConcurrentHashMap<>();
+    // table -> operation -> timer
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Timer>> tableTimers = new ConcurrentHashMap<>();
+    // operation -> reason -> counter
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Counter>> rejections = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> failedEvents = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> failedEventDrops = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> idempotencyRequests = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> idempotencyEvictions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> casRetries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> historyWriteFailures = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PointMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.queueWait = Timer.builder("point.queue.wait").publishPercentileHistogram().register(registry);
+        this.queueHold = Timer.builder("point.queue.hold").publishPercentileHistogram().register(registry);
+        this.journalSync = Timer.builder("point.journal.sync").publishPercentileHistogram().register(registry);
+        this.journalGroup = DistributionSummary.builder("point.journal.group").register(registry);
+    }
+
+    /**
+     * 스프링 컨텍스트 밖(단위 테스트, 벤치마크)에서 쓰는 메모리 전용 지표
+     */
+    public static PointMetrics noop() {
+        return new PointMetrics(new SimpleMeterRegistry());
+    }
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+
+    public <T> T timeService(String operation, Supplier<T> action) {
+        long start = System.nanoTime();
+        int outcome = SUCCESS;
+        try {
+            return action.get();
+        } catch (RuntimeException ex) {
+            outcome = FAILURE;
+            throw ex;
+        } finally {
+            serviceTimers(operation)[outcome].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 비동기 API 는 요청을 넣은 시점부터 Future 가 완료될 때까지를 같은 point.service 지표에 기록합니다.
+     */
+    public <T> CompletableFuture<T> timeServiceAsync(String operation, Supplier<CompletableFuture<T>> action) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = action.get();
+        } catch (RuntimeException ex) {
+            serviceTimers(operation)[FAILURE].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+        future.whenComplete((result, ex) -> serviceTimers(operation)[ex == null ? SUCCESS : FAILURE]
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        return future;
+    }
+
+    public void timeService(String operation, Runnable action) {
+        timeService(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T timeTable(String table, String operation, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            tableTimer(table, operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordQueueWait(long nanos) {
+        queueWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordQueueHold(long nanos) {
+        queueHold.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countRejection(String operation, String reason) {
+        ConcurrentHashMap<String, Counter> reasons = rejections.get(operation);
+        if (reasons == null) {
+            reasons = rejections.computeIfAbsent(operation, key -> new ConcurrentHashMap<>());
+        }
+        Counter counter = reasons.get(reason);
+        if (counter == null) {
+            counter = reasons.computeIfAbsent(reason, key -> Counter.builder("point.rejections")
+                    .tag("operation", operation)
+                    .tag("reason", reason)
+                    .register(registry));
+        }
+        counter.increment();
+    }
+
+    public void countFailedEvent(String operation) {
+        counter(failedEvents, "point.failed.events", "operation", operation).increment();
+    }
+
+    public void countFailedEventDrop(String reason) {
+        counter(failedEventDrops, "point.failed.events.dropped", "reason", reason).increment();
+    }
+
+    public void countIdempotency(String result) {
+        counter(idempotencyRequests, "point.idempotency.requests", "result", result).increment();
+    }
+
+    public void countIdempotencyEviction(String reason) {
+        counter(idempotencyEvictions, "point.idempotency.evictions", "reason", reason).increment();
+    }
+
+    public void countCasRetry(String operation) {
+        counter(casRetries, "point.cas.retries", "operation", operation).increment();
+    }
+
+    public void countHistoryWriteFailure(String result) {
+        counter(historyWriteFailures, "point.history.write.failures", "result", result).increment();
+    }
+
+    public void recordJournalSync(long nanos, long records) {
+        journalSync.record(nanos, TimeUnit.NANOSECONDS);
+        journalGroup.record(records);
+    }
+
+    public <T> void gauge(String name, T target, ToDoubleFunction<T> value) {
+        Gauge.builder(name, target, value).register(registry);
+    }
+
+    public <T> void shardGauge(String name, int shard, T target, ToDoubleFunction<T> value) {
+        Gauge.builder(name, target, value)
+                .tag("shard", String.valueOf(shard))
+                .register(registry);
+    }
+
+    /**
+     * 이미 등록한 지표는 get 으로 바로 찾고, 처음 보는 태그 값일 때만 등록합니다.
+     */
+    private Timer[] serviceTimers(String operation) {
+        Timer[] timers = serviceTimers.get(operation);
+        if (timers != null) {
+            return timers;
+        }
+        return serviceTimers.computeIfAbsent(operation, key -> new Timer[]{serviceTimer(operation, "success"), serviceTimer(operation, "failure")});
+    }
+
+    private Timer serviceTimer(String operation, String outcome) {
+        return Timer.builder("point.service")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer tableTimer(String table, String operation) {
+        ConcurrentHashMap<String, Timer> operations = tableTimers.get(table);
+        if (operations == null) {
+            operations = tableTimers.computeIfAbsent(table, key -> new ConcurrentHashMap<>());
+        }
+        Timer timer = operations.get(operation);
+        if (timer != null) {
+            return timer;
+        }
+        return operations.computeIfAbsent(operation, key -> Timer.builder("point.table")
+                .tag("table", table)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private Counter counter(ConcurrentHashMap<String, Counter> counters, String name, String tag, String value) {
+        Counter counter = counters.get(value);
+        if (counter != null) {
+            return counter;
+        }
+        return counters.computeIfAbsent(value, key -> Counter.builder(name).tag(tag, value).register(registry));
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.model;
+
+import java.util.List;
+
+/**
+ * 최근 minutes 분 동안의 실패 이벤트 집계
+ * - operations : 작업별 분 단위 실패 수 (오래된 분부터)
+ * - errors : 작업과 오류 메시지별 실패 수 (많은 순)
+ * - topUsers : 실패가 많은 사용자 (많은 순, 추정치)
+ */
+public record FailedEventSummary(
+        int minutes,
+        List<OperationFailures> operations,
+        List<ErrorFailures> errors,
+        List<UserFailures> topUsers
+) {
+    public record OperationFailures(String operation, long total, List<Long> perMinute) {
+    }
+
+    public record ErrorFailures(String operation, String errorMessage, long count) {
+    }
+
+    /**
+     * @param count 추정 실패 수, 실제 값 이상입니다.
+     * @param error count 가 실제보다 클 수 있는 최대 차이
+     */
+    public record UserFailures(long userId, long count, long error) {
+    }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point.model;
+
+/**
+ * 포인트 이력 조회 조건
+ * - cursor : 이 이력 id 보다 큰 이력부터 조회합니다. (null 이면 처음부터)
+ * - size : 한 번에 조회할 최대 개수
+ * - from, to : updateMillis 범위 (포함, null 이면 제한 없음)
+ * - type : 트랜잭션 종류 (null 이면 전체)
+ */
+public record PointHistoryCondition(
+        Long cursor,
+        int size,
+        Long from,
+        Long to,
+        TransactionType type
+) {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public PointHistoryCondition {
+        if (size <= 0) {
+            size = DEFAULT_SIZE;
+        }
+        size = Math.min(size, MAX_SIZE);
+    }
+
+    public boolean matches(long id, TransactionType type, long updateMillis) {
+        return (cursor == null || id > cursor)
+                && (from == null || updateMillis >= from)
+                && (to == null || updateMillis <= to)
+                && (this.type == null || this.type == type);
+    }
+
+    public boolean matches(PointHistory history) {
+        return matches(history.id(), history.type(), history.updateMillis());
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.model;
+
+import java.util.List;
+
+/**
+ * 커서 기반으로 조회한 포인트 이력 한 페이지
+ * nextCursor 가 null 이면 더 조회할 이력이 없습니다.
+ */
+public record PointHistoryPage(
+        List<PointHistory> histories,
+        Long nextCursor
+) {
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.model;
+
+/**
+ * 일괄 처리 요청에 담기는 충전/사용 한 건
+ */
+public record PointOperation(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+}
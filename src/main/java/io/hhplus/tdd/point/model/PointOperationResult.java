@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point.model;
+
+/**
+ * 일괄 처리 요청 한 건의 결과
+ * 성공하면 userPoint 에 반영 후 잔액이 담기고, 실패하면 userPoint 는 null 이고 errorMessage 에 실패 사유가 담깁니다.
+ */
+public record PointOperationResult(
+        PointOperation operation,
+        UserPoint userPoint,
+        String errorMessage
+) {
+
+    public static PointOperationResult success(PointOperation operation, UserPoint userPoint) {
+        return new PointOperationResult(operation, userPoint, null);
+    }
+
+    public static PointOperationResult failure(PointOperation operation, String errorMessage) {
+        return new PointOperationResult(operation, null, errorMessage);
+    }
+
+    public boolean succeeded() {
+        return userPoint != null;
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 사용자별 하루 충전 요청 횟수를 두 줄짜리 long 배열(count-min)에 세는 카운터
+ * - 사용자마다 서로 다른 해시로 두 칸을 올리고, 두 칸 중 작은 값을 그 사용자의 횟수로 봅니다.
+ *   다른 사용자와 두 칸이 모두 겹칠 때만 횟수가 실제보다 크게 보이므로 한 줄짜리보다 오차가 훨씬 적습니다.
+ * - 사용자 수와 관계없이 2 x stripes 개의 long 만 사용합니다.
+ * - 칸 하나에 (날짜 << 32 | 수) 를 담아, 다른 날짜의 칸이면 CAS 한 번으로 비우면서 1 로 시작합니다.
+ *   배열 전체를 한 번에 비우지 않으므로 날짜가 바뀌는 순간 들어온 요청끼리 서로의 횟수를 지우지 않습니다.
+ */
+public class DailyChargeCounter {
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final AtomicLongArray first;
+    private final AtomicLongArray second;
+    private final int mask;
+    private final int limit;
+
+    public DailyChargeCounter(int stripes, int limit) {
+        this.first = new AtomicLongArray(stripes);
+        this.second = new AtomicLongArray(stripes);
+        this.mask = stripes - 1;
+        this.limit = limit;
+    }
+
+    /**
+     * 오늘 충전 횟수를 하나 올립니다. 한도를 넘으면 올리지 않고 false 를 반환합니다.
+     */
+    public boolean tryIncrement(long key, long epochDay) {
+        int firstIndex = Stripes.index(key, mask);
+        int secondIndex = Stripes.secondIndex(key, mask);
+        // 같은 사용자의 요청이 정확히 동시에 올리면 한도를 조금 넘길 수 있지만, 그 폭은 사용자별 동시 요청 수 제한 안으로 묶입니다.
+        long firstSlot = increment(first, firstIndex, epochDay);
+        long secondSlot = increment(second, secondIndex, epochDay);
+        if (Math.min(firstSlot & COUNT_MASK, secondSlot & COUNT_MASK) > limit) {
+            decrement(first, firstIndex, firstSlot >>> 32);
+            decrement(second, secondIndex, secondSlot >>> 32);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * tryIncrement 로 올린 횟수를 되돌립니다. 함께 검사한 다른 제한에 걸려 요청 전체를 거절할 때 씁니다.
+     */
+    public void release(long key, long epochDay) {
+        decrement(first, Stripes.index(key, mask), epochDay);
+        decrement(second, Stripes.secondIndex(key, mask), epochDay);
+    }
+
+    /**
+     * 칸을 하나 올리고 올린 뒤의 (날짜 << 32 | 수) 를 반환합니다.
+     * 칸에 더 최근 날짜가 적혀 있으면 자정 직전에 날짜를 읽은 요청이므로 그 날짜에 함께 셉니다.
+     */
+    private static long increment(AtomicLongArray row, int index, long epochDay) {
+        while (true) {
+            long current = row.get(index);
+            long next = current >>> 32 >= epochDay ? current + 1 : epochDay << 32 | 1;
+            if (row.compareAndSet(index, current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 같은 날짜의 칸일 때만 하나 내립니다. 그 사이 날짜가 바뀌어 비워진 칸은 건드리지 않습니다.
+     */
+    private static void decrement(AtomicLongArray row, int index, long epochDay) {
+        row.getAndUpdate(index, current -> current >>> 32 == epochDay && (current & COUNT_MASK) > 0 ? current - 1 : current);
+    }
+}
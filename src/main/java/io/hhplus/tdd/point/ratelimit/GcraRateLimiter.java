@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 잠금 없는 토큰 버킷 (GCRA, Generic Cell Rate Algorithm)
+ * - 버킷마다 "다음 요청이 이론적으로 도착해야 하는 시각(TAT)" 하나만 long 으로 저장하고 CAS 로 갱신합니다.
+ * - 키는 해시로 고정된 칸(stripe)에 나눠 담으므로 키 수와 관계없이 메모리가 일정합니다.
+ *   서로 다른 키가 같은 칸을 쓰면 그 키들은 한도를 함께 나눠 씁니다.
+ * - stripes 가 1 이면 전체 요청에 대한 하나의 버킷이 됩니다.
+ */
+public class GcraRateLimiter {
+
+    private final AtomicLongArray theoreticalArrivals;
+    private final int mask;
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    public GcraRateLimiter(int stripes, double permitsPerSecond, int burst) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes 는 2의 거듭제곱이어야 합니다.");
+        }
+        this.theoreticalArrivals = new AtomicLongArray(stripes);
+        this.mask = stripes - 1;
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstNanos = intervalNanos * burst;
+    }
+
+    /**
+     * 허용되면 0 을, 거절되면 다시 시도할 수 있을 때까지 남은 나노초를 반환합니다.
+     * nowNanos 는 0 이상으로 증가하는 시각이어야 합니다.
+     */
+    public long tryAcquire(long key, long nowNanos) {
+        int index = Stripes.index(key, mask);
+        while (true) {
+            long tat = theoreticalArrivals.get(index);
+            long next = Math.max(tat, nowNanos) + intervalNanos;
+            long waitNanos = next - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivals.compareAndSet(index, tat, next)) {
+                return 0;
+            }
+        }
+    }
+}
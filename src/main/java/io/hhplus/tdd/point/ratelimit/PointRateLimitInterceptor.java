@@ -0,0 +1,194 @@
+package io.hhplus.tdd.point.ratelimit;
+
+import io.hhplus.tdd.point.config.PointRateLimitProperties;
+import io.hhplus.tdd.point.exception.PointRateLimitException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.service.IdempotencyCache;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointController 에 도달하기 전에 요청을 받아들일지 정합니다.
+ * 1. 전체 요청 수 (토큰 버킷)
+ * 2. 사용자별 요청 수 (토큰 버킷)
+ * 3. 사용자별 동시 처리 중인 요청 수
+ * 4. 사용자별 하루 충전 요청 횟수 (충전 요청만, dailyChargeLimit 이 0 이면 세지 않습니다)
+ *    Idempotency-Key 로 다시 보낸 요청은 새로 충전되지 않으므로 세지 않습니다.
+ * 사용자는 경로의 {id} 나 ids 파라미터로 알아내고, 여러 사용자가 담긴 요청은 사용자마다 제한을 적용합니다.
+ * 일괄 처리(PATCH /point/bulk)처럼 본문에만 사용자가 있는 요청은 본문을 읽은 PointController 가 admitBulk 를 호출합니다.
+ * 어느 하나라도 넘으면 서비스를 호출하지 않고 429 와 Retry-After 로 바로 거절합니다.
+ * 모든 상태는 고정 크기 배열에 담기고 CAS 로만 갱신되므로 잠금이 없습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class PointRateLimitInterceptor implements HandlerInterceptor {
+    private static final String ACQUIRED_USERS = PointRateLimitInterceptor.class.getName() + ".userIds";
+
+    private final GcraRateLimiter globalLimiter;
+    private final GcraRateLimiter userLimiter;
+    private final StripedConcurrencyLimiter concurrencyLimiter;
+    // 하루 충전 횟수를 세지 않으면 null
+    private final DailyChargeCounter dailyChargeCounter;
+    private final IdempotencyCache idempotencyCache;
+    private final PointMetrics metrics;
+    private final Clock clock;
+    private final long originNanos = System.nanoTime();
+
+    @Autowired
+    public PointRateLimitInterceptor(PointRateLimitProperties properties, IdempotencyCache idempotencyCache, PointMetrics metrics) {
+        this(properties, idempotencyCache, metrics, Clock.systemDefaultZone());
+    }
+
+    PointRateLimitInterceptor(PointRateLimitProperties properties, IdempotencyCache idempotencyCache, PointMetrics metrics, Clock clock) {
+        this.globalLimiter = new GcraRateLimiter(1, properties.globalPermitsPerSecond(), properties.globalBurst());
+        this.userLimiter = new GcraRateLimiter(properties.stripes(), properties.userPermitsPerSecond(), properties.userBurst());
+        this.concurrencyLimiter = new StripedConcurrencyLimiter(properties.stripes(), properties.maxConcurrentPerUser());
+        this.dailyChargeCounter = properties.dailyChargeLimit() > 0 ? new DailyChargeCounter(properties.stripes(), properties.dailyChargeLimit()) : null;
+        this.idempotencyCache = idempotencyCache;
+        this.metrics = metrics;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 비동기 응답을 내보내기 위해 다시 들어온 경우는 이미 검사를 통과한 요청입니다.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        long now = System.nanoTime() - originNanos;
+        long globalWait = globalLimiter.tryAcquire(0L, now);
+        if (globalWait > 0) {
+            throw reject("global_rate", "요청이 많아 잠시 처리할 수 없습니다.", globalWait);
+        }
+        List<Long> userIds = userIds(request);
+        if (userIds == null) {
+            return true;
+        }
+        List<Long> charges = request.getRequestURI().endsWith("/charge") && !replayed(request, userIds.get(0)) ? userIds : List.of();
+        admit(request, userIds, charges, now);
+        return true;
+    }
+
+    /**
+     * 본문에 사용자가 담긴 일괄 요청에 사용자별 제한을 적용합니다. 충전은 건마다 하루 충전 횟수에 셉니다.
+     * 한 사용자라도 넘으면 요청 전체를 거절합니다.
+     */
+    public void admitBulk(HttpServletRequest request, List<PointOperation> operations) {
+        List<Long> userIds = new ArrayList<>(new LinkedHashSet<>(operations.stream().map(PointOperation::userId).toList()));
+        List<Long> charges = operations.stream()
+                .filter(operation -> operation.type() == TransactionType.CHARGE)
+                .map(PointOperation::userId)
+                .toList();
+        admit(request, userIds, charges, System.nanoTime() - originNanos);
+    }
+
+    /**
+     * 비동기 응답이면 결과가 나간 뒤에 호출되므로 처리가 끝난 시점에 동시 요청 수를 돌려받습니다.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object userIds = request.getAttribute(ACQUIRED_USERS);
+        if (userIds != null) {
+            request.removeAttribute(ACQUIRED_USERS);
+            @SuppressWarnings("unchecked")
+            List<Long> acquired = (List<Long>) userIds;
+            acquired.forEach(concurrencyLimiter::release);
+        }
+    }
+
+    /**
+     * 사용자마다 요청 수, 동시 요청 수, 하루 충전 횟수를 차례로 확인합니다.
+     * 중간에 거절되면 앞서 잡은 동시 요청 수와 올린 충전 횟수는 돌려놓습니다. (요청 수 토큰은 돌려받지 않습니다)
+     */
+    private void admit(HttpServletRequest request, List<Long> userIds, List<Long> charges, long now) {
+        for (long userId : userIds) {
+            long userWait = userLimiter.tryAcquire(userId, now);
+            if (userWait > 0) {
+                throw reject("user_rate", "요청이 너무 잦습니다. 잠시 후 다시 시도해주세요.", userWait);
+            }
+        }
+        List<Long> acquired = new ArrayList<>(userIds.size());
+        for (long userId : userIds) {
+            if (!concurrencyLimiter.tryAcquire(userId)) {
+                acquired.forEach(concurrencyLimiter::release);
+                throw reject("user_concurrency", "동시에 처리 중인 요청이 너무 많습니다.", TimeUnit.SECONDS.toNanos(1));
+            }
+            acquired.add(userId);
+        }
+        if (dailyChargeCounter != null && !charges.isEmpty()) {
+            long today = LocalDate.now(clock).toEpochDay();
+            for (int i = 0; i < charges.size(); i++) {
+                if (!dailyChargeCounter.tryIncrement(charges.get(i), today)) {
+                    charges.subList(0, i).forEach(userId -> dailyChargeCounter.release(userId, today));
+                    acquired.forEach(concurrencyLimiter::release);
+                    throw reject("daily_charge_limit", "하루 충전 횟수를 초과했습니다.", untilTomorrowNanos());
+                }
+            }
+        }
+        request.setAttribute(ACQUIRED_USERS, acquired);
+    }
+
+    /**
+     * 경로의 {id} 또는 ids 파라미터(ids=1,2,3 또는 ids=1&ids=2)의 사용자 목록, 둘 다 없으면 null 을 반환합니다.
+     * 숫자가 아닌 아이디는 컨트롤러에서 거절되므로 건너뜁니다.
+     */
+    private List<Long> userIds(HttpServletRequest request) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables == null ? null : variables.get("id");
+        String[] ids = id == null ? request.getParameterValues("ids") : new String[]{id};
+        if (ids == null) {
+            return null;
+        }
+        LinkedHashSet<Long> userIds = new LinkedHashSet<>();
+        for (String value : ids) {
+            for (String part : value.split(",")) {
+                try {
+                    userIds.add(Long.parseLong(part.trim()));
+                } catch (NumberFormatException ex) {
+                    // 건너뜁니다.
+                }
+            }
+        }
+        return userIds.isEmpty() ? null : new ArrayList<>(userIds);
+    }
+
+    /**
+     * 같은 Idempotency-Key 로 이미 처리 중이거나 처리된 요청이면 다시 충전되지 않습니다.
+     * 처음 요청과 정확히 동시에 들어온 재시도는 아직 캐시에 없어 한 번 더 셀 수 있습니다.
+     */
+    private boolean replayed(HttpServletRequest request, long userId) {
+        String idempotencyKey = request.getHeader(IdempotencyCache.HEADER);
+        return idempotencyKey != null && idempotencyCache.contains(idempotencyKey, userId);
+    }
+
+    private long untilTomorrowNanos() {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime tomorrow = now.toLocalDate().plusDays(1).atStartOfDay(now.getZone());
+        return Duration.between(now, tomorrow).toNanos();
+    }
+
+    private PointRateLimitException reject(String reason, String message, long waitNanos) {
+        metrics.countRejection("admission", reason);
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new PointRateLimitException(message, retryAfterSeconds);
+    }
+}
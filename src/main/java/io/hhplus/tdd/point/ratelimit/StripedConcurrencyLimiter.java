@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point.ratelimit;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 사용자별 동시 처리 중인 요청 수를 고정 크기 int 배열에 세어 한도를 넘는 요청을 거절합니다.
+ * 같은 칸을 쓰는 사용자는 한도를 함께 나눠 씁니다.
+ */
+public class StripedConcurrencyLimiter {
+
+    private final AtomicIntegerArray inFlight;
+    private final int mask;
+    private final int maxConcurrent;
+
+    public StripedConcurrencyLimiter(int stripes, int maxConcurrent) {
+        this.inFlight = new AtomicIntegerArray(stripes);
+        this.mask = stripes - 1;
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public boolean tryAcquire(long key) {
+        int index = Stripes.index(key, mask);
+        if (inFlight.incrementAndGet(index) > maxConcurrent) {
+            inFlight.decrementAndGet(index);
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long key) {
+        inFlight.decrementAndGet(Stripes.index(key, mask));
+    }
+}
@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point.ratelimit;
+
+/**
+ * 사용자 아이디를 고정 크기 배열의 칸 번호로 바꿉니다.
+ * 연속된 아이디가 이웃한 칸에 몰리지 않도록 섞은 뒤 자릅니다.
+ */
+final class Stripes {
+
+    private Stripes() {
+    }
+
+    static int index(long key, int mask) {
+        return (int) mix(key) & mask;
+    }
+
+    /**
+     * 첫 번째 칸 번호와 독립적인 두 번째 칸 번호, 두 줄짜리 카운터에서 충돌을 줄이는 데 씁니다.
+     */
+    static int secondIndex(long key, int mask) {
+        return (int) (mix(key) >>> 32) & mask;
+    }
+
+    private static long mix(long key) {
+        // SplitMix64 의 마무리 단계
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.analytics.FailedEventAnalytics;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 서비스가 쓰는 실패 이벤트 저장소, 저장하기 전에 FailedEventAnalytics 에 먼저 기록합니다.
+ * 비동기 저장(point.failed-event-pipeline)을 켜면 AsyncFailedEventRepository 에, 끄면 실패 이벤트 저장소에 바로 넘기므로
+ * 어느 설정이든 집계가 채워지고, 비동기 버퍼가 넘쳐 버린 이벤트도 집계에는 남습니다.
+ */
+@Primary
+@Repository
+public class AnalyzedFailedEventRepository implements FailedEventRepository {
+    private final FailedEventRepository delegate;
+    private final FailedEventAnalytics analytics;
+
+    public AnalyzedFailedEventRepository(FailedEventRepository delegate, FailedEventAnalytics analytics) {
+        this.delegate = delegate;
+        this.analytics = analytics;
+    }
+
+    @Autowired
+    public AnalyzedFailedEventRepository(@Qualifier("failedEventStore") FailedEventRepository store,
+                                         ObjectProvider<AsyncFailedEventRepository> pipeline, FailedEventAnalytics analytics) {
+        this(pipelineOrStore(pipeline.getIfAvailable(), store), analytics);
+    }
+
+    private static FailedEventRepository pipelineOrStore(AsyncFailedEventRepository pipeline, FailedEventRepository store) {
+        return pipeline != null ? pipeline : store;
+    }
+
+    @Override
+    public PointFailedEvent save(PointFailedEvent event) {
+        analytics.record(event);
+        return delegate.save(event);
+    }
+
+    @Override
+    public List<PointFailedEvent> findAllByUserId(long userId) {
+        return delegate.findAllByUserId(userId);
+    }
+}
@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point.repository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 잠금 없이 추가만 하는 로그
+ * - 추가는 getAndIncrement 로 자리를 먼저 잡고 그 자리에 값을 씁니다. 자리를 잡은 스레드끼리 서로 기다리지 않습니다.
+ * - 칸 묶음(chunk)은 FIRST_CHUNK, 2배, 4배 ... 크기로 필요할 때 CAS 로 붙이므로 복사 없이 늘어나고, 처음에는 작게 시작합니다.
+ * - 조회는 잡힌 자리 수까지 읽되 아직 값이 쓰이지 않은 첫 칸에서 멈추므로, 다 쓰인 앞부분만 봅니다.
+ */
+final class AppendLog<T> {
+    private static final int FIRST_CHUNK_BITS = 3;
+    private static final int FIRST_CHUNK = 1 << FIRST_CHUNK_BITS;
+    private static final int MAX_CHUNKS = Integer.SIZE - FIRST_CHUNK_BITS;
+
+    private final AtomicInteger claimed = new AtomicInteger();
+    private final AtomicReferenceArray<AtomicReferenceArray<T>> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+
+    /**
+     * @return 값이 들어간 자리 (0부터)
+     */
+    int append(T value) {
+        int index = claimed.getAndIncrement();
+        if (index < 0 || index > Integer.MAX_VALUE - FIRST_CHUNK) {
+            claimed.set(Integer.MAX_VALUE);
+            throw new IllegalStateException("로그가 가득 찼습니다.");
+        }
+        int position = index + FIRST_CHUNK;
+        int chunkIndex = chunkIndex(position);
+        AtomicReferenceArray<T> chunk = chunks.get(chunkIndex);
+        if (chunk == null) {
+            AtomicReferenceArray<T> created = new AtomicReferenceArray<>(FIRST_CHUNK << chunkIndex);
+            chunk = chunks.compareAndExchange(chunkIndex, null, created);
+            if (chunk == null) {
+                chunk = created;
+            }
+        }
+        chunk.set(position - (FIRST_CHUNK << chunkIndex), value);
+        return index;
+    }
+
+    /**
+     * 자리를 잡은 수. 아직 값이 쓰이지 않은 자리를 포함하므로 목록 크기를 미리 잡을 때만 씁니다.
+     */
+    int claimed() {
+        return Math.min(claimed.get(), Integer.MAX_VALUE - FIRST_CHUNK);
+    }
+
+    /**
+     * 다 쓰인 앞부분을 순서대로 넘기고, 넘긴 수를 돌려줍니다.
+     * action 이 false 를 돌려주면 멈춥니다.
+     */
+    int forEachWhile(Predicate<T> action) {
+        int claimedSize = claimed();
+        for (int index = 0; index < claimedSize; index++) {
+            T value = get(index);
+            if (value == null || !action.test(value)) {
+                return index;
+            }
+        }
+        return claimedSize;
+    }
+
+    void forEach(Consumer<T> action) {
+        forEachWhile(value -> {
+            action.accept(value);
+            return true;
+        });
+    }
+
+    private T get(int index) {
+        int position = index + FIRST_CHUNK;
+        int chunkIndex = chunkIndex(position);
+        AtomicReferenceArray<T> chunk = chunks.get(chunkIndex);
+        return chunk == null ? null : chunk.get(position - (FIRST_CHUNK << chunkIndex));
+    }
+
+    private static int chunkIndex(int position) {
+        return (Integer.SIZE - 1 - Integer.numberOfLeadingZeros(position)) - FIRST_CHUNK_BITS;
+    }
+}
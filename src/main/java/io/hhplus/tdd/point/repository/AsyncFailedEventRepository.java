@@ -0,0 +1,173 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointFailedEventPipelineProperties;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실패 이벤트 저장을 요청 처리 구간 밖으로 빼내는 비동기 저장소
+ * - 실패 이벤트는 고정 크기 버퍼에 넣기만 하고 바로 돌아가므로, 실패 응답이 Table 지연을 기다리지 않습니다.
+ *   사용자 대기열 안에서 기록해도 같은 사용자의 다음 요청이 기다리지 않습니다.
+ * - writers 개의 전용 writer 스레드가 각자의 버퍼에서 batchSize 개씩 꺼내 들어온 순서대로 저장합니다.
+ *   사용자 아이디로 writer 를 고르므로 같은 사용자의 실패 이벤트 순서는 유지됩니다.
+ * - PointFailedEventsTable 은 삽입 한 건에 평균 150ms 가 걸리고 스레드 안전하지 않아 한 번에 하나씩만 저장하므로,
+ *   point.failed-event.store=table 이면 writer 수와 관계없이 초당 6~7 건이 한계입니다.
+ *   그보다 많이 실패하는 동안에는 버퍼가 차서 버려지므로, 실패 이벤트를 빠짐없이 남겨야 하면 store=concurrent 와 writers 를 함께 늘립니다.
+ * - 이력과 달리 실패 이벤트는 잔액에 영향이 없는 기록이므로, 버퍼가 가득 차면 기다리지 않고 버리고 point.failed.events.dropped 로 셉니다.
+ * - 조회는 저장이 끝난 이벤트만 보여주므로 방금 실패한 요청의 이벤트는 잠시 뒤에 보일 수 있습니다.
+ * - FailedEventAnalytics 집계는 앞단의 AnalyzedFailedEventRepository 가 버퍼에 넣기 전에 기록하므로, 버려진 이벤트도 집계에는 남습니다.
+ * - 종료할 때 30초 안에 저장하지 못하고 버퍼에 남은 이벤트는 point.failed.events.dropped (reason=shutdown) 로 셉니다.
+ */
+@Repository
+@ConditionalOnProperty(name = "point.failed-event-pipeline.enabled", havingValue = "true", matchIfMissing = true)
+public class AsyncFailedEventRepository implements FailedEventRepository {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncFailedEventRepository.class);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final FailedEventRepository store;
+    // writer 별 버퍼, 사용자 아이디로 고릅니다.
+    private final BlockingQueue<PointFailedEvent>[] buffers;
+    private final int batchSize;
+    private final PointMetrics metrics;
+
+    private final Thread[] writers;
+    private volatile boolean running = true;
+
+    public AsyncFailedEventRepository(FailedEventRepository store, PointFailedEventPipelineProperties properties) {
+        this(store, properties, PointExecutionProperties.platform(), PointMetrics.noop());
+    }
+
+    @Autowired
+    public AsyncFailedEventRepository(@Qualifier("failedEventStore") FailedEventRepository store, PointFailedEventPipelineProperties properties,
+                                      PointExecutionProperties execution, PointMetrics metrics) {
+        this.store = store;
+        this.batchSize = properties.batchSize();
+        this.metrics = metrics;
+        int writerCount = Math.max(1, properties.writers());
+        int capacity = Math.max(1, properties.bufferSize() / writerCount);
+        this.buffers = newBuffers(writerCount, capacity);
+        this.writers = new Thread[writerCount];
+        metrics.gauge("point.failed.events.pending", this, AsyncFailedEventRepository::pending);
+        ThreadFactory threadFactory = execution.threadFactory("point-failed-event-writer-");
+        for (int i = 0; i < writerCount; i++) {
+            BlockingQueue<PointFailedEvent> buffer = buffers[i];
+            writers[i] = threadFactory.newThread(() -> writeLoop(buffer));
+            writers[i].start();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BlockingQueue<PointFailedEvent>[] newBuffers(int count, int capacity) {
+        BlockingQueue<PointFailedEvent>[] buffers = new BlockingQueue[count];
+        for (int i = 0; i < count; i++) {
+            buffers[i] = new ArrayBlockingQueue<>(capacity);
+        }
+        return buffers;
+    }
+
+    @Override
+    public PointFailedEvent save(PointFailedEvent event) {
+        if (!running) {
+            metrics.countFailedEventDrop("closed");
+            return event;
+        }
+        if (!buffer(event.getUserId()).offer(event)) {
+            metrics.countFailedEventDrop("overflow");
+            logger.warn("실패 이벤트 버퍼가 가득 차 버렸습니다. 아이디: {}. 실패포인트: {}", event.getUserId(), event.getAmount());
+        }
+        return event;
+    }
+
+    @Override
+    public List<PointFailedEvent> findAllByUserId(long userId) {
+        return store.findAllByUserId(userId);
+    }
+
+    private BlockingQueue<PointFailedEvent> buffer(long userId) {
+        return buffers[Math.floorMod(Long.hashCode(userId * 0x9E3779B97F4A7C15L), buffers.length)];
+    }
+
+    private int pending() {
+        int pending = 0;
+        for (BlockingQueue<PointFailedEvent> buffer : buffers) {
+            pending += buffer.size();
+        }
+        return pending;
+    }
+
+    private void writeLoop(BlockingQueue<PointFailedEvent> buffer) {
+        List<PointFailedEvent> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                PointFailedEvent first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                // 종료 요청이면 남은 이벤트를 마저 저장하고 빠져나갑니다.
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PointFailedEvent> batch) {
+        for (PointFailedEvent event : batch) {
+            try {
+                store.save(event);
+            } catch (RuntimeException ex) {
+                metrics.countFailedEventDrop("error");
+                logger.error("실패 이벤트 저장실패아이디: {}. 에러: {}", event.getUserId(), ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 새 이벤트를 받지 않고 버퍼에 남은 이벤트를 최대 30초 동안 저장합니다.
+     * 그 안에 저장하지 못한 이벤트는 버퍼에서 꺼내 shutdown 으로 세고, writer 를 깨워 끝냅니다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        shutdown(SHUTDOWN_TIMEOUT_MILLIS);
+    }
+
+    void shutdown(long timeoutMillis) throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (Thread writer : writers) {
+            writer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+        List<PointFailedEvent> abandoned = new ArrayList<>();
+        for (BlockingQueue<PointFailedEvent> buffer : buffers) {
+            buffer.drainTo(abandoned);
+        }
+        if (!abandoned.isEmpty()) {
+            logger.warn("종료 전에 저장하지 못한 실패 이벤트 {}건을 버렸습니다.", abandoned.size());
+            for (int i = 0; i < abandoned.size(); i++) {
+                metrics.countFailedEventDrop("shutdown");
+            }
+        }
+        for (Thread writer : writers) {
+            writer.interrupt();
+        }
+    }
+}
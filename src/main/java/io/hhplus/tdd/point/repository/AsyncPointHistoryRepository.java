@@ -0,0 +1,277 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointHistoryPipelineProperties;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 포인트 이력 저장을 요청 처리 구간 밖으로 빼내는 비동기 저장소
+ * - 이력은 고정 크기 버퍼(ring buffer)에 쌓이고, 전용 writer 스레드 하나가 들어온 순서대로 저장합니다.
+ *   writer 가 하나이므로 같은 사용자의 이력 순서가 그대로 유지됩니다.
+ * - 버퍼가 가득 차면 저장을 요청한 스레드가 빈 자리가 날 때까지 기다립니다. (backpressure)
+ *   빈 자리는 잠금 밖에서 미리 확보하므로, 기다리는 동안 다른 사용자의 저장과 조회는 막히지 않습니다.
+ * - 저장 대기 중인 이력이 있는 사용자를 조회하면, 조회 시점까지 쌓인 이력이 저장될 때까지 기다린 뒤 조회합니다.
+ *   가상 스레드가 기다리는 동안 캐리어 스레드를 붙잡지 않도록 synchronized/wait 대신 Condition 으로 기다립니다.
+ * - insert / save 는 다른 저장소와 같이 writer 가 저장을 마칠 때까지 기다린 뒤 id 가 매겨진 이력을 돌려주고, 저장 실패는 호출자에게 던집니다.
+ *   응답을 기다리지 않으려는 엔진은 saveAsync 로 넣기만 하고 바로 돌아갑니다.
+ * - writer 는 저장에 실패하면 maxAttempts 번까지 다시 시도합니다. 끝내 저장하지 못한 이력은 point.history.write.failures 로 세고,
+ *   saveAsync 로 넣은 이력이면 호출자가 이미 성공으로 응답했으므로 실패 이벤트를 남기고 기록(journal)을 되돌려(abort)
+ *   재시작할 때 이력 없는 변화량이 잔액에 더해지지 않도록 합니다.
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "point.history-pipeline.enabled", havingValue = "true", matchIfMissing = true)
+public class AsyncPointHistoryRepository implements PointHistoryRepository {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncPointHistoryRepository.class);
+
+    private final PointHistoryRepository store;
+    private final BlockingQueue<PendingHistory> buffer;
+    // 버퍼의 빈 자리 수, 저장하기 전에 잠금 밖에서 확보하고 writer 가 꺼낸 만큼 돌려줍니다.
+    private final Semaphore freeSlots;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final PointMetrics metrics;
+    private final FailedEventRepository failedEventRepository;
+    private final PointJournal journal;
+
+    // 순번 발급과 버퍼 삽입을 묶어 버퍼 안의 순서와 순번 순서가 항상 같도록 합니다. 잠금 안에서는 기다리지 않습니다.
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private long appendedSequence;
+    private volatile long writtenSequence;
+    // 사용자별 저장 대기 중인 이력 수, 0 이 되면 제거합니다.
+    private final ConcurrentHashMap<Long, Integer> pendingCounts = new ConcurrentHashMap<>();
+    private final ReentrantLock writtenLock = new ReentrantLock();
+    private final Condition written = writtenLock.newCondition();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncPointHistoryRepository(PointHistoryRepository store, PointHistoryPipelineProperties properties) {
+        this(store, properties, PointExecutionProperties.platform(), PointMetrics.noop(), new ConcurrentFailedEventRepository(), PointJournal.noop());
+    }
+
+    @Autowired
+    public AsyncPointHistoryRepository(@Qualifier("pointHistoryStore") PointHistoryRepository store, PointHistoryPipelineProperties properties, PointExecutionProperties execution,
+                                       PointMetrics metrics, FailedEventRepository failedEventRepository, PointJournal journal) {
+        this.store = store;
+        this.buffer = new ArrayBlockingQueue<>(properties.bufferSize());
+        this.freeSlots = new Semaphore(properties.bufferSize());
+        this.batchSize = properties.batchSize();
+        this.maxAttempts = Math.max(1, properties.maxAttempts());
+        this.metrics = metrics;
+        this.failedEventRepository = failedEventRepository;
+        this.journal = journal;
+        this.writer = execution.threadFactory("point-history-writer-").newThread(this::writeLoop);
+        this.writer.start();
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return save(new PointHistory(0, userId, amount, type, updateMillis));
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        awaitWritten(userId);
+        return store.selectAllByUserId(userId);
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, PointHistoryCondition condition, int limit) {
+        awaitWritten(userId);
+        return store.selectByUserId(userId, condition, limit);
+    }
+
+    @Override
+    public void forEachByUserId(long userId, Consumer<PointHistory> consumer) {
+        awaitWritten(userId);
+        store.forEachByUserId(userId, consumer);
+    }
+
+    /**
+     * writer 가 저장을 마칠 때까지 기다리고 저장된 이력을 돌려줍니다. 다시 시도해도 저장하지 못하면 그 오류를 던집니다.
+     */
+    @Override
+    public PointHistory save(PointHistory pointHistory) {
+        CompletableFuture<PointHistory> saved = enqueue(pointHistory, false);
+        try {
+            return saved.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : new PointException("이력 저장에 실패했습니다.", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PointException("이력 저장이 중단되었습니다.", ex);
+        }
+    }
+
+    /**
+     * 버퍼에 넣기만 하고 돌아갑니다. 저장하지 못한 이력은 이 저장소가 실패 이벤트와 기록 되돌리기로 처리합니다.
+     */
+    @Override
+    public CompletableFuture<PointHistory> saveAsync(PointHistory pointHistory) {
+        return enqueue(pointHistory, true);
+    }
+
+    private CompletableFuture<PointHistory> enqueue(PointHistory pointHistory, boolean detached) {
+        if (!running) {
+            throw new PointException("이력 저장소가 종료되었습니다.");
+        }
+        try {
+            freeSlots.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PointException("이력 저장이 중단되었습니다.", ex);
+        }
+        PendingHistory pending;
+        appendLock.lock();
+        try {
+            // 빈 자리를 미리 확보했으므로 add 는 기다리지 않고 성공합니다.
+            pendingCounts.merge(pointHistory.userId(), 1, Integer::sum);
+            pending = new PendingHistory(++appendedSequence, pointHistory, detached, new CompletableFuture<>());
+            buffer.add(pending);
+        } finally {
+            appendLock.unlock();
+        }
+        return pending.saved();
+    }
+
+    /**
+     * 해당 사용자의 이력이 저장 대기 중이면, 지금까지 버퍼에 들어온 이력이 모두 저장될 때까지 기다립니다.
+     */
+    private void awaitWritten(long userId) {
+        if (!pendingCounts.containsKey(userId)) {
+            return;
+        }
+        long target;
+        appendLock.lock();
+        try {
+            target = appendedSequence;
+        } finally {
+            appendLock.unlock();
+        }
+        writtenLock.lock();
+        try {
+            while (writtenSequence < target && writer.isAlive()) {
+                written.await(10, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writtenLock.unlock();
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingHistory> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingHistory first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                freeSlots.release(batch.size());
+                write(batch);
+            } catch (InterruptedException ex) {
+                // 종료 요청이면 남은 이력을 마저 저장하고 빠져나갑니다.
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingHistory> batch) {
+        for (PendingHistory pending : batch) {
+            PointHistory history = pending.history();
+            try {
+                pending.saved().complete(saveWithRetry(history));
+            } catch (RuntimeException ex) {
+                fail(pending, ex);
+            }
+            pendingCounts.computeIfPresent(history.userId(), (id, count) -> count == 1 ? null : count - 1);
+        }
+        writtenSequence = batch.get(batch.size() - 1).sequence();
+        writtenLock.lock();
+        try {
+            written.signalAll();
+        } finally {
+            writtenLock.unlock();
+        }
+    }
+
+    private PointHistory saveWithRetry(PointHistory history) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return store.save(history);
+            } catch (RuntimeException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                metrics.countHistoryWriteFailure("retried");
+                logger.warn("포인트 이력 저장 재시도아이디: {}. 시도: {}. 에러: {}", history.userId(), attempt, ex.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10L * attempt));
+            }
+        }
+    }
+
+    /**
+     * 끝내 저장하지 못한 이력을 알립니다. 기다리는 호출자가 없으면 실패 이벤트로 남기고 기록을 되돌립니다.
+     */
+    private void fail(PendingHistory pending, RuntimeException ex) {
+        PointHistory history = pending.history();
+        metrics.countHistoryWriteFailure("failed");
+        logger.error("포인트 이력 저장실패아이디: {}. 포인트: {}. 에러: {}", history.userId(), history.amount(), ex.getMessage());
+        if (pending.detached()) {
+            try {
+                journal.abort(history.userId(), history.amount(), history.type(), history.updateMillis());
+                failedEventRepository.save(new PointFailedEvent(history.userId(), history.userId(), history.type().name(),
+                        Math.abs(history.amount()), "이력 저장실패: " + ex.getMessage(), System.currentTimeMillis()));
+            } catch (RuntimeException reportFailure) {
+                logger.error("포인트 이력 저장실패 기록실패아이디: {}. 에러: {}", history.userId(), reportFailure.getMessage());
+            }
+        }
+        pending.saved().completeExceptionally(ex);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * @param detached saveAsync 로 넣어 저장 결과를 기다리는 호출자가 없는 이력
+     */
+    private record PendingHistory(long sequence, PointHistory history, boolean detached, CompletableFuture<PointHistory> saved) {
+    }
+}
@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PointFailedEventsTable 대신 사용자별 AppendLog 에 실패 이벤트를 쌓는 저장소 (point.failed-event.store=concurrent)
+ * id 는 AtomicLong 으로 매기고 추가는 잠금 없이 하므로, 동시에 저장해도 이벤트가 사라지거나 id 가 겹치지 않습니다.
+ */
+@Repository
+@Qualifier("failedEventStore")
+@ConditionalOnProperty(name = "point.failed-event.store", havingValue = "concurrent")
+public class ConcurrentFailedEventRepository implements FailedEventRepository {
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final StripedLongMap<AppendLog<PointFailedEvent>> events;
+    private final PointMetrics metrics;
+
+    public ConcurrentFailedEventRepository() {
+        this(DEFAULT_STRIPES, PointMetrics.noop());
+    }
+
+    @Autowired
+    public ConcurrentFailedEventRepository(PointMetrics metrics) {
+        this(DEFAULT_STRIPES, metrics);
+    }
+
+    ConcurrentFailedEventRepository(int stripes, PointMetrics metrics) {
+        this.events = new StripedLongMap<>(stripes);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public PointFailedEvent save(PointFailedEvent event) {
+        metrics.countFailedEvent(event.getOperation());
+        PointFailedEvent saved = new PointFailedEvent(sequence.incrementAndGet(), event.getUserId(), event.getOperation(),
+                event.getAmount(), event.getErrorMessage(), event.getTimestamp());
+        events.computeIfAbsent(saved.getUserId(), key -> new AppendLog<>()).append(saved);
+        return saved;
+    }
+
+    @Override
+    public List<PointFailedEvent> findAllByUserId(long userId) {
+        AppendLog<PointFailedEvent> log = events.get(userId);
+        if (log == null) {
+            return List.of();
+        }
+        List<PointFailedEvent> result = new ArrayList<>(log.claimed());
+        log.forEach(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * PointHistoryTable 대신 사용자별 AppendLog 에 이력을 쌓는 이력 저장소 (point.history.store=concurrent)
+ * - PointHistoryTable 은 ArrayList 와 cursor++ 를 잠금 없이 써서 동시에 추가하면 이력이 사라지거나 id 가 겹칠 수 있습니다.
+ *   id 는 AtomicLong 으로 매기고, 행은 AppendLog 에 추가합니다.
+ * - 사용자별 로그는 StripedLongMap 에서 찾으므로 처음 추가하는 사용자만 stripe 잠금을 잡습니다.
+ * - id 발급과 추가는 사용자 로그 단위로 묶어 사용자 안의 순서가 항상 id 오름차순이 되게 합니다.
+ *   CAS 엔진처럼 한 사용자의 이력이 동시에 들어와도 뒤에 추가된 행이 더 작은 id 를 갖지 않으므로, cursor 조회가 행을 건너뛰지 않습니다.
+ *   묶는 범위는 같은 사용자끼리뿐이고, 조회는 잠금 없이 다 쓰인 앞부분만 읽습니다.
+ */
+@Repository
+@Qualifier("pointHistoryStore")
+@ConditionalOnProperty(name = "point.history.store", havingValue = "concurrent")
+public class ConcurrentPointHistoryRepository implements PointHistoryRepository {
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final StripedLongMap<AppendLog<PointHistory>> histories;
+
+    public ConcurrentPointHistoryRepository() {
+        this(DEFAULT_STRIPES, PointMetrics.noop());
+    }
+
+    @Autowired
+    public ConcurrentPointHistoryRepository(PointMetrics metrics) {
+        this(DEFAULT_STRIPES, metrics);
+    }
+
+    ConcurrentPointHistoryRepository(int stripes, PointMetrics metrics) {
+        this.histories = new StripedLongMap<>(stripes);
+        metrics.gauge("point.history.concurrent.rows", sequence, AtomicLong::get);
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        AppendLog<PointHistory> log = histories.computeIfAbsent(userId, key -> new AppendLog<>());
+        synchronized (log) {
+            PointHistory history = new PointHistory(sequence.incrementAndGet(), userId, amount, type, updateMillis);
+            log.append(history);
+            return history;
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        AppendLog<PointHistory> log = histories.get(userId);
+        if (log == null) {
+            return List.of();
+        }
+        List<PointHistory> result = new ArrayList<>(log.claimed());
+        log.forEach(result::add);
+        return result;
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, PointHistoryCondition condition, int limit) {
+        AppendLog<PointHistory> log = histories.get(userId);
+        if (log == null || limit <= 0) {
+            return List.of();
+        }
+        List<PointHistory> result = new ArrayList<>(Math.min(limit, log.claimed()));
+        log.forEachWhile(history -> {
+            if (condition.matches(history)) {
+                result.add(history);
+            }
+            return result.size() < limit;
+        });
+        return result;
+    }
+
+    @Override
+    public void forEachByUserId(long userId, Consumer<PointHistory> consumer) {
+        AppendLog<PointHistory> log = histories.get(userId);
+        if (log != null) {
+            log.forEach(consumer);
+        }
+    }
+
+    @Override
+    public PointHistory save(PointHistory pointHistory) {
+        return insert(pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+    }
+}
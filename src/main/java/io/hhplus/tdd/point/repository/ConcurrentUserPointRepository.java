@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.UserPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * UserPointTable 대신 StripedLongMap 에 잔액을 저장하는 잔액 저장소 (point.user-point.store=concurrent)
+ * - UserPointTable 의 HashMap 은 동시에 쓰면 값이 사라질 수 있어, 서로 다른 사용자의 요청이 동시에 들어와도 안전한 맵을 씁니다.
+ * - 조회는 잠금 없이, 저장은 사용자 키가 속한 stripe 하나만 잠그므로 다른 사용자의 저장을 기다리지 않습니다.
+ * - 저장한 적 없는 사용자는 Table 과 같이 0 포인트로 조회됩니다.
+ */
+@Repository
+@Qualifier("userPointStore")
+@ConditionalOnProperty(name = "point.user-point.store", havingValue = "concurrent")
+public class ConcurrentUserPointRepository implements UserPointRepository {
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final StripedLongMap<UserPoint> points;
+
+    public ConcurrentUserPointRepository() {
+        this(DEFAULT_STRIPES, PointMetrics.noop());
+    }
+
+    @Autowired
+    public ConcurrentUserPointRepository(PointMetrics metrics) {
+        this(DEFAULT_STRIPES, metrics);
+    }
+
+    ConcurrentUserPointRepository(int stripes, PointMetrics metrics) {
+        this.points = new StripedLongMap<>(stripes);
+        metrics.gauge("point.user-point.concurrent.users", points, StripedLongMap::size);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        UserPoint userPoint = points.get(id);
+        return userPoint != null ? userPoint : UserPoint.empty(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        points.put(id, userPoint);
+        return userPoint;
+    }
+
+    @Override
+    public UserPoint save(UserPoint userPoint) {
+        return insertOrUpdate(userPoint.id(), userPoint.point());
+    }
+}
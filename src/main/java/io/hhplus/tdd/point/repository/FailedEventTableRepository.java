@@ -1,29 +1,58 @@
 package io.hhplus.tdd.point.repository;
 
 import io.hhplus.tdd.database.PointFailedEventsTable;
+import io.hhplus.tdd.point.metrics.PointMetrics;
 import io.hhplus.tdd.point.model.PointFailedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * PointFailedEventsTable 만 사용하는 실패 이벤트 저장소 (point.failed-event.store=table)
+ * PointFailedEventsTable 은 스레드 안전하지 않으므로 추가와 조회를 잠금 하나로 묶어 한 번에 하나씩 합니다.
+ * 비동기 저장의 writer 를 늘리거나 비동기 저장을 꺼서 여러 워커가 직접 저장해도 id 가 겹치거나 행이 사라지지 않습니다.
+ */
 @Repository
+@Qualifier("failedEventStore")
+@ConditionalOnProperty(name = "point.failed-event.store", havingValue = "table", matchIfMissing = true)
 public class FailedEventTableRepository implements FailedEventRepository {
 
     private final PointFailedEventsTable failedEventsTable;
+    private final PointMetrics metrics;
+    private final ReentrantLock tableLock = new ReentrantLock();
 
-    @Autowired
     public FailedEventTableRepository(PointFailedEventsTable failedEventsTable) {
+        this(failedEventsTable, PointMetrics.noop());
+    }
+
+    @Autowired
+    public FailedEventTableRepository(PointFailedEventsTable failedEventsTable, PointMetrics metrics) {
         this.failedEventsTable = failedEventsTable;
+        this.metrics = metrics;
     }
 
     @Override
     public PointFailedEvent save(PointFailedEvent event) {
-        return failedEventsTable.insert(event.getUserId(), event.getOperation(), event.getAmount(), event.getErrorMessage(), event.getTimestamp());
+        metrics.countFailedEvent(event.getOperation());
+        tableLock.lock();
+        try {
+            return metrics.timeTable("point_failed_events", "insert", () -> failedEventsTable.insert(event.getUserId(), event.getOperation(), event.getAmount(), event.getErrorMessage(), event.getTimestamp()));
+        } finally {
+            tableLock.unlock();
+        }
     }
 
     @Override
     public List<PointFailedEvent> findAllByUserId(long userId) {
-        return failedEventsTable.selectAllByUserId(userId);
+        tableLock.lock();
+        try {
+            return failedEventsTable.selectAllByUserId(userId);
+        } finally {
+            tableLock.unlock();
+        }
     }
 }
@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * PointHistoryTable 에 저장하면서 사용자별 색인을 함께 쌓아두는 이력 저장소
+ * PointHistoryTable.selectAllByUserId 는 전체 이력을 훑기 때문에, 조회는 Table 대신 사용자별 색인에서 처리합니다.
+ * 조회 비용은 전체 이력 수가 아니라 해당 사용자의 이력 수에 비례합니다.
+ * PointHistoryTable.insert 는 스레드 안전하지 않으므로, Table 추가와 색인 추가를 잠금 하나로 묶어 한 번에 하나씩 합니다.
+ * 그래서 비동기 저장(point.history-pipeline)을 끄거나 여러 스레드가 직접 저장해도 id 가 겹치거나 행이 사라지지 않고,
+ * 색인 안의 행은 항상 id 순서입니다. 조회는 잠금 없이 색인만 읽습니다.
+ */
+@Repository
+@Qualifier("pointHistoryStore")
+@ConditionalOnProperty(name = "point.history.store", havingValue = "indexed", matchIfMissing = true)
+public class IndexedPointHistoryRepository implements PointHistoryRepository {
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointMetrics metrics;
+    private final ConcurrentHashMap<Long, UserHistoryIndex> indexes = new ConcurrentHashMap<>();
+    private final ReentrantLock insertLock = new ReentrantLock();
+
+    public IndexedPointHistoryRepository(PointHistoryTable pointHistoryTable) {
+        this(pointHistoryTable, PointMetrics.noop());
+    }
+
+    @Autowired
+    public IndexedPointHistoryRepository(PointHistoryTable pointHistoryTable, PointMetrics metrics) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        insertLock.lock();
+        try {
+            PointHistory inserted = metrics.timeTable("point_history", "insert", () -> pointHistoryTable.insert(userId, amount, type, updateMillis));
+            indexes.computeIfAbsent(userId, UserHistoryIndex::new).append(inserted);
+            return inserted;
+        } finally {
+            insertLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserHistoryIndex index = indexes.get(userId);
+        if (index == null) {
+            return List.of();
+        }
+        int size = index.size();
+        List<PointHistory> histories = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            histories.add(index.get(row));
+        }
+        return histories;
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, PointHistoryCondition condition, int limit) {
+        UserHistoryIndex index = indexes.get(userId);
+        if (index == null) {
+            return List.of();
+        }
+        // cursor 다음 행부터 조건에 맞는 행만 PointHistory 로 만들고, limit 개를 채우면 바로 멈춥니다.
+        int size = index.size();
+        int first = condition.cursor() == null ? 0 : index.firstRowAfter(condition.cursor(), size);
+        List<PointHistory> histories = new ArrayList<>(Math.min(limit, size - first));
+        for (int row = first; row < size && histories.size() < limit; row++) {
+            if (condition.matches(index.id(row), index.type(row), index.updateMillis(row))) {
+                histories.add(index.get(row));
+            }
+        }
+        return histories;
+    }
+
+    @Override
+    public void forEachByUserId(long userId, Consumer<PointHistory> consumer) {
+        UserHistoryIndex index = indexes.get(userId);
+        if (index == null) {
+            return;
+        }
+        // 호출 시점의 크기까지만 넘겨주므로 그 사이 추가되는 이력은 다음 조회에서 보입니다.
+        int size = index.size();
+        for (int row = 0; row < size; row++) {
+            consumer.accept(index.get(row));
+        }
+    }
+
+    @Override
+    public PointHistory save(PointHistory pointHistory) {
+        return insert(pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+    }
+}
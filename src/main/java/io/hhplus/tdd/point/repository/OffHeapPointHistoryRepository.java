@@ -0,0 +1,217 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 힙 밖(direct buffer)의 고정 폭 컬럼에 이력을 저장하는 이력 저장소 (point.history.store=offheap)
+ * - 컬럼은 userId(8), amount(8), updateMillis(8), type(1), 같은 사용자의 다음 행 번호(4) 로 행 하나에 29바이트입니다.
+ *   id 는 행 번호 + 1 이므로 따로 저장하지 않습니다.
+ * - 컬럼마다 chunkRows(기본 65536) 행 단위의 direct buffer 를 필요할 때 하나씩 늘려가므로, 이력이 수천만 건이어도 힙에는 사용자별 정보만 남습니다.
+ *   direct buffer 는 -XX:MaxDirectMemorySize (기본값은 최대 힙 크기) 안에서 할당됩니다.
+ * - 같은 사용자의 행은 다음 행 번호 컬럼으로 이어져 있어, 조회 비용은 해당 사용자의 이력 수에 비례합니다.
+ * - PointHistory 는 조회 결과로 돌려줄 때만 만들고, 조건 검사는 컬럼 값으로 합니다.
+ * - 추가는 잠금 하나로 순서대로 하고, 조회는 잠금 없이 사용자별 volatile count 까지만 읽습니다.
+ *   행을 다 쓴 뒤 count 를 늘리므로 조회 쪽에서 덜 쓰인 행을 보지 않습니다.
+ *   (count 번째 행 다음의 행 번호는 아직 쓰이지 않았을 수 있지만 읽기만 하고 쓰지 않습니다.)
+ */
+@Repository
+@Qualifier("pointHistoryStore")
+@ConditionalOnProperty(name = "point.history.store", havingValue = "offheap")
+public class OffHeapPointHistoryRepository implements PointHistoryRepository {
+    static final int ROW_BYTES = Long.BYTES * 3 + Byte.BYTES + Integer.BYTES;
+    private static final int DEFAULT_CHUNK_ROWS = 1 << 16;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final int chunkRows;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ConcurrentHashMap<Long, UserRows> users = new ConcurrentHashMap<>();
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int rows;
+
+    public OffHeapPointHistoryRepository() {
+        this(DEFAULT_CHUNK_ROWS, PointMetrics.noop());
+    }
+
+    @Autowired
+    public OffHeapPointHistoryRepository(PointMetrics metrics) {
+        this(DEFAULT_CHUNK_ROWS, metrics);
+    }
+
+    OffHeapPointHistoryRepository(int chunkRows, PointMetrics metrics) {
+        this.chunkRows = chunkRows;
+        metrics.gauge("point.history.offheap.rows", this, OffHeapPointHistoryRepository::size);
+        metrics.gauge("point.history.offheap.bytes", this, OffHeapPointHistoryRepository::allocatedBytes);
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        int row;
+        appendLock.lock();
+        try {
+            row = rows;
+            if (row == Integer.MAX_VALUE) {
+                throw new IllegalStateException("이력 저장소가 가득 찼습니다.");
+            }
+            Chunk chunk = chunkForAppend(row);
+            int index = row % chunkRows;
+            chunk.userIds.putLong(index * Long.BYTES, userId);
+            chunk.amounts.putLong(index * Long.BYTES, amount);
+            chunk.updateMillis.putLong(index * Long.BYTES, updateMillis);
+            chunk.types.put(index, (byte) type.ordinal());
+
+            UserRows userRows = users.get(userId);
+            if (userRows == null) {
+                users.put(userId, new UserRows(row));
+            } else {
+                // 이전 마지막 행에서 새 행으로 잇고 나서 count 를 늘립니다.
+                Chunk last = chunks[userRows.last / chunkRows];
+                last.nextRows.putInt((userRows.last % chunkRows) * Integer.BYTES, row);
+                userRows.last = row;
+                userRows.count = userRows.count + 1;
+            }
+            rows = row + 1;
+        } finally {
+            appendLock.unlock();
+        }
+        return new PointHistory(row + 1L, userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserRows userRows = users.get(userId);
+        if (userRows == null) {
+            return List.of();
+        }
+        int count = userRows.count;
+        List<PointHistory> histories = new ArrayList<>(count);
+        int row = userRows.first;
+        for (int i = 0; i < count; i++) {
+            histories.add(history(userId, row));
+            row = nextRow(row);
+        }
+        return histories;
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, PointHistoryCondition condition, int limit) {
+        UserRows userRows = users.get(userId);
+        if (userRows == null) {
+            return List.of();
+        }
+        int count = userRows.count;
+        List<PointHistory> histories = new ArrayList<>(Math.min(limit, count));
+        int row = userRows.first;
+        for (int i = 0; i < count && histories.size() < limit; i++) {
+            Chunk chunk = chunks[row / chunkRows];
+            int index = row % chunkRows;
+            if (condition.matches(row + 1L, TYPES[chunk.types.get(index)], chunk.updateMillis.getLong(index * Long.BYTES))) {
+                histories.add(history(userId, row));
+            }
+            row = nextRow(row);
+        }
+        return histories;
+    }
+
+    @Override
+    public void forEachByUserId(long userId, Consumer<PointHistory> consumer) {
+        UserRows userRows = users.get(userId);
+        if (userRows == null) {
+            return;
+        }
+        // 호출 시점의 count 까지만 넘겨주므로 그 사이 추가되는 이력은 다음 조회에서 보입니다.
+        int count = userRows.count;
+        int row = userRows.first;
+        for (int i = 0; i < count; i++) {
+            consumer.accept(history(userId, row));
+            row = nextRow(row);
+        }
+    }
+
+    @Override
+    public PointHistory save(PointHistory pointHistory) {
+        return insert(pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * 지금까지 할당한 direct buffer 크기 (바이트)
+     */
+    public long allocatedBytes() {
+        return (long) chunks.length * chunkRows * ROW_BYTES;
+    }
+
+    private PointHistory history(long userId, int row) {
+        Chunk chunk = chunks[row / chunkRows];
+        int index = row % chunkRows;
+        return new PointHistory(row + 1L, userId, chunk.amounts.getLong(index * Long.BYTES), TYPES[chunk.types.get(index)],
+                chunk.updateMillis.getLong(index * Long.BYTES));
+    }
+
+    private int nextRow(int row) {
+        return chunks[row / chunkRows].nextRows.getInt((row % chunkRows) * Integer.BYTES);
+    }
+
+    /**
+     * 행이 들어갈 chunk 를 반환하고, 없으면 새로 할당합니다. appendLock 안에서만 호출됩니다.
+     */
+    private Chunk chunkForAppend(int row) {
+        int chunkIndex = row / chunkRows;
+        Chunk[] current = chunks;
+        if (chunkIndex == current.length) {
+            Chunk[] grown = new Chunk[current.length + 1];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            grown[chunkIndex] = new Chunk(chunkRows);
+            chunks = grown;
+            return grown[chunkIndex];
+        }
+        return current[chunkIndex];
+    }
+
+    private static final class Chunk {
+        private final ByteBuffer userIds;
+        private final ByteBuffer amounts;
+        private final ByteBuffer updateMillis;
+        private final ByteBuffer types;
+        private final ByteBuffer nextRows;
+
+        private Chunk(int rows) {
+            this.userIds = ByteBuffer.allocateDirect(rows * Long.BYTES);
+            this.amounts = ByteBuffer.allocateDirect(rows * Long.BYTES);
+            this.updateMillis = ByteBuffer.allocateDirect(rows * Long.BYTES);
+            this.types = ByteBuffer.allocateDirect(rows);
+            this.nextRows = ByteBuffer.allocateDirect(rows * Integer.BYTES);
+        }
+    }
+
+    /**
+     * 한 사용자의 첫 행과 마지막 행, 행 수
+     * first 는 바뀌지 않고, last 는 appendLock 안에서만 읽고 씁니다.
+     */
+    private static final class UserRows {
+        private final int first;
+        private int last;
+        private volatile int count = 1;
+
+        private UserRows(int first) {
+            this.first = first;
+            this.last = first;
+        }
+    }
+}
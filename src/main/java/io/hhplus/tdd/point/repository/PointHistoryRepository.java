@@ -2,12 +2,43 @@ package io.hhplus.tdd.point.repository;
 
 
 import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
 import io.hhplus.tdd.point.model.TransactionType;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface PointHistoryRepository {
     PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
     List<PointHistory> selectAllByUserId(long userId);
 
     PointHistory save(PointHistory pointHistory);
-}
\ No newline at end of file
+
+    /**
+     * 저장을 맡기고, 저장이 끝나면 id 가 매겨진 이력으로 완료되는 Future 를 돌려줍니다.
+     * 기본 구현은 바로 저장하므로 저장 실패를 이 메서드에서 바로 던집니다.
+     * 비동기 저장소는 버퍼에 넣기만 하고 돌아가며, 끝내 저장하지 못한 이력은 저장소가 직접 실패 이벤트로 남깁니다.
+     */
+    default CompletableFuture<PointHistory> saveAsync(PointHistory pointHistory) {
+        return CompletableFuture.completedFuture(save(pointHistory));
+    }
+
+    /**
+     * 조건에 맞는 이력을 id 오름차순으로 최대 limit 개 조회합니다.
+     * 기본 구현은 전체 이력을 가져와 거르므로, 색인을 가진 저장소는 전체 목록을 만들지 않도록 재정의합니다.
+     */
+    default List<PointHistory> selectByUserId(long userId, PointHistoryCondition condition, int limit) {
+        return selectAllByUserId(userId).stream()
+                .filter(condition::matches)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 사용자의 이력을 id 오름차순으로 하나씩 넘겨줍니다.
+     * 기본 구현은 전체 목록을 만든 뒤 넘기므로, 색인을 가진 저장소는 목록 없이 바로 넘기도록 재정의합니다.
+     */
+    default void forEachByUserId(long userId, Consumer<PointHistory> consumer) {
+        selectAllByUserId(userId).forEach(consumer);
+    }
+}
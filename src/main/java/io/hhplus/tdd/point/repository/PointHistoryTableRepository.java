@@ -1,35 +1,63 @@
 package io.hhplus.tdd.point.repository;
 
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.metrics.PointMetrics;
 import io.hhplus.tdd.point.model.PointHistory;
 import io.hhplus.tdd.point.model.TransactionType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * PointHistoryTable 만 사용하는 이력 저장소 (point.history.store=table)
+ * PointHistoryTable 은 스레드 안전하지 않으므로 추가와 조회를 잠금 하나로 묶어 한 번에 하나씩 합니다.
+ * 비동기 저장(point.history-pipeline)을 끄거나 이벤트 소싱 엔진처럼 여러 워커가 직접 저장해도 id 가 겹치거나 행이 사라지지 않습니다.
+ */
 @Repository
+@Qualifier("pointHistoryStore")
+@ConditionalOnProperty(name = "point.history.store", havingValue = "table")
 public class PointHistoryTableRepository implements PointHistoryRepository {
 
     private final PointHistoryTable pointHistoryTable;
+    private final PointMetrics metrics;
+    private final ReentrantLock tableLock = new ReentrantLock();
 
-    @Autowired
     public PointHistoryTableRepository(PointHistoryTable pointHistoryTable) {
+        this(pointHistoryTable, PointMetrics.noop());
+    }
+
+    @Autowired
+    public PointHistoryTableRepository(PointHistoryTable pointHistoryTable, PointMetrics metrics) {
         this.pointHistoryTable = pointHistoryTable;
+        this.metrics = metrics;
     }
 
     @Override
     public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
-        return pointHistoryTable.insert(userId, amount, type, updateMillis);
+        tableLock.lock();
+        try {
+            return metrics.timeTable("point_history", "insert", () -> pointHistoryTable.insert(userId, amount, type, updateMillis));
+        } finally {
+            tableLock.unlock();
+        }
     }
 
     @Override
     public List<PointHistory> selectAllByUserId(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        tableLock.lock();
+        try {
+            return metrics.timeTable("point_history", "select", () -> pointHistoryTable.selectAllByUserId(userId));
+        } finally {
+            tableLock.unlock();
+        }
     }
 
     @Override
     public PointHistory save(PointHistory pointHistory) {
-        return pointHistoryTable.insert(pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+        return insert(pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
     }
 }
\ No newline at end of file
@@ -0,0 +1,228 @@
+package io.hhplus.tdd.point.repository;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+
+/**
+ * long 키를 박싱하지 않는 줄무늬(striped) 해시 맵
+ * - 키의 해시로 stripe 를 고르고, stripe 마다 long[] 키 배열과 값 배열의 선형 탐사 테이블을 둡니다.
+ *   서로 다른 stripe 의 쓰기는 서로 기다리지 않습니다.
+ * - 쓰기는 stripe 의 쓰기 잠금 안에서 하고, 읽기는 StampedLock 의 낙관적 읽기로 잠금 없이 한 뒤
+ *   그 사이 쓰기가 있었으면 읽기 잠금으로 다시 읽습니다.
+ * - 삭제는 없고, 값은 null 이 아니어야 합니다. (값 칸이 null 이면 빈 칸입니다)
+ * - ConcurrentHashMap&lt;Long, V&gt; 와 달리 조회와 갱신에서 Long 과 Node 를 만들지 않으므로, 요청마다 사용자 아이디로 찾는 곳에 씁니다.
+ */
+public final class StripedLongMap<V> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Stripe<V>[] stripes;
+    private final int stripeMask;
+
+    @SuppressWarnings("unchecked")
+    public StripedLongMap(int stripeCount) {
+        int count = 1;
+        while (count < stripeCount) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        this.stripeMask = count - 1;
+    }
+
+    public V get(long key) {
+        long hash = mix(key);
+        return stripes[(int) hash & stripeMask].get(key, (int) (hash >>> 32));
+    }
+
+    /**
+     * @return 이전 값, 없었으면 null
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("값은 null 일 수 없습니다.");
+        }
+        long hash = mix(key);
+        return stripes[(int) hash & stripeMask].put(key, (int) (hash >>> 32), value);
+    }
+
+    /**
+     * 값이 없을 때만 넣습니다. 이미 있으면 잠금 없이 확인하고 넣지 않습니다.
+     * 값을 만드는 데 오래 걸리면(저장소 조회 등) 잠금 밖에서 만든 뒤 이 메서드로 넣어, 같은 stripe 의 다른 키를 막지 않습니다.
+     * @return 이미 있던 값, 없어서 넣었으면 null
+     */
+    public V putIfAbsent(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("값은 null 일 수 없습니다.");
+        }
+        long hash = mix(key);
+        Stripe<V> stripe = stripes[(int) hash & stripeMask];
+        V existing = stripe.get(key, (int) (hash >>> 32));
+        if (existing != null) {
+            return existing;
+        }
+        V current = stripe.putIfAbsent(key, (int) (hash >>> 32), ignored -> value);
+        return current == value ? null : current;
+    }
+
+    /**
+     * 값이 없을 때만 stripe 의 쓰기 잠금 안에서 만들어 넣습니다. 이미 있으면 잠금 없이 돌려줍니다.
+     * factory 가 null 을 돌려주면 넣지 않고 null 을 돌려줍니다.
+     */
+    public V computeIfAbsent(long key, LongFunction<V> factory) {
+        long hash = mix(key);
+        Stripe<V> stripe = stripes[(int) hash & stripeMask];
+        V value = stripe.get(key, (int) (hash >>> 32));
+        return value != null ? value : stripe.putIfAbsent(key, (int) (hash >>> 32), factory);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Stripe<V> stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    /**
+     * 연속된 userId 가 한 stripe 와 인접 칸에 몰리지 않도록 섞습니다. (splitmix64)
+     */
+    private static long mix(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Stripe<V> {
+        private final StampedLock lock = new StampedLock();
+        private volatile Slots<V> slots = new Slots<>(INITIAL_CAPACITY);
+        private volatile int size;
+
+        V get(long key, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                V value = slots.find(key, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return slots.find(key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        V put(long key, int hash, V value) {
+            long stamp = lock.writeLock();
+            try {
+                Slots<V> current = slots;
+                int index = current.indexOf(key, hash);
+                V previous = current.values[index];
+                if (previous != null) {
+                    current.values[index] = value;
+                    return previous;
+                }
+                insert(current, index, key, hash, value);
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        V putIfAbsent(long key, int hash, LongFunction<V> factory) {
+            long stamp = lock.writeLock();
+            try {
+                Slots<V> current = slots;
+                int index = current.indexOf(key, hash);
+                V existing = current.values[index];
+                if (existing != null) {
+                    return existing;
+                }
+                V value = factory.apply(key);
+                if (value == null) {
+                    return null;
+                }
+                insert(current, index, key, hash, value);
+                return value;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * 빈 칸 index 에 넣습니다. 쓰기 잠금 안에서만 호출됩니다.
+         */
+        private void insert(Slots<V> current, int index, long key, int hash, V value) {
+            // 채움률이 1/2 을 넘기 전에 두 배로 늘립니다.
+            if ((size + 1) * 2 > current.keys.length) {
+                current = current.grow();
+                slots = current;
+                index = current.indexOf(key, hash);
+            }
+            current.keys[index] = key;
+            current.values[index] = value;
+            size = size + 1;
+        }
+    }
+
+    /**
+     * 한 stripe 의 선형 탐사 테이블. 늘릴 때는 새 Slots 를 만들어 통째로 바꿉니다.
+     */
+    private static final class Slots<V> {
+        private final long[] keys;
+        private final V[] values;
+        private final int mask;
+
+        @SuppressWarnings("unchecked")
+        private Slots(int capacity) {
+            this.keys = new long[capacity];
+            this.values = (V[]) new Object[capacity];
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * 낙관적 읽기 중에는 쓰기와 겹칠 수 있으므로 최대 capacity 칸까지만 탐사합니다.
+         */
+        private V find(long key, int hash) {
+            int index = hash & mask;
+            for (int probe = 0; probe <= mask; probe++) {
+                V value = values[index];
+                if (value == null) {
+                    return null;
+                }
+                if (keys[index] == key) {
+                    return value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * 키가 있는 칸, 없으면 들어갈 빈 칸. 쓰기 잠금 안에서만 호출되며 채움률이 1/2 이하라 빈 칸이 항상 있습니다.
+         */
+        private int indexOf(long key, int hash) {
+            int index = hash & mask;
+            while (values[index] != null && keys[index] != key) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+
+        private Slots<V> grow() {
+            Slots<V> grown = new Slots<>(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                if (values[i] != null) {
+                    int index = grown.indexOf(keys[i], (int) (mix(keys[i]) >>> 32));
+                    grown.keys[index] = keys[i];
+                    grown.values[index] = values[i];
+                }
+            }
+            return grown;
+        }
+    }
+}
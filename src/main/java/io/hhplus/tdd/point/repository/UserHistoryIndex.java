@@ -0,0 +1,93 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+
+/**
+ * 한 사용자의 포인트 이력을 long 배열 묶음(chunk)에 순서대로 쌓아두는 추가 전용 색인
+ * - 한 행은 id, amount, type, updateMillis 네 개의 long 으로 저장하고, PointHistory 는 조회할 때만 만듭니다.
+ * - 추가는 사용자 단위로 동기화하고, 조회는 잠금 없이 volatile size 까지만 읽습니다.
+ *   chunk 에 값을 다 쓴 뒤 size 를 늘리므로 조회 쪽에서 덜 쓰인 행을 보지 않습니다.
+ */
+final class UserHistoryIndex {
+    private static final int COLUMNS = 4;
+    private static final int CHUNK_ROWS = 256;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final long userId;
+    private volatile long[][] chunks = new long[1][];
+    private volatile int size;
+
+    UserHistoryIndex(long userId) {
+        this.userId = userId;
+    }
+
+    synchronized void append(PointHistory history) {
+        int row = size;
+        int chunkIndex = row / CHUNK_ROWS;
+        long[][] current = chunks;
+        if (chunkIndex == current.length) {
+            long[][] grown = new long[current.length * 2][];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            current = grown;
+        }
+        if (current[chunkIndex] == null) {
+            current[chunkIndex] = new long[CHUNK_ROWS * COLUMNS];
+        }
+        chunks = current;
+
+        long[] chunk = current[chunkIndex];
+        int offset = (row % CHUNK_ROWS) * COLUMNS;
+        chunk[offset] = history.id();
+        chunk[offset + 1] = history.amount();
+        chunk[offset + 2] = history.type().ordinal();
+        chunk[offset + 3] = history.updateMillis();
+        size = row + 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long id(int row) {
+        return column(row, 0);
+    }
+
+    long amount(int row) {
+        return column(row, 1);
+    }
+
+    TransactionType type(int row) {
+        return TYPES[(int) column(row, 2)];
+    }
+
+    long updateMillis(int row) {
+        return column(row, 3);
+    }
+
+    /**
+     * 앞에서부터 size 개의 행 중 id 가 주어진 id 보다 큰 첫 행을 이진 탐색으로 찾습니다. 없으면 size 를 돌려줍니다.
+     * 행은 id 오름차순으로 추가되므로 cursor 조회가 앞 페이지의 행을 다시 훑지 않습니다.
+     */
+    int firstRowAfter(long id, int size) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (id(mid) <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    PointHistory get(int row) {
+        return new PointHistory(id(row), userId, amount(row), type(row), updateMillis(row));
+    }
+
+    private long column(int row, int column) {
+        return chunks[row / CHUNK_ROWS][(row % CHUNK_ROWS) * COLUMNS + column];
+    }
+}
@@ -3,7 +3,8 @@ package io.hhplus.tdd.point.repository;
 import io.hhplus.tdd.point.model.UserPoint;
 
 public interface UserPointRepository {
-    UserPoint selectById(Long id);
+    // userId 를 long 으로 받아 조회마다 Long 을 만들지 않습니다.
+    UserPoint selectById(long id);
     UserPoint insertOrUpdate(long id, long amount);
 
     UserPoint save(UserPoint userPoint);
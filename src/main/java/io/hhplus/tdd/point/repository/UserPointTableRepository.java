@@ -1,32 +1,43 @@
 package io.hhplus.tdd.point.repository;
 
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.metrics.PointMetrics;
 import io.hhplus.tdd.point.model.UserPoint;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 @Repository
+@Qualifier("userPointStore")
+@ConditionalOnProperty(name = "point.user-point.store", havingValue = "table", matchIfMissing = true)
 public class UserPointTableRepository implements UserPointRepository {
 
     private final UserPointTable userPointTable;
+    private final PointMetrics metrics;
 
-    @Autowired
     public UserPointTableRepository(UserPointTable userPointTable) {
+        this(userPointTable, PointMetrics.noop());
+    }
+
+    @Autowired
+    public UserPointTableRepository(UserPointTable userPointTable, PointMetrics metrics) {
         this.userPointTable = userPointTable;
+        this.metrics = metrics;
     }
 
     @Override
-    public UserPoint selectById(Long id) {
-        return userPointTable.selectById(id);
+    public UserPoint selectById(long id) {
+        return metrics.timeTable("user_point", "select", () -> userPointTable.selectById(id));
     }
 
     @Override
     public UserPoint insertOrUpdate(long id, long amount) {
-        return userPointTable.insertOrUpdate(id, amount);
+        return metrics.timeTable("user_point", "update", () -> userPointTable.insertOrUpdate(id, amount));
     }
 
     @Override
     public UserPoint save(UserPoint userPoint) {
-        return userPointTable.insertOrUpdate(userPoint.id(), userPoint.point());
+        return insertOrUpdate(userPoint.id(), userPoint.point());
     }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.UserPointCacheProperties;
+import io.hhplus.tdd.point.model.UserPoint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * UserPointTable 앞에 두는 write-behind 캐시
+ * - 잔액의 기준값은 메모리에 있고, 조회는 Table 의 지연 없이 메모리에서 바로 응답합니다.
+ * - 쓰기는 메모리에 즉시 반영되어 바로 다음 조회에서 보입니다. (read-your-writes)
+ * - 변경된 사용자만 주기적으로 Table 에 내려쓰며, 그 사이 여러 번 바뀐 잔액은 마지막 값 한 번만 씁니다.
+ * - 애플리케이션 종료 시 남은 변경분을 모두 내려씁니다.
+ * - 캐시는 userId 를 박싱하지 않는 StripedLongMap 이라 조회와 쓰기에서 Long 을 만들지 않습니다.
+ *   변경된 사용자는 깨끗한 상태에서 처음 바뀔 때만 대기열에 넣으므로, flush 사이의 반복 쓰기는 할당이 UserPoint 하나뿐입니다.
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "point.user-point-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class WriteBehindUserPointRepository implements UserPointRepository {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindUserPointRepository.class);
+
+    private static final int CACHE_STRIPES = 64;
+
+    private final UserPointRepository store;
+    private final StripedLongMap<Entry> cache = new StripedLongMap<>(CACHE_STRIPES);
+    // 아직 Table 에 내려쓰지 않은 사용자
+    private final ConcurrentLinkedQueue<Entry> dirtyEntries = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService flusher;
+
+    public WriteBehindUserPointRepository(UserPointRepository store, UserPointCacheProperties properties) {
+        this(store, properties, PointExecutionProperties.platform());
+    }
+
+    @Autowired
+    public WriteBehindUserPointRepository(@Qualifier("userPointStore") UserPointRepository store, UserPointCacheProperties properties, PointExecutionProperties execution) {
+        this.store = store;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(execution.threadFactory("user-point-flusher-"));
+        long interval = properties.flushIntervalMillis();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        Entry cached = cache.get(id);
+        if (cached != null) {
+            return cached.value;
+        }
+        // 처음 조회하는 사용자만 Table 에서 읽어오고, 그 사이 쓰기가 있었다면 쓰기 값을 우선합니다.
+        UserPoint loaded = store.selectById(id);
+        if (loaded == null) {
+            return null;
+        }
+        return cache.computeIfAbsent(id, key -> new Entry(key, loaded)).value;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        Entry entry = cache.get(id);
+        if (entry == null) {
+            entry = cache.computeIfAbsent(id, key -> new Entry(key, userPoint));
+        }
+        entry.value = userPoint;
+        if (entry.dirty.compareAndSet(false, true)) {
+            dirtyEntries.add(entry);
+        }
+        return userPoint;
+    }
+
+    @Override
+    public UserPoint save(UserPoint userPoint) {
+        return insertOrUpdate(userPoint.id(), userPoint.point());
+    }
+
+    /**
+     * 변경된 사용자의 최신 잔액을 Table 에 내려씁니다.
+     * dirty 표시를 먼저 지운 뒤 값을 읽으므로, 그 사이 들어온 쓰기는 대기열에 다시 들어가 다음 flush 에서 반영됩니다.
+     */
+    void flush() {
+        // flush 도중 다시 들어오는 사용자는 다음 flush 로 넘깁니다.
+        for (int remaining = dirtyEntries.size(); remaining > 0; remaining--) {
+            Entry entry = dirtyEntries.poll();
+            if (entry == null) {
+                return;
+            }
+            entry.dirty.set(false);
+            UserPoint latest = entry.value;
+            try {
+                store.insertOrUpdate(entry.id, latest.point());
+            } catch (RuntimeException ex) {
+                if (entry.dirty.compareAndSet(false, true)) {
+                    dirtyEntries.add(entry);
+                }
+                logger.error("포인트 내려쓰기실패아이디: {}. 에러: {}", entry.id, ex.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    /**
+     * 한 사용자의 캐시 칸. 캐시에 들어간 뒤에는 값만 바뀝니다.
+     */
+    private static final class Entry {
+        private final long id;
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private volatile UserPoint value;
+
+        private Entry(long id, UserPoint value) {
+            this.id = id;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.PointHistoryPage;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.FailedEventRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.StripedLongMap;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 잠금 없이 CAS 로 잔액을 바꾸는 포인트 엔진 (point.engine=cas)
+ * - 사용자마다 불변 스냅샷(확정 잔액 + 처리 중인 충전/사용 합계) 하나를 AtomicReference 로 들고, 새 스냅샷으로 compareAndSet 합니다.
+ * - 요청은 먼저 CAS 로 변화량을 예약하고, 기록(journal), 이력 저장, 잔액 저장을 모두 마친 뒤에야 CAS 로 확정 잔액에 반영합니다.
+ *   중간에 실패하면 예약만 풀면 되므로, 다른 요청이 보고 반영한 잔액을 되돌리는 일이 없습니다.
+ * - 예약할 때 규칙 검사를 CAS 루프 안에서 하므로 검사한 스냅샷과 바꾸는 스냅샷이 항상 같습니다.
+ *   사용은 확정 잔액에서 처리 중인 사용을 뺀 금액으로, 충전 한도는 확정 잔액에 처리 중인 충전을 더한 금액으로 검사하므로,
+ *   예약이 어떤 순서로 확정되거나 풀려도 잔액이 음수가 되거나 한도 검사를 건너뛰지 않습니다.
+ * - 조회는 확정 잔액만 보여줍니다.
+ * - 사용자별 잠금 객체를 만들지 않으므로 잠금 맵이 쌓이지 않습니다.
+ */
+@Service
+@ConditionalOnProperty(name = "point.engine", havingValue = "cas")
+public class CasPointService implements PointService {
+    private static final Logger logger = LoggerFactory.getLogger(CasPointService.class);
+    private static final int BALANCE_STRIPES = 64;
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final FailedEventRepository failedEventRepository;
+    private final PointAsyncExecutor asyncExecutor;
+    private final PointMetrics metrics;
+    private final PointJournal journal;
+
+    // 사용자별 최신 잔액 스냅샷, 처음 접근할 때 저장소에서 한 번 읽어옵니다. (userId 를 박싱하지 않는 맵)
+    private final StripedLongMap<AtomicReference<Balance>> balances = new StripedLongMap<>(BALANCE_STRIPES);
+
+    public CasPointService(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository, FailedEventRepository failedEventRepository) {
+        this(userPointRepository, pointHistoryRepository, failedEventRepository, new PointAsyncExecutor(PointExecutionProperties.platform()), PointMetrics.noop(), PointJournal.noop());
+    }
+
+    @Autowired
+    public CasPointService(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository, FailedEventRepository failedEventRepository,
+                           PointAsyncExecutor asyncExecutor, PointMetrics metrics, PointJournal journal) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.failedEventRepository = failedEventRepository;
+        this.asyncExecutor = asyncExecutor;
+        this.metrics = metrics;
+        this.journal = journal;
+        metrics.gauge("point.cas.users", balances, StripedLongMap::size);
+    }
+
+    @Override
+    public UserPoint getPointById(long id) {
+        return metrics.timeService("get_point", () -> {
+            AtomicReference<Balance> balance = balances.get(id);
+            UserPoint userPoint = balance != null ? balance.get().committed() : userPointRepository.selectById(id);
+            if (userPoint == null) {
+                throw new PointException("존재하지 않는 사용자 ID입니다.");
+            }
+            return userPoint;
+        });
+    }
+
+    @Override
+    public List<PointHistory> getHistoriesByUserId(long id) {
+        return metrics.timeService("get_histories", () -> pointHistoryRepository.selectAllByUserId(id));
+    }
+
+    @Override
+    public PointHistoryPage getHistoryPage(long id, PointHistoryCondition condition) {
+        return metrics.timeService("get_history_page", () -> {
+            List<PointHistory> histories = pointHistoryRepository.selectByUserId(id, condition, condition.size() + 1);
+            if (histories.size() <= condition.size()) {
+                return new PointHistoryPage(histories, null);
+            }
+            List<PointHistory> page = histories.subList(0, condition.size());
+            return new PointHistoryPage(page, page.get(page.size() - 1).id());
+        });
+    }
+
+    @Override
+    public void streamHistoriesByUserId(long id, Consumer<PointHistory> consumer) {
+        metrics.timeService("stream_histories", () -> pointHistoryRepository.forEachByUserId(id, consumer));
+    }
+
+    @Override
+    public UserPoint chargePoint(long id, long amount) {
+        return metrics.timeService("charge", () -> update(id, TransactionType.CHARGE, amount));
+    }
+
+    @Override
+    public UserPoint usePoint(long id, long amount) {
+        return metrics.timeService("use", () -> update(id, TransactionType.USE, amount));
+    }
+
+    /**
+     * CAS 엔진은 대기열이 없으므로 비동기 API 는 같은 처리를 비동기 실행기에서 실행합니다.
+     */
+    @Override
+    public CompletableFuture<UserPoint> getPointByIdAsync(long id) {
+        return CompletableFuture.supplyAsync(() -> getPointById(id), asyncExecutor);
+    }
+
+    /**
+     * 이미 잔액 스냅샷을 들고 있는 사용자는 저장소를 거치지 않고, 나머지만 동시에 조회합니다.
+     */
+    @Override
+    public CompletableFuture<List<UserPoint>> getPointsByIdsAsync(List<Long> ids) {
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        return asyncExecutor.fanOut(distinctIds, id -> {
+                    AtomicReference<Balance> balance = balances.get(id);
+                    return balance != null ? balance.get().committed() : userPointRepository.selectById(id);
+                })
+                .thenApply(userPoints -> userPoints.stream().filter(Objects::nonNull).toList());
+    }
+
+    @Override
+    public CompletableFuture<List<PointHistory>> getHistoriesByUserIdAsync(long id) {
+        return CompletableFuture.supplyAsync(() -> getHistoriesByUserId(id), asyncExecutor);
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> chargePointAsync(long id, long amount) {
+        return CompletableFuture.supplyAsync(() -> chargePoint(id, amount), asyncExecutor);
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> usePointAsync(long id, long amount) {
+        return CompletableFuture.supplyAsync(() -> usePoint(id, amount), asyncExecutor);
+    }
+
+    /**
+     * 사용자별로 묶어 사용자마다 하나의 작업에서 요청 순서대로 반영하고, 서로 다른 사용자는 병렬로 처리합니다.
+     */
+    @Override
+    public CompletableFuture<List<PointOperationResult>> applyBulkAsync(List<PointOperation> operations) {
+        PointOperationResult[] results = new PointOperationResult[operations.size()];
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            indexesByUser.computeIfAbsent(operations.get(i).userId(), id -> new ArrayList<>()).add(i);
+        }
+        CompletableFuture<?>[] users = indexesByUser.values().stream()
+                .map(indexes -> CompletableFuture.runAsync(() -> {
+                    for (int index : indexes) {
+                        PointOperation operation = operations.get(index);
+                        try {
+                            results[index] = PointOperationResult.success(operation, update(operation.userId(), operation.type(), operation.amount()));
+                        } catch (PointException ex) {
+                            // 실패 이벤트는 update 에서 이미 저장했습니다.
+                            results[index] = PointOperationResult.failure(operation, ex.getMessage());
+                        }
+                    }
+                }, asyncExecutor))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(users).thenApply(done -> List.of(results));
+    }
+
+    private UserPoint update(long id, TransactionType type, long amount) {
+        try {
+            AtomicReference<Balance> balance = load(id);
+            if (balance == null) {
+                // 저장소에 없는 사용자는 규칙 검사에서 실패합니다.
+                PointPolicy.apply(null, 0, type, amount);
+            }
+            reserve(balance, type, amount);
+            long signedAmount = PointPolicy.signedAmount(type, amount);
+            long now = System.currentTimeMillis();
+            UserPoint persisted;
+            boolean journaled = false;
+            try {
+                long sequence = journal.append(id, signedAmount, type, now);
+                journaled = true;
+                journal.awaitDurable(sequence);
+                pointHistoryRepository.saveAsync(new PointHistory(id, id, signedAmount, type, now));
+                // 아직 확정하지 않았으므로 지금 확정 잔액에 이 요청의 변화량만 더해 저장합니다.
+                persisted = new UserPoint(id, balance.get().committed().point() + signedAmount, now);
+                userPointRepository.save(persisted);
+            } catch (RuntimeException ex) {
+                if (journaled) {
+                    // 재시작할 때 실패로 응답한 요청이 잔액에 더해지지 않도록 기록도 되돌립니다.
+                    journal.abort(id, signedAmount, type, now);
+                }
+                release(balance, type, amount);
+                throw ex;
+            }
+            UserPoint committed = commit(balance, type, amount, now);
+            persistLatest(balance, persisted);
+            return committed;
+        } catch (RuntimeException ex) {
+            failedEventRepository.save(new PointFailedEvent(id, id, type.name(), amount, ex.getMessage(), System.currentTimeMillis()));
+            logger.error("포인트 {}실패아이디: {}. 실패포인트: {}. 에러: {}", type == TransactionType.CHARGE ? "충전" : "사용", id, amount, ex.getMessage());
+            throw ex;
+        }
+    }
+
+    private AtomicReference<Balance> load(long id) {
+        AtomicReference<Balance> balance = balances.get(id);
+        if (balance != null) {
+            return balance;
+        }
+        // 저장소 조회는 stripe 잠금 밖에서 하여 같은 stripe 의 다른 사용자를 막지 않고, 먼저 넣은 쪽을 씁니다.
+        // 저장소에 없는 사용자는 맵에 넣지 않습니다. (규칙 검사에서 실패 처리)
+        UserPoint loaded = userPointRepository.selectById(id);
+        if (loaded == null) {
+            return null;
+        }
+        AtomicReference<Balance> created = new AtomicReference<>(new Balance(loaded, 0, 0));
+        AtomicReference<Balance> existing = balances.putIfAbsent(id, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * 규칙을 검사하고 변화량을 예약합니다. 다른 요청이 먼저 바꿨으면 최신 스냅샷으로 규칙 검사부터 다시 합니다.
+     */
+    private void reserve(AtomicReference<Balance> balance, TransactionType type, long amount) {
+        Balance current = balance.get();
+        while (!balance.compareAndSet(current, current.reserve(type, amount))) {
+            // 재시도 횟수로 사용자별 경합 정도를 확인합니다.
+            metrics.countCasRetry(type == TransactionType.CHARGE ? "charge" : "use");
+            current = balance.get();
+        }
+    }
+
+    private void release(AtomicReference<Balance> balance, TransactionType type, long amount) {
+        balance.updateAndGet(current -> current.release(type, amount));
+    }
+
+    private UserPoint commit(AtomicReference<Balance> balance, TransactionType type, long amount, long updateMillis) {
+        return balance.updateAndGet(current -> current.commit(type, amount, updateMillis)).committed();
+    }
+
+    /**
+     * 확정한 뒤 저장소에 최신 확정 잔액이 남도록 합니다.
+     * 동시에 확정한 다른 요청이 자기 변화량만 더한 값을 늦게 쓸 수 있으므로, 저장한 값과 최신 확정 잔액이 다르면 다시 저장합니다.
+     * 마지막으로 저장을 마친 요청이 항상 최신 값을 확인하므로 저장소에는 결국 최신 확정 잔액이 남습니다.
+     * 이 요청은 이미 기록, 이력, 저장을 마치고 확정했으므로, 다시 저장하다 실패하면 로그만 남기고 다음 저장에 맡깁니다.
+     */
+    private void persistLatest(AtomicReference<Balance> balance, UserPoint persisted) {
+        try {
+            for (UserPoint latest = balance.get().committed(); !latest.equals(persisted); latest = balance.get().committed()) {
+                persisted = latest;
+                userPointRepository.save(persisted);
+            }
+        } catch (RuntimeException ex) {
+            logger.error("포인트 최신 잔액 저장실패아이디: {}. 에러: {}", persisted.id(), ex.getMessage());
+        }
+    }
+
+    /**
+     * 사용자 한 명의 불변 잔액 스냅샷
+     * committed 는 기록과 저장을 마친 잔액이고, pendingCharges / pendingUses 는 예약했지만 아직 확정하지 않은 충전/사용 합계입니다.
+     */
+    private record Balance(UserPoint committed, long pendingCharges, long pendingUses) {
+
+        private Balance reserve(TransactionType type, long amount) {
+            if (type == TransactionType.CHARGE) {
+                PointPolicy.charge(committed, committed.point() + pendingCharges, amount);
+                return new Balance(committed, pendingCharges + amount, pendingUses);
+            }
+            PointPolicy.use(committed, committed.point() - pendingUses, amount);
+            return new Balance(committed, pendingCharges, pendingUses + amount);
+        }
+
+        private Balance release(TransactionType type, long amount) {
+            return type == TransactionType.CHARGE
+                    ? new Balance(committed, pendingCharges - amount, pendingUses)
+                    : new Balance(committed, pendingCharges, pendingUses - amount);
+        }
+
+        private Balance commit(TransactionType type, long amount, long updateMillis) {
+            Balance released = release(type, amount);
+            UserPoint updated = new UserPoint(committed.id(), committed.point() + PointPolicy.signedAmount(type, amount), updateMillis);
+            return new Balance(updated, released.pendingCharges, released.pendingUses);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.config.PointEventSourcingProperties;
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointQueueProperties;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.PointHistoryPage;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.FailedEventRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 포인트 이력을 유일한 기준으로 삼는 이벤트 소싱 엔진 (point.engine=event-sourced)
+ * - 요청마다 동기로 쓰는 것은 이력 한 건뿐이고, 잔액은 이력을 메모리에서 접어(fold) 계산합니다.
+ *   잔액과 이력을 따로 쓰다가 한쪽만 실패해서 둘이 어긋나는 일이 없습니다.
+ * - 변경된 사용자의 잔액은 주기적으로 UserPointTable 에 스냅샷으로 남깁니다.
+ *   스냅샷의 updateMillis 가 어디까지 접었는지를 나타내므로, 재시작 후에는 스냅샷 이후의 이력만 다시 읽습니다.
+ * - 같은 사용자의 요청과 스냅샷은 UserRequestQueueExecutor 대기열에서 순서대로 하나씩 실행됩니다.
+ * - 저장소는 write-behind 캐시와 비동기 이력 저장을 거치지 않고 Table 저장소를 직접 사용합니다.
+ *   이력 저장이 끝난 뒤에만 잔액을 바꾸므로 저장된 이력이 곧 잔액이고, 이력 저장이 실패하면 잔액은 그대로입니다.
+ * - 이력은 여러 워커가 동시에 저장합니다. PointHistoryTable 을 쓰는 저장소(table, indexed)는 추가를 한 번에 하나씩 하므로
+ *   안전하지만 Table 의 지연만큼 전체 처리량이 묶입니다. 처리량이 필요하면 point.history.store 를 concurrent 나 offheap 으로 둡니다.
+ */
+@Service
+@ConditionalOnProperty(name = "point.engine", havingValue = "event-sourced")
+public class EventSourcedPointService implements PointService {
+    private static final Logger logger = LoggerFactory.getLogger(EventSourcedPointService.class);
+
+    private final UserPointRepository snapshotRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final FailedEventRepository failedEventRepository;
+    private final UserRequestQueueExecutor requestQueueExecutor;
+    private final PointAsyncExecutor asyncExecutor;
+    private final PointMetrics metrics;
+    private final PointJournal journal;
+
+    // 사용자별 이력을 접은 현재 잔액, 처음 접근할 때 스냅샷과 그 이후 이력으로 복원합니다.
+    private final ConcurrentHashMap<Long, Balance> balances = new ConcurrentHashMap<>();
+    // 마지막 스냅샷 이후 이력이 추가된 사용자 아이디
+    private final Set<Long> dirtyIds = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService snapshotter;
+
+    public EventSourcedPointService(UserPointRepository snapshotRepository, PointHistoryRepository pointHistoryRepository, FailedEventRepository failedEventRepository) {
+        this(snapshotRepository, pointHistoryRepository, failedEventRepository, new UserRequestQueueExecutor(PointQueueProperties.defaults()),
+                new PointAsyncExecutor(PointExecutionProperties.platform()), PointEventSourcingProperties.defaults(), PointExecutionProperties.platform(), PointMetrics.noop(), PointJournal.noop());
+    }
+
+    @Autowired
+    public EventSourcedPointService(@Qualifier("userPointStore") UserPointRepository snapshotRepository,
+                                    @Qualifier("pointHistoryStore") PointHistoryRepository pointHistoryRepository,
+                                    FailedEventRepository failedEventRepository, UserRequestQueueExecutor requestQueueExecutor,
+                                    PointAsyncExecutor asyncExecutor, PointEventSourcingProperties properties,
+                                    PointExecutionProperties execution, PointMetrics metrics, PointJournal journal) {
+        this.snapshotRepository = snapshotRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.failedEventRepository = failedEventRepository;
+        this.requestQueueExecutor = requestQueueExecutor;
+        this.asyncExecutor = asyncExecutor;
+        this.metrics = metrics;
+        this.journal = journal;
+        this.snapshotter = Executors.newSingleThreadScheduledExecutor(execution.threadFactory("point-snapshotter-"));
+        long interval = properties.snapshotIntervalMillis();
+        snapshotter.scheduleWithFixedDelay(this::snapshotDirty, interval, interval, TimeUnit.MILLISECONDS);
+        metrics.gauge("point.event-sourced.users", balances, ConcurrentHashMap::size);
+        metrics.gauge("point.event-sourced.dirty", dirtyIds, Set::size);
+    }
+
+    @Override
+    public UserPoint getPointById(long id) {
+        return metrics.timeService("get_point", () -> balance(id).current);
+    }
+
+    @Override
+    public List<PointHistory> getHistoriesByUserId(long id) {
+        return metrics.timeService("get_histories", () -> pointHistoryRepository.selectAllByUserId(id));
+    }
+
+    @Override
+    public PointHistoryPage getHistoryPage(long id, PointHistoryCondition condition) {
+        return metrics.timeService("get_history_page", () -> {
+            List<PointHistory> histories = pointHistoryRepository.selectByUserId(id, condition, condition.size() + 1);
+            if (histories.size() <= condition.size()) {
+                return new PointHistoryPage(histories, null);
+            }
+            List<PointHistory> page = histories.subList(0, condition.size());
+            return new PointHistoryPage(page, page.get(page.size() - 1).id());
+        });
+    }
+
+    @Override
+    public void streamHistoriesByUserId(long id, Consumer<PointHistory> consumer) {
+        metrics.timeService("stream_histories", () -> pointHistoryRepository.forEachByUserId(id, consumer));
+    }
+
+    @Override
+    public UserPoint chargePoint(long id, long amount) {
+        return metrics.timeService("charge", () -> requestQueueExecutor.execute(id, () -> append(id, TransactionType.CHARGE, amount)));
+    }
+
+    @Override
+    public UserPoint usePoint(long id, long amount) {
+        return metrics.timeService("use", () -> requestQueueExecutor.execute(id, () -> append(id, TransactionType.USE, amount)));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> getPointByIdAsync(long id) {
+        return CompletableFuture.supplyAsync(() -> getPointById(id), asyncExecutor);
+    }
+
+    /**
+     * 이미 복원된 사용자는 메모리에서 바로 읽고, 나머지만 동시에 복원합니다.
+     */
+    @Override
+    public CompletableFuture<List<UserPoint>> getPointsByIdsAsync(List<Long> ids) {
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        return asyncExecutor.fanOut(distinctIds, id -> balance(id).current);
+    }
+
+    @Override
+    public CompletableFuture<List<PointHistory>> getHistoriesByUserIdAsync(long id) {
+        return CompletableFuture.supplyAsync(() -> getHistoriesByUserId(id), asyncExecutor);
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> chargePointAsync(long id, long amount) {
+        return metrics.timeServiceAsync("charge", () -> submit(id, "charge", () -> append(id, TransactionType.CHARGE, amount)));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> usePointAsync(long id, long amount) {
+        return metrics.timeServiceAsync("use", () -> submit(id, "use", () -> append(id, TransactionType.USE, amount)));
+    }
+
+    /**
+     * 사용자별로 묶어 사용자마다 대기열 작업 하나에서 요청 순서대로 반영하고, 서로 다른 사용자는 병렬로 처리합니다.
+     */
+    @Override
+    public CompletableFuture<List<PointOperationResult>> applyBulkAsync(List<PointOperation> operations) {
+        PointOperationResult[] results = new PointOperationResult[operations.size()];
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            indexesByUser.computeIfAbsent(operations.get(i).userId(), id -> new ArrayList<>()).add(i);
+        }
+        List<CompletableFuture<?>> users = new ArrayList<>(indexesByUser.size());
+        indexesByUser.forEach((userId, indexes) -> users.add(submit(userId, "bulk", () -> {
+            for (int index : indexes) {
+                PointOperation operation = operations.get(index);
+                try {
+                    results[index] = PointOperationResult.success(operation, append(userId, operation.type(), operation.amount()));
+                } catch (PointException ex) {
+                    // 실패 이벤트는 append 에서 이미 저장했습니다.
+                    results[index] = PointOperationResult.failure(operation, ex.getMessage());
+                }
+            }
+            return null;
+        }).exceptionally(ex -> {
+            // 대기열이 가득 차 작업을 넣지 못한 사용자는 요청 전체를 실패로 돌려줍니다.
+            for (int index : indexes) {
+                results[index] = PointOperationResult.failure(operations.get(index), ex.getMessage());
+            }
+            return null;
+        })));
+        return CompletableFuture.allOf(users.toArray(CompletableFuture[]::new)).thenApply(done -> List.of(results));
+    }
+
+    private <T> CompletableFuture<T> submit(long id, String operation, Callable<T> task) {
+        try {
+            return requestQueueExecutor.submit(id, task);
+        } catch (PointRequestRejectedException ex) {
+            metrics.countRejection(operation, "queue_full");
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * 요청 한 건을 이력으로 남기고 잔액에 접습니다. 사용자 대기열 안에서만 호출됩니다.
+     */
+    private UserPoint append(long id, TransactionType type, long amount) {
+        try {
+            Balance balance = balance(id);
+            if (!balance.snapshotted) {
+                // 이 프로세스에서 처음 쓰는 사용자는 이력보다 먼저 스냅샷을 남겨, 스냅샷이 없는 사용자에게는 이력도 없도록 합니다.
+                snapshot(id, balance);
+            }
+            UserPoint current = balance.current;
+            long updatedPoints = PointPolicy.apply(current, current.point(), type, amount);
+            long eventMillis = Math.max(System.currentTimeMillis(), balance.nextEventMillis);
+            long signedAmount = PointPolicy.signedAmount(type, amount);
+            long sequence = journal.append(id, signedAmount, type, eventMillis);
+            try {
+                journal.awaitDurable(sequence);
+                pointHistoryRepository.insert(id, signedAmount, type, eventMillis);
+            } catch (RuntimeException ex) {
+                // 재시작할 때 실패로 응답한 요청이 잔액에 더해지지 않도록 기록도 되돌립니다.
+                journal.abort(id, signedAmount, type, eventMillis);
+                throw ex;
+            }
+            // 이력 저장이 끝난 뒤에만 잔액을 바꿉니다.
+            UserPoint updated = new UserPoint(id, updatedPoints, eventMillis);
+            balance.current = updated;
+            dirtyIds.add(id);
+            return updated;
+        } catch (RuntimeException ex) {
+            // 규칙 위반뿐 아니라 기록/이력 저장 실패도 잔액을 바꾸지 않았으므로 실패 이벤트로 남깁니다.
+            failedEventRepository.save(new PointFailedEvent(id, id, type.name(), amount, ex.getMessage(), System.currentTimeMillis()));
+            logger.error("포인트 {}실패아이디: {}. 실패포인트: {}. 에러: {}", type == TransactionType.CHARGE ? "충전" : "사용", id, amount, ex.getMessage());
+            throw ex;
+        }
+    }
+
+    private Balance balance(long id) {
+        Balance balance = balances.get(id);
+        if (balance != null) {
+            return balance;
+        }
+        // 이력을 접는 동안 맵의 bin 잠금을 잡지 않도록 맵 밖에서 복원하고, 먼저 넣은 쪽을 씁니다.
+        // 잔액은 맵에 들어간 뒤에만 바뀌고 바꾸기 전에 이력을 남기므로, 늦게 복원한 쪽을 버려도 빠지는 변화가 없습니다.
+        Balance replayed = replay(id);
+        Balance existing = balances.putIfAbsent(id, replayed);
+        return existing != null ? existing : replayed;
+    }
+
+    /**
+     * 스냅샷을 읽고 스냅샷 이후의 이력만 접어 현재 잔액을 복원합니다.
+     * 스냅샷에 포함된 이력은 모두 updateMillis 가 스냅샷 시각 이하이고, 이후 이력은 스냅샷 시각보다 큽니다.
+     */
+    private Balance replay(long id) {
+        UserPoint snapshot = snapshotRepository.selectById(id);
+        // 스냅샷을 주지 않는 저장소면 처음부터 모든 이력을 접습니다.
+        long watermark = snapshot == null ? Long.MIN_VALUE : snapshot.updateMillis();
+        long[] folded = {snapshot == null ? 0 : snapshot.point(), Math.max(watermark, 0)};
+        pointHistoryRepository.forEachByUserId(id, history -> {
+            if (history.updateMillis() > watermark) {
+                folded[0] += history.amount();
+                folded[1] = Math.max(folded[1], history.updateMillis());
+            }
+        });
+        Balance balance = new Balance(new UserPoint(id, folded[0], folded[1]));
+        balance.nextEventMillis = folded[1] + 1;
+        return balance;
+    }
+
+    /**
+     * 현재 잔액을 스냅샷으로 남깁니다. 사용자 대기열 안에서만 호출됩니다.
+     * Table 은 저장 시각을 직접 찍으므로, 저장 시각이 마지막 이력 시각 이상이 되도록 시계를 기다린 뒤 저장하고
+     * 다음 이력은 저장 시각보다 큰 시각을 쓰게 합니다.
+     */
+    private void snapshot(long id, Balance balance) {
+        long lastEventMillis = balance.current.updateMillis();
+        while (System.currentTimeMillis() < lastEventMillis) {
+            Thread.onSpinWait();
+        }
+        UserPoint saved = snapshotRepository.insertOrUpdate(id, balance.current.point());
+        balance.nextEventMillis = Math.max(balance.nextEventMillis, saved.updateMillis() + 1);
+        balance.snapshotted = true;
+    }
+
+    /**
+     * 변경된 사용자마다 스냅샷 작업을 사용자 대기열에 넣습니다.
+     * 아이디를 먼저 dirty 목록에서 지우므로, 그 사이 추가된 이력은 다음 주기에 다시 스냅샷으로 남습니다.
+     */
+    void snapshotDirty() {
+        for (Long id : new ArrayList<>(dirtyIds)) {
+            if (!dirtyIds.remove(id)) {
+                continue;
+            }
+            try {
+                requestQueueExecutor.submit(id, () -> {
+                    snapshot(id, balances.get(id));
+                    return null;
+                }).whenComplete((done, ex) -> {
+                    if (ex != null) {
+                        dirtyIds.add(id);
+                        logger.error("포인트 스냅샷실패아이디: {}. 에러: {}", id, ex.getMessage());
+                    }
+                });
+            } catch (PointRequestRejectedException ex) {
+                // 대기열이 가득 찬 사용자는 다음 주기에 다시 시도합니다.
+                dirtyIds.add(id);
+            }
+        }
+    }
+
+    /**
+     * 종료 시 남은 변경분을 모두 스냅샷으로 남깁니다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        snapshotter.shutdown();
+        snapshotter.awaitTermination(10, TimeUnit.SECONDS);
+        for (Long id : new ArrayList<>(dirtyIds)) {
+            try {
+                requestQueueExecutor.execute(id, () -> {
+                    snapshot(id, balances.get(id));
+                    return null;
+                });
+                dirtyIds.remove(id);
+            } catch (RuntimeException ex) {
+                logger.error("포인트 스냅샷실패아이디: {}. 에러: {}", id, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 사용자 한 명의 접힌 잔액
+     * current 는 조회 스레드도 읽으므로 volatile 이고, 나머지는 사용자 대기열 안에서만 읽고 씁니다.
+     */
+    private static final class Balance {
+        private volatile UserPoint current;
+        // 다음 이력이 써야 하는 최소 시각, 스냅샷 시각과 겹치지 않게 합니다.
+        private long nextEventMillis;
+        // 이 프로세스에서 스냅샷을 한 번이라도 남겼는지 여부
+        private boolean snapshotted;
+
+        private Balance(UserPoint current) {
+            this.current = current;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 여러 건의 조회를 동시에 최대 parallelism 개까지만 실행하고, 결과를 입력 순서대로 모읍니다.
+ * parallelism 개의 작업이 다음 순번을 하나씩 가져가며 처리하므로 전체 시간은 (건수 / parallelism) 번의 조회 시간에 가깝습니다.
+ */
+final class FanOut {
+
+    private FanOut() {
+    }
+
+    static <T, R> CompletableFuture<List<R>> map(List<T> items, int parallelism, Executor executor, Function<T, R> function) {
+        Object[] results = new Object[items.size()];
+        AtomicInteger next = new AtomicInteger();
+        int lanes = Math.min(Math.max(parallelism, 1), items.size());
+        List<CompletableFuture<Void>> running = new ArrayList<>(lanes);
+        for (int lane = 0; lane < lanes; lane++) {
+            running.add(CompletableFuture.runAsync(() -> {
+                for (int index = next.getAndIncrement(); index < items.size(); index = next.getAndIncrement()) {
+                    results[index] = function.apply(items.get(index));
+                }
+            }, executor));
+        }
+        return CompletableFuture.allOf(running.toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    @SuppressWarnings("unchecked")
+                    List<R> mapped = (List<R>) Arrays.asList(results);
+                    return mapped;
+                });
+    }
+}
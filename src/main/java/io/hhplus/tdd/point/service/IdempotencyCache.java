@@ -0,0 +1,171 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.config.PointIdempotencyProperties;
+import io.hhplus.tdd.point.exception.PointIdempotencyConflictException;
+import io.hhplus.tdd.point.exception.PointInvalidRequestException;
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 로 충전/사용 요청의 중복 실행을 막는 캐시
+ * - 같은 사용자의 같은 키로 다시 들어온 요청은 처리 중이면 처리 중인 Future 를, 완료되었으면 처음 결과를 그대로 돌려줍니다.
+ *   이때 잔액과 이력 저장소는 다시 호출되지 않습니다.
+ * - 실패한 요청은 잔액에 반영되지 않았으므로 캐시에서 지워, 같은 키로 다시 시도할 수 있게 합니다.
+ * - 완료된 항목 수(maxEntries)와 키 길이(maxKeyLength)로 메모리 사용량의 상한을 두고,
+ *   넘치면 완료된 순서대로 오래된 항목부터 내보냅니다. 보관 시간(ttlMillis)이 지난 항목도 같은 방식으로 정리합니다.
+ * - 처리 중인 항목은 내보내면 중복 실행될 수 있으므로 완료 순서에 넣지 않고 따로 세며(maxInFlight),
+ *   처리 중인 키가 가득 차면 새 키는 실행하지 않고 PointRequestRejectedException 으로 거절합니다.
+ *   따라서 캐시의 항목 수는 maxEntries + maxInFlight 를 넘지 않습니다.
+ */
+@Component
+public class IdempotencyCache {
+    public static final String HEADER = "Idempotency-Key";
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // 완료된 순서대로 쌓인 항목, 오래된 항목부터 내보낼 때 사용합니다. 처리 중인 항목은 들어있지 않습니다.
+    private final ConcurrentLinkedQueue<Entry> completionOrder = new ConcurrentLinkedQueue<>();
+    // completionOrder 의 길이 (ConcurrentLinkedQueue.size 는 전체를 훑으므로 따로 셉니다.)
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int maxEntries;
+    private final int maxInFlight;
+    private final int maxKeyLength;
+    private final long ttlMillis;
+    private final PointMetrics metrics;
+    private final LongSupplier clock;
+
+    @Autowired
+    public IdempotencyCache(PointIdempotencyProperties properties, PointMetrics metrics) {
+        this(properties, metrics, System::currentTimeMillis);
+    }
+
+    IdempotencyCache(PointIdempotencyProperties properties, PointMetrics metrics, LongSupplier clock) {
+        this.maxEntries = properties.maxEntries();
+        this.maxInFlight = properties.maxInFlight();
+        this.maxKeyLength = properties.maxKeyLength();
+        this.ttlMillis = properties.ttlMillis();
+        this.metrics = metrics;
+        this.clock = clock;
+        metrics.gauge("point.idempotency.entries", entries, ConcurrentHashMap::size);
+        metrics.gauge("point.idempotency.in_flight", inFlight, AtomicInteger::get);
+    }
+
+    /**
+     * 처음 보는 키면 action 을 실행하고 결과를 보관합니다. 이미 본 키면 action 을 실행하지 않고 보관한 결과를 돌려줍니다.
+     * 키가 비었거나 너무 길면 PointInvalidRequestException(400) 을, 같은 키로 다른 충전/사용 요청을 보내면 PointIdempotencyConflictException(409) 을,
+     * 처리 중인 키가 가득 차면 PointRequestRejectedException 을 던집니다.
+     */
+    public CompletableFuture<UserPoint> execute(String key, long userId, TransactionType type, long amount, Supplier<CompletableFuture<UserPoint>> action) {
+        if (key.isBlank() || key.length() > maxKeyLength) {
+            throw new PointInvalidRequestException("Idempotency-Key 는 1자 이상 " + maxKeyLength + "자 이하여야 합니다.");
+        }
+        String cacheKey = userId + ":" + key;
+        long now = clock.getAsLong();
+        Entry created = new Entry(cacheKey, type, amount, now);
+        Entry entry = entries.compute(cacheKey, (k, existing) -> existing == null || existing.expired(now, ttlMillis) ? created : existing);
+        if (entry != created) {
+            if (entry.type != type || entry.amount != amount) {
+                throw new PointIdempotencyConflictException("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+            }
+            metrics.countIdempotency("hit");
+            return entry.result;
+        }
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            PointRequestRejectedException rejected = new PointRequestRejectedException("처리 중인 Idempotency-Key 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+            // 그 사이 같은 키로 들어와 기다리던 요청에도 같은 거절을 전달합니다.
+            entries.remove(cacheKey, created);
+            created.result.completeExceptionally(rejected);
+            metrics.countIdempotency("rejected");
+            throw rejected;
+        }
+        metrics.countIdempotency("miss");
+        evict(now);
+
+        CompletableFuture<UserPoint> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException ex) {
+            result = CompletableFuture.failedFuture(ex);
+        }
+        result.whenComplete((userPoint, ex) -> {
+            inFlight.decrementAndGet();
+            if (ex == null) {
+                created.result.complete(userPoint);
+                completionOrder.add(created);
+                completed.incrementAndGet();
+                evict(clock.getAsLong());
+                return;
+            }
+            // 실패는 보관하지 않고, 기다리던 중복 요청에는 처음 요청과 같은 예외를 전달합니다.
+            entries.remove(cacheKey, created);
+            created.result.completeExceptionally(ex);
+        });
+        return created.result;
+    }
+
+    /**
+     * 사용자의 키로 처리 중이거나 보관 중인 결과가 있는지 봅니다. 있으면 같은 키로 다시 보낸 요청은 새로 실행되지 않습니다.
+     */
+    public boolean contains(String key, long userId) {
+        Entry entry = entries.get(userId + ":" + key);
+        return entry != null && !entry.expired(clock.getAsLong(), ttlMillis);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 완료된 항목 수가 상한을 넘었거나 보관 시간이 지난 항목을 완료된 순서대로 내보냅니다.
+     * 처리 중인 항목은 completionOrder 에 없으므로 훑지 않습니다.
+     */
+    private void evict(long now) {
+        for (Entry oldest = completionOrder.peek(); oldest != null; oldest = completionOrder.peek()) {
+            boolean current = entries.get(oldest.key) == oldest;
+            if (current && completed.get() <= maxEntries && !oldest.expired(now, ttlMillis)) {
+                return;
+            }
+            if (!completionOrder.remove(oldest)) {
+                // 다른 스레드가 이미 정리한 항목입니다.
+                continue;
+            }
+            completed.decrementAndGet();
+            // 만료 뒤 같은 키로 새로 들어와 바뀐 항목이면 순서에서만 뺍니다.
+            if (current && entries.remove(oldest.key, oldest)) {
+                metrics.countIdempotencyEviction(oldest.expired(now, ttlMillis) ? "expired" : "size");
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final TransactionType type;
+        private final long amount;
+        private final long createdMillis;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+        private Entry(String key, TransactionType type, long amount, long createdMillis) {
+            this.key = key;
+            this.type = type;
+            this.amount = amount;
+            this.createdMillis = createdMillis;
+        }
+
+        // 처리 중인 항목은 보관 시간이 지나도 만료시키지 않습니다.
+        private boolean expired(long now, long ttlMillis) {
+            return result.isDone() && now - createdMillis > ttlMillis;
+        }
+    }
+}
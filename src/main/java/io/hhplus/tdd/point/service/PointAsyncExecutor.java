@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * 비동기 PointService API 가 요청 스레드 밖에서 작업을 실행하는 실행기
+ * - 조회처럼 사용자 대기열을 거치지 않는 작업과 실패 이벤트 저장을 실행합니다.
+ * - ForkJoinPool.commonPool 은 Table 지연으로 막히면 다른 CompletableFuture 작업까지 멈추므로 따로 둡니다.
+ */
+@Component
+public class PointAsyncExecutor implements Executor {
+
+    private final ExecutorService delegate;
+    private final int fanOutParallelism;
+
+    @Autowired
+    public PointAsyncExecutor(PointExecutionProperties execution) {
+        this.fanOutParallelism = execution.fanOutParallelism();
+        this.delegate = execution.virtualThreads()
+                ? Executors.newThreadPerTaskExecutor(execution.threadFactory("point-async-"))
+                : Executors.newFixedThreadPool(execution.asyncWorkers(), execution.threadFactory("point-async-"));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(command);
+    }
+
+    /**
+     * 여러 건을 최대 fanOutParallelism 개씩 동시에 처리하고 입력 순서대로 결과를 모읍니다.
+     */
+    public <T, R> CompletableFuture<List<R>> fanOut(List<T> items, Function<T, R> function) {
+        return FanOut.map(items, fanOutParallelism, this, function);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        delegate.shutdown();
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 사용자 대기열에 쌓이는 충전/사용 요청 한 건
+ * 여러 요청이 한 번의 읽기-수정-쓰기로 묶여 처리되더라도 요청마다 자신의 결과를 받습니다.
+ */
+final class PointCommand {
+    private static final int WAITING = 0;
+    private static final int CLAIMED = 1;
+    private static final int ABANDONED = 2;
+
+    private final long userId;
+    private final TransactionType type;
+    private final long amount;
+    private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+
+    PointCommand(long userId, TransactionType type, long amount) {
+        this.userId = userId;
+        this.type = type;
+        this.amount = amount;
+    }
+
+    /**
+     * 배치 처리에 포함시킵니다. 이미 호출자가 포기한 요청이면 false 를 반환합니다.
+     */
+    boolean claim() {
+        return state.compareAndSet(WAITING, CLAIMED);
+    }
+
+    /**
+     * 호출자가 요청을 포기합니다. 이미 배치에 포함된 요청이면 false 를 반환합니다.
+     */
+    boolean abandon() {
+        return state.compareAndSet(WAITING, ABANDONED);
+    }
+
+    long userId() {
+        return userId;
+    }
+
+    TransactionType type() {
+        return type;
+    }
+
+    long amount() {
+        return amount;
+    }
+
+    CompletableFuture<UserPoint> result() {
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+
+/**
+ * 충전/사용 규칙
+ * 엔진마다 잔액을 다루는 방식은 달라도 같은 규칙과 같은 오류 메시지를 쓰도록 한 곳에 모아둡니다.
+ */
+final class PointPolicy {
+    static final long MAX_POINT = 1000000;
+
+    private PointPolicy() {
+    }
+
+    /**
+     * 요청 한 건을 현재 잔액에 적용한 결과 잔액을 반환합니다. 규칙에 맞지 않으면 PointException 을 던집니다.
+     * @param currentPoint 조회된 사용자 포인트 (없는 사용자면 null)
+     * @param balance 요청을 적용하기 직전의 잔액
+     */
+    static long apply(UserPoint currentPoint, long balance, TransactionType type, long amount) {
+        return type == TransactionType.CHARGE
+                ? charge(currentPoint, balance, amount)
+                : use(currentPoint, balance, amount);
+    }
+
+    static long charge(UserPoint currentPoint, long balance, long amount) {
+        // 조회된 사용자 정보가 없는 경우 예외를 발생시킵니다.
+        if (currentPoint == null) {
+            throw new PointException("아이디가 없습니다.");
+        }
+        // 요청된 충전 포인트가 음수인 경우 예외를 발생시킵니다.
+        if (amount < 0) {
+            throw new PointException("충전포인트는 음수가 될수 없습니다.");
+        }
+        // 사용자 포인트가 1,000,000을 초과하는 경우 예외를 발생시킵니다.
+        if (balance > MAX_POINT) {
+            throw new PointException("1000000 포인트이상 넣을수 없습니다");
+        }
+        return balance + amount;
+    }
+
+    static long use(UserPoint currentPoint, long balance, long amount) {
+        if (currentPoint == null) {
+            throw new PointException("존재하지 않는 사용자입니다.");
+        }
+        if (balance < amount) {
+            throw new PointException("포인트가 부족합니다.");
+        }
+        return balance - amount;
+    }
+
+    /**
+     * 이력에 남길 포인트 변화량, 사용은 음수로 기록합니다.
+     */
+    static long signedAmount(TransactionType type, long amount) {
+        return type == TransactionType.USE ? -amount : amount;
+    }
+}
@@ -1,13 +1,36 @@
 package io.hhplus.tdd.point.service;
 
 import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.PointHistoryPage;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
 import io.hhplus.tdd.point.model.UserPoint;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface PointService {
     UserPoint getPointById(long userId);
     List<PointHistory> getHistoriesByUserId(long userId);
+    PointHistoryPage getHistoryPage(long userId, PointHistoryCondition condition);
+    void streamHistoriesByUserId(long userId, Consumer<PointHistory> consumer);
     UserPoint chargePoint(long userId, long amount);
     UserPoint usePoint(long id, long amount);
-}
\ No newline at end of file
+
+    // 호출한 스레드를 막지 않는 비동기 API, 실패는 PointException 으로 완료된 Future 로 전달됩니다.
+    CompletableFuture<UserPoint> getPointByIdAsync(long userId);
+    // 중복을 제거한 아이디 순서대로 잔액을 조회하며, 존재하지 않는 사용자는 결과에서 빠집니다.
+    CompletableFuture<List<UserPoint>> getPointsByIdsAsync(List<Long> userIds);
+    CompletableFuture<List<PointHistory>> getHistoriesByUserIdAsync(long userId);
+    CompletableFuture<UserPoint> chargePointAsync(long userId, long amount);
+    CompletableFuture<UserPoint> usePointAsync(long userId, long amount);
+
+    // 여러 사용자의 충전/사용을 한 번에 처리하고, 요청 순서대로 건별 결과(성공 잔액 또는 실패 사유)를 돌려줍니다.
+    CompletableFuture<List<PointOperationResult>> applyBulkAsync(List<PointOperation> operations);
+
+    default List<PointOperationResult> applyBulk(List<PointOperation> operations) {
+        return applyBulkAsync(operations).join();
+    }
+}
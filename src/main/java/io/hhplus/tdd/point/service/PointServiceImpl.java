@@ -2,23 +2,48 @@ package io.hhplus.tdd.point.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointQueueProperties;
 import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.metrics.PointMetrics;
 import io.hhplus.tdd.point.model.PointFailedEvent;
 import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.PointHistoryPage;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
 import io.hhplus.tdd.point.model.TransactionType;
 import io.hhplus.tdd.point.model.UserPoint;
 import io.hhplus.tdd.point.repository.FailedEventRepository;
 import io.hhplus.tdd.point.repository.PointHistoryRepository;
 import io.hhplus.tdd.point.repository.UserPointRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
+/**
+ * 기본 포인트 엔진 (point.engine=queue)
+ * 사용자별 대기열에서 요청을 순서대로 꺼내 묶음 단위로 잔액에 반영합니다.
+ */
 @Service
+@ConditionalOnProperty(name = "point.engine", havingValue = "queue", matchIfMissing = true)
 public class PointServiceImpl implements PointService {
     private static final Logger logger = LoggerFactory.getLogger(PointServiceImpl.class);
 
@@ -26,137 +51,386 @@ public class PointServiceImpl implements PointService {
     private final PointHistoryRepository pointHistoryRepository;
     private final FailedEventRepository failedEventRepository;
 
-    private final ConcurrentHashMap<Long, Lock> locks = new ConcurrentHashMap<>();
-    // ConcurrentHashMap `locks`맵은 각 사용자 아이디에 대응하는 Lock 객체를 저장하는데 사용합니다.
+    // 사용자 아이디별 대기열에 요청을 쌓아 순서대로 처리합니다. (tryLock 으로 즉시 거절하던 방식을 대체)
+    private final UserRequestQueueExecutor requestQueueExecutor;
+    private final PointAsyncExecutor asyncExecutor;
+    private final PointMetrics metrics;
+    private final PointJournal journal;
+
+    // 사용자별로 아직 잔액에 반영되지 않은 충전/사용 요청, flush 한 번에 묶여 처리됩니다.
+    private final ConcurrentHashMap<Long, ArrayDeque<PointCommand>> pendingCommands = new ConcurrentHashMap<>();
 
-    @Autowired
     public PointServiceImpl(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository, FailedEventRepository failedEventRepository) {
+        this(userPointRepository, pointHistoryRepository, failedEventRepository, new UserRequestQueueExecutor(PointQueueProperties.defaults()),
+                new PointAsyncExecutor(PointExecutionProperties.platform()), PointMetrics.noop(), PointJournal.noop());
+    }
+
+    @Autowired
+    public PointServiceImpl(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository, FailedEventRepository failedEventRepository,
+                            UserRequestQueueExecutor requestQueueExecutor, PointAsyncExecutor asyncExecutor, PointMetrics metrics, PointJournal journal) {
         this.userPointRepository = userPointRepository;
         this.pointHistoryRepository = pointHistoryRepository;
         this.failedEventRepository = failedEventRepository;
+        this.requestQueueExecutor = requestQueueExecutor;
+        this.asyncExecutor = asyncExecutor;
+        this.metrics = metrics;
+        this.journal = journal;
+        metrics.gauge("point.pending.users", pendingCommands, ConcurrentHashMap::size);
     }
 
 
     @Override
     public UserPoint getPointById(long id) {
-        // 포인트 조회 로직
-        UserPoint userPoint = userPointRepository.selectById(id);
-        if (userPoint == null) {
-            throw new PointException("존재하지 않는 사용자 ID입니다.");
-        }
-        return userPoint;
+        return metrics.timeService("get_point", () -> {
+            // 포인트 조회 로직
+            UserPoint userPoint = userPointRepository.selectById(id);
+            if (userPoint == null) {
+                throw new PointException("존재하지 않는 사용자 ID입니다.");
+            }
+            return userPoint;
+        });
     }
 
     @Override
     public List<PointHistory> getHistoriesByUserId(long id) {
         // 포인트 이력 조회 로직
-        return pointHistoryRepository.selectAllByUserId(id);
+        return metrics.timeService("get_histories", () -> pointHistoryRepository.selectAllByUserId(id));
+    }
+
+    @Override
+    public PointHistoryPage getHistoryPage(long id, PointHistoryCondition condition) {
+        return metrics.timeService("get_history_page", () -> {
+            // 다음 페이지가 있는지 알기 위해 요청한 개수보다 하나 더 조회합니다.
+            List<PointHistory> histories = pointHistoryRepository.selectByUserId(id, condition, condition.size() + 1);
+            if (histories.size() <= condition.size()) {
+                return new PointHistoryPage(histories, null);
+            }
+            List<PointHistory> page = histories.subList(0, condition.size());
+            return new PointHistoryPage(page, page.get(page.size() - 1).id());
+        });
+    }
+
+
+    @Override
+    public void streamHistoriesByUserId(long id, Consumer<PointHistory> consumer) {
+        // 전체 목록을 만들지 않고 저장소에서 하나씩 넘겨받습니다.
+        metrics.timeService("stream_histories", () -> pointHistoryRepository.forEachByUserId(id, consumer));
     }
 
 
     /**
      * Todo - 동시성 고민중인 충전하기기능
+     * 같은 사용자의 충전/사용 요청은 사용자별 대기열에 쌓여 들어온 순서대로 처리됩니다.
      * @param id
      * @param amount
      * @return
      */
     @Override
     public UserPoint chargePoint(long id, long amount) {
-        // locks객체에서 사용자별로 동기화를 위한 락을 관리하는 ConcurrentHashMap에서 락을 가져오거나 새로 생성합니다.
-        // 특정 사용자아이디에 대한 Lock 객체를 조회하거나 없는경우 생성합니다.
-        // `computeIfAbsent`메서드는 key에 해당하는 값이 이미 존재하면 그 값을 반환하고
-        // 존재하지 않는 경우 제공된 매핑 함수를 사용하여 새 값을 계산하여 맵에 추가한후 그 값을 반환한다.
-        // 여기서 key는 사용자 아이디이며, 매핑함수는 new ReentrantLock()입니다.
-        // 이 과정을 통해 각 사용자 아이디 별로 독립된 락을 관리하게 됩니다.
-        // 사용자 아이디별로 `ConcurrentHashMap`에서 `Lock`객체를 가져오거나 없으면 새로운 `ReentrantLock`객체를 생성하여 반환합니다.라는 작업을 수행합니다.
-        // 이렇게 함으로써 동시성제어를 위한 동기화 메커니즘이 각 사용자아이디별로 제공됩니다.
-        Lock lock = locks.computeIfAbsent(id, k -> new ReentrantLock());
-
-        // 락 휙득 시도, 획득에 성공하면 true, 실패하면 false를 반환합니다.
-        boolean lockAcquired = lock.tryLock();
-
-        // 락휙득에 실패한경우, 즉시 예외를 발생시켜 사용자에게 다시 시도하라는 메시지를 보냅니다.
-        if (!lockAcquired) {
-            throw new PointException("현재 처리 중입니다. 잠시 후 다시 시도해주세요.");
-        }
+        return metrics.timeService("charge", () -> submit(new PointCommand(id, TransactionType.CHARGE, amount)));
+    }
+
+    @Override
+    public UserPoint usePoint(long id, long amount) {
+        return metrics.timeService("use", () -> submit(new PointCommand(id, TransactionType.USE, amount)));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> getPointByIdAsync(long id) {
+        return CompletableFuture.supplyAsync(() -> getPointById(id), asyncExecutor);
+    }
+
+    /**
+     * 조회는 사용자 대기열을 거치지 않으므로 여러 사용자를 동시에 조회합니다.
+     * 잔액 저장소가 캐시를 두고 있으면 캐시에 있는 사용자는 Table 을 거치지 않고 바로 응답합니다.
+     */
+    @Override
+    public CompletableFuture<List<UserPoint>> getPointsByIdsAsync(List<Long> ids) {
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        return asyncExecutor.fanOut(distinctIds, userPointRepository::selectById)
+                .thenApply(userPoints -> userPoints.stream().filter(Objects::nonNull).toList());
+    }
+
+    @Override
+    public CompletableFuture<List<PointHistory>> getHistoriesByUserIdAsync(long id) {
+        return CompletableFuture.supplyAsync(() -> getHistoriesByUserId(id), asyncExecutor);
+    }
+
+    /**
+     * 동기 API 와 같은 대기열과 묶음 처리를 거치지만, 결과를 기다리지 않고 요청의 Future 를 바로 반환합니다.
+     * 잔액 반영, 이력 저장, 실패 이벤트 저장은 모두 사용자 대기열의 워커에서 이어서 실행됩니다.
+     * 처리 시간은 요청을 넣은 시점부터 Future 가 완료될 때까지를 동기 API 와 같은 지표에 기록합니다.
+     */
+    @Override
+    public CompletableFuture<UserPoint> chargePointAsync(long id, long amount) {
+        return metrics.timeServiceAsync("charge", () -> submitAsync(new PointCommand(id, TransactionType.CHARGE, amount)));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> usePointAsync(long id, long amount) {
+        return metrics.timeServiceAsync("use", () -> submitAsync(new PointCommand(id, TransactionType.USE, amount)));
+    }
+
+    /**
+     * 요청을 사용자별 보류 목록에 넣고, 사용자 대기열에 flush 작업을 예약한 뒤 자신의 결과를 기다립니다.
+     * 앞선 flush 가 실행되는 동안 쌓인 요청들은 다음 flush 한 번에 묶여 처리됩니다. (group commit)
+     */
+    private UserPoint submit(PointCommand command) {
         try {
-            // 요청된 사용자 아이디로 사용자 포인트 정보를 조회합니다.
-            UserPoint currentPoint = userPointRepository.selectById(id);
-            // 조회된 사용자 정보가 없는 경우 예외를 발생시킵니다.
-            if (currentPoint == null) {
-                throw new PointException("아이디가 없습니다.");
-            }
-            // 요청된 충전 포인트가 음수인 경우 예외를 발생시킵니다.
-            if (amount < 0) {
-                throw new PointException("충전포인트는 음수가 될수 없습니다.");
-            }
-            // 사용자 포인트가 1,000,000을 초과하는 경우 예외를 발생시킵니다.
-            if (currentPoint.point() > 1000000) {
-                throw new PointException("1000000 포인트이상 넣을수 없습니다");
-            }
-
-            // 현재 포인트에 요청된 충전 포인트를 추가합니다.
-            long updatedPoints = currentPoint.point() + amount;
-            // 업데이트된 포인트 정보로 새 UserPoint 객체를 생성합니다.
-            UserPoint updatedUserPoint = new UserPoint(id, updatedPoints, System.currentTimeMillis());
-
-            // 업데이트된 사용자 포인트 정보를 저장합니다.
-            userPointRepository.save(updatedUserPoint);
-
-            // 포인트 변경 이력을 저장하기  위한 PointHistory 객체를 생성하고 저장합니다.
-            PointHistory history = new PointHistory(id, currentPoint.id(), amount, TransactionType.CHARGE, System.currentTimeMillis());
-            pointHistoryRepository.save(history);
-
-            // 업데이트된 사용자 포인트 정보를 반환합니다.
-            return updatedUserPoint;
-        } catch (PointException ex) {
-            // 포인트 처리 중 발생한 예외를 로그로 기록하고 실패 이벤트를 저장합니다.
-            failedEventRepository.save(new PointFailedEvent(id, id, "CHARGE", amount, ex.getMessage(), System.currentTimeMillis()));
-            logger.error("포인트 충전실패아이디: {}. 실패포인트: {}. 에러: {}", id, amount, ex.getMessage());
-            // 예외를 다시 발생시켜 호출자에게 알립니다.
-            throw ex;
-
-        } finally {
-            // 락을 성공적으로 획득했다면 락을 해제합니다.
-            if (lockAcquired) {
-                lock.unlock();
+            enqueue(command.userId(), List.of(command));
+        } catch (PointRequestRejectedException ex) {
+            // 이미 다른 flush 에 포함되었다면 그 결과를 그대로 기다립니다.
+            if (reject(command, ex)) {
+                throw ex;
             }
         }
+        return await(command);
     }
 
+    private CompletableFuture<UserPoint> submitAsync(PointCommand command) {
+        try {
+            enqueue(command.userId(), List.of(command));
+        } catch (PointRequestRejectedException ex) {
+            asyncExecutor.execute(() -> reject(command, ex));
+        }
+        return withDeadline(command);
+    }
 
+    /**
+     * 일괄 요청을 사용자별로 묶어 사용자마다 한 번에 보류 목록에 넣고 flush 를 한 번만 예약합니다.
+     * 같은 사용자의 요청은 요청 순서대로 한 배치에서 반영되고, 서로 다른 사용자는 워커에서 병렬로 처리됩니다.
+     * 규칙 위반 같은 건별 실패는 flush 에서 실패 이벤트로 남고, 결과 목록에 실패로 담깁니다.
+     */
     @Override
-    public UserPoint usePoint(long id, long amount) {
-        Lock lock = locks.computeIfAbsent(id, k -> new ReentrantLock());
-        boolean lockAcquired = false;
+    public CompletableFuture<List<PointOperationResult>> applyBulkAsync(List<PointOperation> operations) {
+        List<PointCommand> commands = new ArrayList<>(operations.size());
+        Map<Long, List<PointCommand>> commandsByUser = new LinkedHashMap<>();
+        for (PointOperation operation : operations) {
+            PointCommand command = new PointCommand(operation.userId(), operation.type(), operation.amount());
+            commands.add(command);
+            commandsByUser.computeIfAbsent(operation.userId(), id -> new ArrayList<>()).add(command);
+        }
+        commandsByUser.forEach((userId, userCommands) -> {
+            try {
+                enqueue(userId, userCommands);
+            } catch (PointRequestRejectedException ex) {
+                asyncExecutor.execute(() -> userCommands.forEach(command -> reject(command, ex)));
+            }
+        });
+
+        List<CompletableFuture<PointOperationResult>> results = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            PointOperation operation = operations.get(i);
+            results.add(withDeadline(commands.get(i)).handle((userPoint, ex) -> ex == null
+                    ? PointOperationResult.success(operation, userPoint)
+                    : PointOperationResult.failure(operation, unwrap(ex).getMessage())));
+        }
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(done -> results.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * 제한 시간 안에 결과가 나오면 타이머를 취소하고, 시간이 지나면 아직 배치에 포함되지 않은 요청만 포기합니다.
+     */
+    private CompletableFuture<UserPoint> withDeadline(PointCommand command) {
+        CompletableFuture<Void> deadline = new CompletableFuture<Void>().orTimeout(requestQueueExecutor.timeoutMillis(), TimeUnit.MILLISECONDS);
+        command.result().whenComplete((userPoint, ex) -> deadline.complete(null));
+        deadline.exceptionallyAsync(ex -> {
+            if (command.abandon()) {
+                PointRequestRejectedException rejected = new PointRequestRejectedException("요청 처리 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
+                metrics.countRejection(operation(command), "timeout");
+                recordFailure(command, rejected.getMessage());
+                command.result().completeExceptionally(rejected);
+            }
+            return null;
+        }, asyncExecutor);
+        return command.result();
+    }
+
+    /**
+     * 같은 사용자의 요청들을 보류 목록에 넣고 flush 를 한 번 예약합니다.
+     * 일괄 요청도 flush 작업은 하나지만 보류 목록에는 요청 수만큼 쌓이므로, 보류 중인 요청 수로 point.queue.max-queue-depth 를 지킵니다.
+     * 보류 목록이나 대기열이 가득 차면 PointRequestRejectedException 을 던지며, 요청을 포기시키는 것은 호출자가 합니다.
+     */
+    private void enqueue(long userId, List<PointCommand> commands) {
+        // compute 로 추가해야 flush 가 목록을 떼어내는 순간과 겹쳐도 요청이 유실되지 않습니다.
+        pendingCommands.compute(userId, (id, pending) -> {
+            ArrayDeque<PointCommand> queued = pending == null ? new ArrayDeque<>() : pending;
+            if (queued.size() + commands.size() > requestQueueExecutor.maxQueueDepth()) {
+                throw new PointRequestRejectedException("요청 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+            }
+            queued.addAll(commands);
+            return queued;
+        });
+        requestQueueExecutor.submit(userId, () -> {
+            flush(userId);
+            return null;
+        });
+    }
+
+    /**
+     * 대기열에서 거절된 요청을 포기시키고 실패로 완료합니다.
+     * 그 사이 다른 flush 에 포함된 요청이면 포기할 수 없으므로 false 를 반환합니다.
+     */
+    private boolean reject(PointCommand command, PointRequestRejectedException ex) {
+        if (!command.abandon()) {
+            return false;
+        }
+        metrics.countRejection(operation(command), "queue_full");
+        recordFailure(command, ex.getMessage());
+        command.result().completeExceptionally(ex);
+        return true;
+    }
+
+    private UserPoint await(PointCommand command) {
         try {
-            lockAcquired = lock.tryLock();
-            if (!lockAcquired) {
-                throw new PointException("현재 포인트 사용 처리 중입니다. 잠시 후 다시 시도해주세요.");
+            return command.result().get(requestQueueExecutor.timeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // 아직 배치에 포함되지 않은 요청만 포기할 수 있습니다. 이미 처리 중이면 결과를 끝까지 기다립니다.
+            if (command.abandon()) {
+                PointRequestRejectedException rejected = new PointRequestRejectedException("요청 처리 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
+                metrics.countRejection(operation(command), "timeout");
+                recordFailure(command, rejected.getMessage());
+                throw rejected;
             }
-            UserPoint currentPoint = userPointRepository.selectById(id);
-            if (currentPoint == null) {
-                throw new PointException("존재하지 않는 사용자입니다.");
+            return await(command);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
             }
-            if (currentPoint.point() < amount) {
-                throw new PointException("포인트가 부족합니다.");
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PointRequestRejectedException("요청 처리가 중단되었습니다.", ex);
+        }
+    }
+
+    /**
+     * 사용자 대기열의 워커에서 실행되며, 같은 사용자에 대해 동시에 실행되지 않습니다.
+     * 보류 중인 요청을 모두 꺼내 한 번의 조회와 한 번의 저장으로 잔액에 반영하고,
+     * 요청마다 자신의 결과와 PointHistory 를 남깁니다.
+     * 이력을 먼저 저장하고 잔액은 마지막에 저장하므로, 이력 저장이 중간에 실패하면 이력이 남은 요청까지만 잔액에 반영됩니다.
+     * 기록(journal)을 남긴 뒤 실패로 응답하는 요청은 보상 기록을 남겨, 재시작할 때 잔액에 더해지지 않게 합니다.
+     */
+    private void flush(long userId) {
+        List<PointCommand> batch = drainPending(userId);
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<PointCommand> journaled = new ArrayList<>(batch.size());
+        long now = System.currentTimeMillis();
+        try {
+            // 요청된 사용자 아이디로 사용자 포인트 정보를 한 번만 조회합니다.
+            UserPoint currentPoint = userPointRepository.selectById(userId);
+            long balance = currentPoint == null ? 0 : currentPoint.point();
+
+            List<PointCommand> applied = new ArrayList<>(batch.size());
+            List<Long> balances = new ArrayList<>(batch.size());
+            for (PointCommand command : batch) {
+                try {
+                    balance = PointPolicy.apply(currentPoint, balance, command.type(), command.amount());
+                    applied.add(command);
+                    balances.add(balance);
+                } catch (PointException ex) {
+                    // 실패한 요청만 실패 이벤트로 남기고, 같은 배치의 나머지 요청은 계속 처리합니다.
+                    recordFailure(command, ex.getMessage());
+                    command.result().completeExceptionally(ex);
+                }
+            }
+            if (applied.isEmpty()) {
+                return;
             }
 
-            long updatedPoints = currentPoint.point() - amount;
-            UserPoint updatedUserPoint = new UserPoint(id, updatedPoints, System.currentTimeMillis());
-            userPointRepository.save(updatedUserPoint);
+            // 응답하기 전에 배치의 기록을 모두 남기고, fsync 한 번으로 함께 내려씁니다.
+            long sequence = 0;
+            for (PointCommand command : applied) {
+                sequence = journal.append(userId, PointPolicy.signedAmount(command.type(), command.amount()), command.type(), now);
+                journaled.add(command);
+            }
+            journal.awaitDurable(sequence);
 
-            PointHistory history = new PointHistory(id, currentPoint.id(), -amount, TransactionType.USE, System.currentTimeMillis());
-            pointHistoryRepository.save(history);
-            return updatedUserPoint;
-        } catch (PointException ex) {
-            failedEventRepository.save(new PointFailedEvent(id, id, "USE", amount, ex.getMessage(), System.currentTimeMillis()));
-            logger.error("포인트 사용실패아이디: {}. 사용실패포인트: {}. 에러: {}", id, amount, ex.getMessage());
-            throw ex;
-        } finally {
-            if (lockAcquired) {
-                lock.unlock();
+            // 요청마다 자신의 포인트 변경 이력을 저장합니다. 실패하면 그 요청부터는 잔액에 반영하지 않습니다.
+            int persisted = 0;
+            RuntimeException historyFailure = null;
+            for (; persisted < applied.size(); persisted++) {
+                PointCommand command = applied.get(persisted);
+                long signedAmount = PointPolicy.signedAmount(command.type(), command.amount());
+                try {
+                    pointHistoryRepository.saveAsync(new PointHistory(userId, userId, signedAmount, command.type(), now));
+                } catch (RuntimeException ex) {
+                    historyFailure = ex;
+                    break;
+                }
             }
+
+            // 이력이 남은 요청까지의 결과를 한 번에 저장하고 결과를 돌려줍니다.
+            if (persisted > 0) {
+                userPointRepository.save(new UserPoint(userId, balances.get(persisted - 1), now));
+                for (int i = 0; i < persisted; i++) {
+                    applied.get(i).result().complete(new UserPoint(userId, balances.get(i), now));
+                }
+            }
+            if (historyFailure != null) {
+                abortJournal(userId, journaled.subList(persisted, journaled.size()), now);
+                failAll(batch, historyFailure);
+            }
+        } catch (RuntimeException ex) {
+            // 저장소 오류처럼 배치 전체가 실패한 경우 아직 결과를 받지 못한 요청에 모두 전달합니다.
+            abortJournal(userId, journaled.stream().filter(command -> !command.result().isDone()).toList(), now);
+            failAll(batch, ex);
+        }
+    }
+
+    private void abortJournal(long userId, List<PointCommand> commands, long now) {
+        for (PointCommand command : commands) {
+            journal.abort(userId, PointPolicy.signedAmount(command.type(), command.amount()), command.type(), now);
+        }
+    }
+
+    /**
+     * 아직 결과를 받지 못한 요청을 실패로 완료하고 실패 이벤트로 남깁니다.
+     */
+    private void failAll(List<PointCommand> batch, RuntimeException ex) {
+        for (PointCommand command : batch) {
+            if (command.result().completeExceptionally(ex)) {
+                recordFailure(command, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 보류 목록을 통째로 떼어내고, 호출자가 아직 포기하지 않은 요청만 배치에 포함시킵니다.
+     */
+    private List<PointCommand> drainPending(long userId) {
+        ArrayDeque<PointCommand> pending = pendingCommands.remove(userId);
+        if (pending == null) {
+            return List.of();
+        }
+        List<PointCommand> batch = new ArrayList<>(pending.size());
+        for (PointCommand command : pending) {
+            if (command.claim()) {
+                batch.add(command);
+            }
+        }
+        return batch;
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
+    private static String operation(PointCommand command) {
+        return command.type() == TransactionType.CHARGE ? "charge" : "use";
+    }
+
+    private void recordFailure(PointCommand command, String errorMessage) {
+        long id = command.userId();
+        failedEventRepository.save(new PointFailedEvent(id, id, command.type().name(), command.amount(), errorMessage, System.currentTimeMillis()));
+        if (command.type() == TransactionType.CHARGE) {
+            logger.error("포인트 충전실패아이디: {}. 실패포인트: {}. 에러: {}", id, command.amount(), errorMessage);
+        } else {
+            logger.error("포인트 사용실패아이디: {}. 사용실패포인트: {}. 에러: {}", id, command.amount(), errorMessage);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,591 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointShardingProperties;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.PointHistoryPage;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.FailedEventRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * 사용자를 고정된 수의 샤드로 나눠 처리하는 포인트 엔진 (point.engine=sharded)
+ * - userId 해시로 샤드를 고르고, 샤드마다 스레드 하나가 우편함(mailbox)의 요청을 들어온 순서대로 처리합니다.
+ * - 샤드가 맡은 사용자의 잔액은 그 샤드 스레드만 읽고 쓰므로 잔액에는 잠금도 CAS 도 없습니다.
+ *   사용자 수가 많으면 샤드 수(기본 코어 수)만큼 병렬로 처리되고, 한 사용자에게 몰린 요청은 그 샤드 하나에서 차례대로 처리됩니다.
+ * - 샤드는 우편함에서 batchSize 개까지 꺼내 잔액에 반영한 뒤, 기록(journal) fsync, 이력 저장, 잔액 저장 순서로 묶음을 한 번에 남기고 응답합니다.
+ *   - 기록에 실패하면 아직 아무것도 저장하지 않았으므로 바꾼 잔액을 되돌리고 묶음의 요청을 모두 실패로 돌려줍니다.
+ *   - 이력 저장에 실패하면 이력이 저장된 앞쪽 요청만 잔액에 반영하고, 그 뒤 요청은 실패로 돌려줍니다.
+ *   - 잔액 저장에 실패한 사용자는 저장소의 잔액이 메모리와 어긋났을 수 있으므로, 기억한 잔액을 버리고 다음 요청에서 저장소에서 다시 읽습니다.
+ *     그 사용자의 요청은 실패로 돌려주지만 이미 저장된 이력은 지울 수 없으므로 남고, 실패 이벤트로 맞춰볼 수 있습니다.
+ *   실패로 돌려준 요청은 모두 실패 이벤트로 남기고, 재시작할 때 잔액에 더해지지 않도록 기록을 되돌립니다(abort).
+ * - 처음 보는 사용자의 잔액은 요청 스레드가 저장소에서 미리 읽어 요청과 함께 보내므로, 샤드 스레드는 저장소 조회를 기다리지 않습니다.
+ * - 잔액 조회도 우편함을 거치므로, 앞서 들어온 충전/사용이 기록된 뒤의 잔액을 돌려줍니다.
+ * - 우편함이 가득 차면 기다리지 않고 거절하며, 샤드별 우편함 깊이는 point.shard.mailbox.depth 로 봅니다.
+ */
+@Service
+@ConditionalOnProperty(name = "point.engine", havingValue = "sharded")
+public class ShardedPointService implements PointService {
+    private static final Logger logger = LoggerFactory.getLogger(ShardedPointService.class);
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final FailedEventRepository failedEventRepository;
+    private final PointAsyncExecutor asyncExecutor;
+    private final PointMetrics metrics;
+    private final PointJournal journal;
+    private final int batchSize;
+    private final long timeoutMillis;
+    private final Shard[] shards;
+    private volatile boolean running = true;
+
+    public ShardedPointService(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository, FailedEventRepository failedEventRepository) {
+        this(userPointRepository, pointHistoryRepository, failedEventRepository, PointShardingProperties.defaults(),
+                new PointAsyncExecutor(PointExecutionProperties.platform()), PointExecutionProperties.platform(), PointMetrics.noop(), PointJournal.noop());
+    }
+
+    @Autowired
+    public ShardedPointService(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository, FailedEventRepository failedEventRepository,
+                               PointShardingProperties properties, PointAsyncExecutor asyncExecutor, PointExecutionProperties execution,
+                               PointMetrics metrics, PointJournal journal) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.failedEventRepository = failedEventRepository;
+        this.asyncExecutor = asyncExecutor;
+        this.metrics = metrics;
+        this.journal = journal;
+        this.batchSize = properties.batchSize();
+        this.timeoutMillis = properties.timeoutMillis();
+        this.shards = new Shard[properties.shardCount()];
+        for (int index = 0; index < shards.length; index++) {
+            Shard shard = new Shard(properties.mailboxCapacity());
+            shards[index] = shard;
+            metrics.shardGauge("point.shard.mailbox.depth", index, shard.mailbox, BlockingQueue::size);
+            shard.thread = execution.threadFactory("point-shard-" + index + "-").newThread(shard::run);
+            shard.thread.start();
+        }
+    }
+
+    @Override
+    public UserPoint getPointById(long id) {
+        return metrics.timeService("get_point", () -> {
+            UserPoint userPoint = await(read(id));
+            if (userPoint == null) {
+                throw new PointException("존재하지 않는 사용자 ID입니다.");
+            }
+            return userPoint;
+        });
+    }
+
+    @Override
+    public List<PointHistory> getHistoriesByUserId(long id) {
+        return metrics.timeService("get_histories", () -> pointHistoryRepository.selectAllByUserId(id));
+    }
+
+    @Override
+    public PointHistoryPage getHistoryPage(long id, PointHistoryCondition condition) {
+        return metrics.timeService("get_history_page", () -> {
+            List<PointHistory> histories = pointHistoryRepository.selectByUserId(id, condition, condition.size() + 1);
+            if (histories.size() <= condition.size()) {
+                return new PointHistoryPage(histories, null);
+            }
+            List<PointHistory> page = histories.subList(0, condition.size());
+            return new PointHistoryPage(page, page.get(page.size() - 1).id());
+        });
+    }
+
+    @Override
+    public void streamHistoriesByUserId(long id, Consumer<PointHistory> consumer) {
+        metrics.timeService("stream_histories", () -> pointHistoryRepository.forEachByUserId(id, consumer));
+    }
+
+    @Override
+    public UserPoint chargePoint(long id, long amount) {
+        return metrics.timeService("charge", () -> await(send(new PointCommand(id, TransactionType.CHARGE, amount))));
+    }
+
+    @Override
+    public UserPoint usePoint(long id, long amount) {
+        return metrics.timeService("use", () -> await(send(new PointCommand(id, TransactionType.USE, amount))));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> getPointByIdAsync(long id) {
+        return metrics.timeServiceAsync("get_point", () -> read(id).thenApply(userPoint -> {
+            if (userPoint == null) {
+                throw new PointException("존재하지 않는 사용자 ID입니다.");
+            }
+            return userPoint;
+        }));
+    }
+
+    /**
+     * 아이디마다 맡은 샤드의 우편함으로 조회를 보내고, 모두 돌아오면 요청 순서대로 모읍니다.
+     */
+    @Override
+    public CompletableFuture<List<UserPoint>> getPointsByIdsAsync(List<Long> ids) {
+        List<CompletableFuture<UserPoint>> reads = new LinkedHashSet<>(ids).stream().map(this::read).toList();
+        return CompletableFuture.allOf(reads.toArray(CompletableFuture[]::new))
+                .thenApply(done -> reads.stream().map(CompletableFuture::join).filter(Objects::nonNull).toList());
+    }
+
+    @Override
+    public CompletableFuture<List<PointHistory>> getHistoriesByUserIdAsync(long id) {
+        return CompletableFuture.supplyAsync(() -> getHistoriesByUserId(id), asyncExecutor);
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> chargePointAsync(long id, long amount) {
+        return metrics.timeServiceAsync("charge", () -> withDeadline(send(new PointCommand(id, TransactionType.CHARGE, amount))));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> usePointAsync(long id, long amount) {
+        return metrics.timeServiceAsync("use", () -> withDeadline(send(new PointCommand(id, TransactionType.USE, amount))));
+    }
+
+    /**
+     * 요청을 하나씩 맡은 샤드로 보냅니다. 같은 사용자의 요청은 같은 우편함에 요청 순서대로 들어가므로 순서대로 반영됩니다.
+     */
+    @Override
+    public CompletableFuture<List<PointOperationResult>> applyBulkAsync(List<PointOperation> operations) {
+        List<CompletableFuture<PointOperationResult>> results = new ArrayList<>(operations.size());
+        for (PointOperation operation : operations) {
+            PointCommand command = send(new PointCommand(operation.userId(), operation.type(), operation.amount()));
+            results.add(withDeadline(command).handle((userPoint, ex) -> ex == null
+                    ? PointOperationResult.success(operation, userPoint)
+                    : PointOperationResult.failure(operation, unwrap(ex).getMessage())));
+        }
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(done -> results.stream().map(CompletableFuture::join).toList());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Shard shard : shards) {
+            shard.thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * 샤드별 우편함에 쌓인 요청 수
+     */
+    public int[] mailboxDepths() {
+        int[] depths = new int[shards.length];
+        for (int index = 0; index < shards.length; index++) {
+            depths[index] = shards[index].mailbox.size();
+        }
+        return depths;
+    }
+
+    private Shard shardOf(long userId) {
+        // 연속된 아이디가 샤드에 고르게 나뉘도록 섞은 뒤 나눕니다.
+        return shards[Math.floorMod(Long.hashCode(userId * 0x9E3779B97F4A7C15L), shards.length)];
+    }
+
+    private CompletableFuture<UserPoint> read(long id) {
+        BalanceRead read = new BalanceRead(id, new CompletableFuture<>());
+        if (!running || !shardOf(id).mailbox.offer(prefetch(id, read))) {
+            metrics.countRejection("get_point", running ? "queue_full" : "closed");
+            read.result().completeExceptionally(new PointRequestRejectedException("요청 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."));
+        }
+        return read.result();
+    }
+
+    /**
+     * 우편함이 가득 찼거나 종료 중이면 요청을 포기시키고 실패로 완료합니다.
+     */
+    private PointCommand send(PointCommand command) {
+        if (running && shardOf(command.userId()).mailbox.offer(prefetch(command.userId(), command))) {
+            return command;
+        }
+        if (command.abandon()) {
+            PointRequestRejectedException rejected = new PointRequestRejectedException("요청 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+            metrics.countRejection(operation(command), running ? "queue_full" : "closed");
+            recordFailure(command, rejected.getMessage());
+            command.result().completeExceptionally(rejected);
+        }
+        return command;
+    }
+
+    /**
+     * 샤드가 아직 모르는 사용자면 요청 스레드에서 저장소를 읽어 요청과 함께 보냅니다.
+     * 읽다 실패하면 그대로 보내고, 샤드가 처리할 때 직접 읽습니다.
+     * 읽기 전에 샤드가 잔액을 버린 횟수를 함께 담아, 읽은 뒤 샤드가 잔액을 버렸으면 샤드가 미리 읽은 잔액을 쓰지 않게 합니다.
+     */
+    private Object prefetch(long userId, Object message) {
+        Shard shard = shardOf(userId);
+        long evictions = shard.evictions;
+        if (shard.balances.containsKey(userId)) {
+            return message;
+        }
+        try {
+            return new Prefetched(userId, evictions, userPointRepository.selectById(userId), message);
+        } catch (RuntimeException ex) {
+            logger.warn("잔액 미리 읽기실패아이디: {}. 에러: {}", userId, ex.getMessage());
+            return message;
+        }
+    }
+
+    private UserPoint await(PointCommand command) {
+        try {
+            return command.result().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // 샤드가 아직 꺼내지 않은 요청만 포기할 수 있습니다. 이미 처리 중이면 결과를 끝까지 기다립니다.
+            if (command.abandon()) {
+                PointRequestRejectedException rejected = new PointRequestRejectedException("요청 처리 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
+                metrics.countRejection(operation(command), "timeout");
+                recordFailure(command, rejected.getMessage());
+                throw rejected;
+            }
+            return await(command);
+        } catch (ExecutionException ex) {
+            throw rethrow(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PointRequestRejectedException("요청 처리가 중단되었습니다.", ex);
+        }
+    }
+
+    private UserPoint await(CompletableFuture<UserPoint> read) {
+        try {
+            return read.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            metrics.countRejection("get_point", "timeout");
+            throw new PointRequestRejectedException("요청 처리 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
+        } catch (ExecutionException ex) {
+            throw rethrow(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PointRequestRejectedException("요청 처리가 중단되었습니다.", ex);
+        }
+    }
+
+    /**
+     * 제한 시간 안에 결과가 나오면 타이머를 취소하고, 시간이 지나면 아직 샤드가 꺼내지 않은 요청만 포기합니다.
+     */
+    private CompletableFuture<UserPoint> withDeadline(PointCommand command) {
+        CompletableFuture<Void> deadline = new CompletableFuture<Void>().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        command.result().whenComplete((userPoint, ex) -> deadline.complete(null));
+        deadline.exceptionallyAsync(ex -> {
+            if (command.abandon()) {
+                PointRequestRejectedException rejected = new PointRequestRejectedException("요청 처리 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
+                metrics.countRejection(operation(command), "timeout");
+                recordFailure(command, rejected.getMessage());
+                command.result().completeExceptionally(rejected);
+            }
+            return null;
+        }, asyncExecutor);
+        return command.result();
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
+    private static String operation(PointCommand command) {
+        return command.type() == TransactionType.CHARGE ? "charge" : "use";
+    }
+
+    private void recordFailure(PointCommand command, String errorMessage) {
+        long id = command.userId();
+        failedEventRepository.save(new PointFailedEvent(id, id, command.type().name(), command.amount(), errorMessage, System.currentTimeMillis()));
+        logger.error("포인트 {}실패아이디: {}. 실패포인트: {}. 에러: {}", command.type() == TransactionType.CHARGE ? "충전" : "사용", id, command.amount(), errorMessage);
+    }
+
+    /**
+     * 잔액 조회 요청
+     */
+    private record BalanceRead(long userId, CompletableFuture<UserPoint> result) {
+    }
+
+    /**
+     * 요청 스레드가 미리 읽은 잔액을 붙인 요청, loaded 가 null 이면 저장소에 없는 사용자입니다.
+     * evictions 는 읽기 전에 본 샤드의 잔액 버림 횟수입니다.
+     */
+    private record Prefetched(long userId, long evictions, UserPoint loaded, Object message) {
+    }
+
+    /**
+     * 샤드가 맡은 사용자 한 명의 잔액
+     * committed 는 기록과 저장을 마친 잔액이고, point 는 지금 처리 중인 묶음에서 바뀐 잔액입니다.
+     */
+    private static final class Balance {
+        private UserPoint committed;
+        private long point;
+        private boolean touched;
+        // 이번 묶음에서 잔액 저장에 실패했으면 그 오류
+        private RuntimeException saveFailure;
+
+        private Balance(UserPoint committed) {
+            this.committed = committed;
+            this.point = committed.point();
+        }
+    }
+
+    /**
+     * 샤드 하나. mailbox, balances, evictions 를 뺀 모든 필드는 샤드 스레드만 읽고 씁니다.
+     * balances 와 evictions 는 샤드 스레드만 쓰고, 요청 스레드는 미리 읽을지 정하려고 키가 있는지와 버림 횟수만 봅니다.
+     */
+    private final class Shard {
+        private final BlockingQueue<Object> mailbox;
+        private final ConcurrentHashMap<Long, Balance> balances = new ConcurrentHashMap<>();
+        // 잔액 저장에 실패해 기억한 잔액을 버린 횟수, 그 전에 미리 읽은 잔액은 저장 실패 전의 값일 수 있으므로 쓰지 않습니다.
+        private volatile long evictions;
+        // 이번 묶음에서 저장소에 없다고 미리 확인한 사용자
+        private final Set<Long> missing = new HashSet<>();
+        private final List<Object> batch = new ArrayList<>();
+        private final List<PointCommand> applied = new ArrayList<>();
+        private final List<Long> appliedPoints = new ArrayList<>();
+        private final List<Balance> appliedBalances = new ArrayList<>();
+        private final List<Balance> touched = new ArrayList<>();
+        private final List<BalanceRead> reads = new ArrayList<>();
+        private Thread thread;
+
+        private Shard(int mailboxCapacity) {
+            this.mailbox = new ArrayBlockingQueue<>(mailboxCapacity);
+        }
+
+        private void run() {
+            while (running || !mailbox.isEmpty()) {
+                try {
+                    Object first = mailbox.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    mailbox.drainTo(batch, batchSize - 1);
+                    process();
+                } catch (InterruptedException ex) {
+                    // 종료 요청이면 남은 요청을 마저 처리하고 빠져나갑니다.
+                    running = false;
+                } catch (RuntimeException ex) {
+                    logger.error("샤드 처리실패. 에러: {}", ex.getMessage(), ex);
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        /**
+         * 묶음의 요청을 순서대로 잔액에 반영하고, 반영된 요청을 한 번에 기록하고 저장한 뒤 응답합니다.
+         */
+        private void process() {
+            for (Object message : batch) {
+                if (message instanceof Prefetched prefetched) {
+                    preload(prefetched);
+                    message = prefetched.message();
+                }
+                if (message instanceof BalanceRead read) {
+                    reads.add(read);
+                } else {
+                    apply((PointCommand) message);
+                }
+            }
+            try {
+                commit();
+            } finally {
+                for (Balance balance : touched) {
+                    balance.touched = false;
+                    balance.saveFailure = null;
+                }
+                touched.clear();
+                applied.clear();
+                appliedPoints.clear();
+                appliedBalances.clear();
+            }
+            // 조회는 앞선 요청의 기록과 저장이 끝난 뒤의 잔액으로 응답합니다.
+            for (BalanceRead read : reads) {
+                try {
+                    Balance balance = balance(read.userId());
+                    read.result().complete(balance == null ? null : balance.committed);
+                } catch (RuntimeException ex) {
+                    read.result().completeExceptionally(ex);
+                }
+            }
+            reads.clear();
+            missing.clear();
+        }
+
+        /**
+         * 요청 스레드가 미리 읽은 잔액을 넣습니다. 그 사이 샤드가 이미 읽었으면 샤드의 잔액을 씁니다.
+         * 읽은 뒤 샤드가 잔액을 버린 적이 있으면 버리기 전의 값일 수 있으므로 넣지 않고, 필요할 때 샤드가 다시 읽습니다.
+         */
+        private void preload(Prefetched prefetched) {
+            long userId = prefetched.userId();
+            if (balances.containsKey(userId) || prefetched.evictions() != evictions) {
+                return;
+            }
+            if (prefetched.loaded() == null) {
+                missing.add(userId);
+            } else {
+                balances.put(userId, new Balance(prefetched.loaded()));
+            }
+        }
+
+        private void apply(PointCommand command) {
+            if (!command.claim()) {
+                return;
+            }
+            try {
+                Balance balance = balance(command.userId());
+                long point = PointPolicy.apply(balance == null ? null : balance.committed, balance == null ? 0 : balance.point,
+                        command.type(), command.amount());
+                balance.point = point;
+                if (!balance.touched) {
+                    balance.touched = true;
+                    touched.add(balance);
+                }
+                applied.add(command);
+                appliedPoints.add(point);
+                appliedBalances.add(balance);
+            } catch (PointException ex) {
+                // 실패한 요청만 실패 이벤트로 남기고, 같은 묶음의 나머지 요청은 계속 처리합니다.
+                recordFailure(command, ex.getMessage());
+                command.result().completeExceptionally(ex);
+            } catch (RuntimeException ex) {
+                command.result().completeExceptionally(ex);
+            }
+        }
+
+        private void commit() {
+            if (applied.isEmpty()) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            int journaled = 0;
+            try {
+                // 응답하기 전에 묶음의 기록을 모두 남기고, fsync 한 번으로 함께 내려씁니다.
+                long sequence = 0;
+                for (PointCommand command : applied) {
+                    sequence = journal.append(command.userId(), PointPolicy.signedAmount(command.type(), command.amount()), command.type(), now);
+                    journaled++;
+                }
+                journal.awaitDurable(sequence);
+            } catch (RuntimeException ex) {
+                // 아직 아무것도 저장하지 않았으므로 바꾼 잔액만 되돌리면 묶음 전체가 없던 일이 됩니다.
+                for (Balance balance : touched) {
+                    balance.point = balance.committed.point();
+                }
+                for (int i = 0; i < applied.size(); i++) {
+                    fail(applied.get(i), ex, i < journaled, now);
+                }
+                return;
+            }
+            // 이력을 먼저 저장하고, 이력 저장에 실패하면 이력이 남은 앞쪽 요청까지만 잔액에 반영합니다.
+            int saved = 0;
+            try {
+                for (PointCommand command : applied) {
+                    long signedAmount = PointPolicy.signedAmount(command.type(), command.amount());
+                    pointHistoryRepository.saveAsync(new PointHistory(command.userId(), command.userId(), signedAmount, command.type(), now));
+                    saved++;
+                }
+            } catch (RuntimeException ex) {
+                for (Balance balance : touched) {
+                    balance.point = balance.committed.point();
+                }
+                for (int i = 0; i < saved; i++) {
+                    appliedBalances.get(i).point = appliedPoints.get(i);
+                }
+                for (int i = saved; i < applied.size(); i++) {
+                    fail(applied.get(i), ex, true, now);
+                }
+            }
+            // 잔액은 마지막에 사용자마다 묶음의 마지막 잔액만 저장합니다.
+            for (Balance balance : touched) {
+                if (balance.point == balance.committed.point()) {
+                    continue;
+                }
+                long userId = balance.committed.id();
+                try {
+                    userPointRepository.save(new UserPoint(userId, balance.point, now));
+                    balance.committed = new UserPoint(userId, balance.point, now);
+                } catch (RuntimeException ex) {
+                    // 저장소의 잔액을 알 수 없으므로 기억한 잔액을 버리고, 다음 요청에서 저장소에서 다시 읽습니다.
+                    balance.saveFailure = ex;
+                    balances.remove(userId);
+                    evictions++;
+                }
+            }
+            for (int i = 0; i < saved; i++) {
+                PointCommand command = applied.get(i);
+                RuntimeException saveFailure = appliedBalances.get(i).saveFailure;
+                if (saveFailure != null) {
+                    fail(command, saveFailure, true, now);
+                } else {
+                    command.result().complete(new UserPoint(command.userId(), appliedPoints.get(i), now));
+                }
+            }
+        }
+
+        /**
+         * 묶음 저장에 실패한 요청을 실패 이벤트로 남기고 실패로 응답합니다.
+         * 기록을 남긴 요청이면 재시작할 때 잔액에 더해지지 않도록 기록도 되돌립니다.
+         */
+        private void fail(PointCommand command, RuntimeException ex, boolean journaled, long now) {
+            if (journaled) {
+                journal.abort(command.userId(), PointPolicy.signedAmount(command.type(), command.amount()), command.type(), now);
+            }
+            recordFailure(command, ex.getMessage());
+            command.result().completeExceptionally(ex);
+        }
+
+        /**
+         * 보통은 요청 스레드가 미리 읽어 둔 잔액을 씁니다. 미리 읽지 못한 사용자만 샤드 스레드에서 저장소를 읽습니다.
+         * 저장소에 없는 사용자는 기억하지 않습니다. (규칙 검사에서 실패 처리)
+         */
+        private Balance balance(long userId) {
+            Balance balance = balances.get(userId);
+            if (balance != null || missing.contains(userId)) {
+                return balance;
+            }
+            UserPoint loaded = userPointRepository.selectById(userId);
+            if (loaded == null) {
+                return null;
+            }
+            balance = new Balance(loaded);
+            balances.put(userId, balance);
+            return balance;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointQueueProperties;
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 사용자 아이디별 FIFO 대기열에 요청을 쌓고, 공용 워커 풀이 대기열을 하나씩 꺼내 순차적으로 처리합니다.
+ * - 같은 사용자의 요청은 들어온 순서대로 한 번에 하나씩만 실행됩니다.
+ * - 서로 다른 사용자의 요청은 워커 수만큼 병렬로 실행됩니다.
+ * - 대기열이 비면 사용자별 대기열을 맵에서 제거하므로 사용자 수만큼 객체가 쌓이지 않습니다.
+ * - point.queue.lanes=striped 이면 아이디 해시로 고정 개수의 대기열에 배정하므로 맵 크기가 stripes 를 넘지 않습니다.
+ * - point.execution.virtual-threads=true 이면 워커 풀 대신 작업마다 가상 스레드를 사용합니다.
+ *   같은 사용자의 순서는 drain 이 보장하므로 워커 수 제한 없이 사용자 수만큼 병렬로 실행됩니다.
+ */
+@Component
+public class UserRequestQueueExecutor {
+
+    private final ConcurrentHashMap<Long, UserQueue> queues = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    private final int maxQueueDepth;
+    private final long timeoutMillis;
+    private final int drainBatchSize;
+    // striped 방식이면 대기열 번호를 고르는 마스크, per-user 방식이면 -1
+    private final long stripeMask;
+    private final PointMetrics metrics;
+
+    public UserRequestQueueExecutor(PointQueueProperties properties) {
+        this(properties, PointExecutionProperties.platform(), PointMetrics.noop());
+    }
+
+    @Autowired
+    public UserRequestQueueExecutor(PointQueueProperties properties, PointExecutionProperties execution, PointMetrics metrics) {
+        ThreadFactory threadFactory = execution.threadFactory("point-worker-");
+        this.workers = execution.virtualThreads()
+                ? Executors.newThreadPerTaskExecutor(threadFactory)
+                : Executors.newFixedThreadPool(properties.workers(), threadFactory);
+        this.maxQueueDepth = properties.maxQueueDepth();
+        this.timeoutMillis = properties.timeoutMillis();
+        this.drainBatchSize = properties.drainBatchSize();
+        if (properties.lanes() == PointQueueProperties.Lanes.STRIPED && Integer.bitCount(properties.stripes()) != 1) {
+            throw new IllegalArgumentException("stripes 는 2의 거듭제곱이어야 합니다.");
+        }
+        this.stripeMask = properties.lanes() == PointQueueProperties.Lanes.STRIPED ? properties.stripes() - 1 : -1;
+        this.metrics = metrics;
+        // 대기열을 가진 사용자 수, 대기열이 비면 줄어듭니다.
+        metrics.gauge("point.queue.users", this, UserRequestQueueExecutor::activeUserCount);
+    }
+
+    /**
+     * 작업을 사용자 대기열에 넣고 처리 결과를 기다립니다.
+     * 작업에서 발생한 RuntimeException 은 그대로 다시 던집니다.
+     */
+    public <T> T execute(long userId, Callable<T> callable) {
+        QueuedTask<T> task = enqueue(userId, callable);
+        try {
+            return task.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // 아직 시작되지 않은 작업이면 포기시키고, 이미 실행 중이면 결과를 끝까지 기다립니다.
+            if (task.abandon()) {
+                throw new PointRequestRejectedException("요청 처리 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
+            }
+            return task.future.join();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            task.abandon();
+            throw new PointRequestRejectedException("요청 처리가 중단되었습니다.", ex);
+        }
+    }
+
+    /**
+     * 작업을 사용자 대기열에 넣고 결과를 기다리지 않고 Future 를 반환합니다.
+     */
+    public <T> CompletableFuture<T> submit(long userId, Callable<T> callable) {
+        return enqueue(userId, callable).future;
+    }
+
+    public long timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public int maxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * 현재 대기 중인 요청이 있는 대기열 수 (per-user 방식이면 사용자 수)
+     */
+    public int activeUserCount() {
+        return queues.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private <T> QueuedTask<T> enqueue(long userId, Callable<T> callable) {
+        long laneId = laneOf(userId);
+        QueuedTask<T> task = new QueuedTask<>(callable);
+        AtomicBoolean startDrain = new AtomicBoolean(false);
+        // compute 는 키 단위로 원자적으로 실행되므로 대기열 조작과 drain 시작 여부 판단이 함께 보호됩니다.
+        queues.compute(laneId, (id, queue) -> {
+            UserQueue userQueue = queue == null ? new UserQueue() : queue;
+            if (userQueue.tasks.size() >= maxQueueDepth) {
+                throw new PointRequestRejectedException("요청 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+            }
+            userQueue.tasks.addLast(task);
+            if (!userQueue.draining) {
+                userQueue.draining = true;
+                startDrain.set(true);
+            }
+            return userQueue;
+        });
+        if (startDrain.get()) {
+            workers.execute(() -> drain(laneId));
+        }
+        return task;
+    }
+
+    private long laneOf(long userId) {
+        if (stripeMask < 0) {
+            return userId;
+        }
+        // 연속된 아이디가 같은 대기열에 몰리지 않도록 섞은 뒤 자릅니다.
+        long mixed = userId * 0x9E3779B97F4A7C15L;
+        return (mixed ^ (mixed >>> 32)) & stripeMask;
+    }
+
+    private void drain(long laneId) {
+        for (int i = 0; i < drainBatchSize; i++) {
+            QueuedTask<?> task = poll(laneId);
+            if (task == null) {
+                return;
+            }
+            long started = System.nanoTime();
+            if (task.run()) {
+                metrics.recordQueueWait(started - task.enqueuedNanos);
+                metrics.recordQueueHold(System.nanoTime() - started);
+            }
+        }
+        // 한 사용자가 워커를 독점하지 않도록 남은 작업은 워커 풀의 뒤로 다시 보냅니다.
+        workers.execute(() -> drain(laneId));
+    }
+
+    /**
+     * 다음 작업을 꺼냅니다. 대기열이 비어 있으면 맵에서 제거하고 null 을 반환합니다.
+     */
+    private QueuedTask<?> poll(long laneId) {
+        QueuedTask<?>[] next = new QueuedTask<?>[1];
+        queues.computeIfPresent(laneId, (id, userQueue) -> {
+            next[0] = userQueue.tasks.pollFirst();
+            return next[0] == null ? null : userQueue;
+        });
+        return next[0];
+    }
+
+    private static final class UserQueue {
+        private final ArrayDeque<QueuedTask<?>> tasks = new ArrayDeque<>();
+        private boolean draining;
+    }
+
+    private static final class QueuedTask<T> {
+        private static final int WAITING = 0;
+        private static final int RUNNING = 1;
+        private static final int ABANDONED = 2;
+
+        private final Callable<T> callable;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final long enqueuedNanos = System.nanoTime();
+
+        private QueuedTask(Callable<T> callable) {
+            this.callable = callable;
+        }
+
+        boolean abandon() {
+            return state.compareAndSet(WAITING, ABANDONED);
+        }
+
+        /**
+         * 작업을 실행합니다. 호출자가 이미 포기한 작업이면 실행하지 않고 false 를 반환합니다.
+         */
+        boolean run() {
+            if (!state.compareAndSet(WAITING, RUNNING)) {
+                return false;
+            }
+            try {
+                future.complete(callable.call());
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+            return true;
+        }
+    }
+}
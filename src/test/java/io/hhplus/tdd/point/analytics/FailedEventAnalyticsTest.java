@@ -0,0 +1,107 @@
+package io.hhplus.tdd.point.analytics;
+
+import io.hhplus.tdd.point.config.PointFailedEventAnalyticsProperties;
+import io.hhplus.tdd.point.model.FailedEventSummary;
+import io.hhplus.tdd.point.model.FailedEventSummary.ErrorFailures;
+import io.hhplus.tdd.point.model.FailedEventSummary.OperationFailures;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 실패 이벤트 집계가 분 단위로 쌓이고, 기간이 지나면 빠지고, 조합 수와 사용자 수가 묶여 있는지 검증합니다.
+ */
+class FailedEventAnalyticsTest {
+    private static final long BASE_MINUTE = 30_000_000L;
+
+    private final AtomicLong now = new AtomicLong(millis(BASE_MINUTE));
+
+    @Test
+    @DisplayName("성공테스트-작업별 분당 실패 수를 오래된 분부터 돌려줍니다")
+    void 작업별_분당_실패_수를_돌려줍니다() {
+        FailedEventAnalytics analytics = new FailedEventAnalytics(new PointFailedEventAnalyticsProperties(60, 1024, 100, 10), now::get);
+        analytics.record(event(1L, "USE", "포인트가 부족합니다.", BASE_MINUTE - 2));
+        analytics.record(event(1L, "USE", "포인트가 부족합니다.", BASE_MINUTE));
+        analytics.record(event(2L, "USE", "포인트가 부족합니다.", BASE_MINUTE));
+        analytics.record(event(3L, "CHARGE", "최대 포인트를 초과합니다.", BASE_MINUTE - 1));
+
+        FailedEventSummary summary = analytics.summary(3, 10);
+
+        assertEquals(3, summary.minutes());
+        assertEquals(List.of(new OperationFailures("CHARGE", 1L, List.of(0L, 1L, 0L)),
+                new OperationFailures("USE", 3L, List.of(1L, 0L, 2L))), summary.operations());
+        assertEquals(new ErrorFailures("USE", "포인트가 부족합니다.", 3L), summary.errors().get(0));
+        assertEquals(1L, summary.topUsers().get(0).userId());
+    }
+
+    @Test
+    @DisplayName("성공테스트-보관 기간이 지난 실패는 집계에서 빠집니다")
+    void 보관_기간이_지난_실패는_빠집니다() {
+        FailedEventAnalytics analytics = new FailedEventAnalytics(new PointFailedEventAnalyticsProperties(5, 1024, 100, 1), now::get);
+        analytics.record(event(1L, "USE", "포인트가 부족합니다.", BASE_MINUTE));
+
+        now.set(millis(BASE_MINUTE + 5));
+        FailedEventSummary summary = analytics.summary(60, 10);
+
+        assertEquals(5, summary.minutes());
+        assertEquals(0L, summary.operations().get(0).total());
+        assertTrue(summary.errors().isEmpty());
+        assertTrue(summary.topUsers().isEmpty());
+    }
+
+    @Test
+    @DisplayName("성공테스트-사용자 수가 스케치 칸보다 많아도 실패가 많은 사용자는 상위에 남습니다")
+    void 실패가_많은_사용자는_상위에_남습니다() {
+        FailedEventAnalytics analytics = new FailedEventAnalytics(new PointFailedEventAnalyticsProperties(60, 1024, 10, 10), now::get);
+        for (long userId = 100; userId < 1_100; userId++) {
+            analytics.record(event(userId, "USE", "포인트가 부족합니다.", BASE_MINUTE));
+            if (userId % 2 == 0) {
+                analytics.record(event(7L, "USE", "포인트가 부족합니다.", BASE_MINUTE));
+            }
+        }
+
+        FailedEventSummary summary = analytics.summary(1, 3);
+
+        assertEquals(3, summary.topUsers().size());
+        assertEquals(7L, summary.topUsers().get(0).userId());
+        assertTrue(summary.topUsers().get(0).count() >= 500L);
+    }
+
+    @Test
+    @DisplayName("실패테스트-오류 메시지 조합이 상한을 넘으면 기타로 묶어 셉니다")
+    void 조합이_상한을_넘으면_기타로_묶습니다() {
+        FailedEventAnalytics analytics = new FailedEventAnalytics(new PointFailedEventAnalyticsProperties(60, 2, 100, 10), now::get);
+        analytics.record(event(1L, "USE", "오류1", BASE_MINUTE));
+        analytics.record(event(1L, "USE", "오류2", BASE_MINUTE));
+        analytics.record(event(1L, "USE", "오류3", BASE_MINUTE));
+        analytics.record(event(1L, "USE", "오류4", BASE_MINUTE));
+
+        FailedEventSummary summary = analytics.summary(1, 10);
+
+        assertEquals(3, summary.errors().size());
+        assertEquals(new ErrorFailures("USE", FailedEventAnalytics.OTHER_ERRORS, 2L), summary.errors().get(0));
+        assertEquals(4L, summary.operations().get(0).total());
+    }
+
+    private static PointFailedEvent event(long userId, String operation, String errorMessage, long minute) {
+        return new PointFailedEvent(0, userId, operation, 10L, errorMessage, millis(minute) + 1_000L);
+    }
+
+    private static long millis(long minute) {
+        return TimeUnit.MINUTES.toMillis(minute);
+    }
+
+    @Test
+    @DisplayName("실패테스트-보관 기간, 상위 사용자 칸 수, 상위 사용자 주기가 1 보다 작으면 설정을 만들 수 없습니다")
+    void 잘못된_설정은_거부합니다() {
+        assertThrows(IllegalArgumentException.class, () -> new PointFailedEventAnalyticsProperties(0, 1024, 100, 10));
+        assertThrows(IllegalArgumentException.class, () -> new PointFailedEventAnalyticsProperties(60, 1024, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new PointFailedEventAnalyticsProperties(60, 1024, 100, 0));
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point.controller;
+
+import io.hhplus.tdd.point.service.IdempotencyCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 잘못된 Idempotency-Key 와 다른 요청에 다시 쓴 키가 500 이 아니라 클라이언트 오류로 응답되는지 검증합니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PointControllerIdempotencyTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("실패테스트-Idempotency-Key 가 최대 길이를 넘으면 400 으로 응답합니다")
+    void 키가_너무_길면_400_으로_응답합니다() throws Exception {
+        HttpResponse<String> response = charge(30_001L, 100L, "k".repeat(129));
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("\"code\":\"400\""), response.body());
+    }
+
+    @Test
+    @DisplayName("실패테스트-같은 Idempotency-Key 로 다른 금액을 충전하면 409 로 응답하고 다시 충전하지 않습니다")
+    void 같은_키로_다른_요청을_보내면_409_로_응답합니다() throws Exception {
+        long userId = 30_002L;
+        assertEquals(200, charge(userId, 100L, "key-1").statusCode());
+
+        HttpResponse<String> response = charge(userId, 200L, "key-1");
+
+        assertEquals(409, response.statusCode());
+        assertTrue(response.body().contains("\"code\":\"409\""), response.body());
+        HttpResponse<String> point = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + userId)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertTrue(point.body().contains("\"point\":100"), point.body());
+    }
+
+    private HttpResponse<String> charge(long userId, long amount, String idempotencyKey) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + userId + "/charge"))
+                .header("Content-Type", "application/json")
+                .header(IdempotencyCache.HEADER, idempotencyKey)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"amount\":" + amount + "}"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point.controller;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 가상 스레드 모드에서는 Tomcat 스레드 수 제한과 관계없이 Table 에서 대기 중인 요청이 동시에 처리되는지 검증합니다.
+ * Tomcat 스레드를 8개로 제한해 두고, 동시에 처리 중인 요청 수의 최댓값을 필터로 측정합니다.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.threads.virtual.enabled=true", "server.tomcat.threads.max=" + VirtualThreadLoadTest.PLATFORM_THREADS})
+class VirtualThreadLoadTest {
+    static final int PLATFORM_THREADS = 8;
+    private static final int REQUEST_COUNT = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InFlightFilter inFlightFilter;
+
+    @Test
+    @DisplayName("성공테스트-동시에 처리 중인 요청 수가 플랫폼 스레드 수를 넘습니다")
+    void 동시에_처리_중인_요청_수가_플랫폼_스레드_수를_넘습니다() {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        // 처음 조회하는 사용자는 UserPointTable 에서 읽어오므로 요청마다 Table 지연이 생깁니다.
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + (10_000 + i))).GET().build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+
+        assertTrue(responses.stream().allMatch(response -> response.join().statusCode() == 200));
+        assertTrue(inFlightFilter.peak() > PLATFORM_THREADS, "peak in-flight: " + inFlightFilter.peak());
+    }
+
+    @TestConfiguration
+    static class InFlightConfig {
+        @Bean
+        InFlightFilter inFlightFilter() {
+            return new InFlightFilter();
+        }
+    }
+
+    static class InFlightFilter extends OncePerRequestFilter {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        int peak() {
+            return peak.get();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.hhplus.tdd.point.journal;
+
+import io.hhplus.tdd.point.config.PointJournalProperties;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 기록을 남긴 뒤 다시 열었을 때 잔액이 복원되는지, 세그먼트 교체와 쓰다가 멈춘 기록을 올바르게 처리하는지 검증합니다.
+ */
+class MappedPointJournalTest {
+    @TempDir
+    Path directory;
+
+    private UserPointRepository store;
+
+    @BeforeEach
+    void setUp() {
+        store = Mockito.mock(UserPointRepository.class);
+    }
+
+    @Test
+    @DisplayName("성공테스트-다시 열면 기록을 모두 더해 사용자별 잔액을 복원합니다")
+    void 다시_열면_잔액을_복원합니다() throws InterruptedException {
+        MappedPointJournal journal = open(1024);
+        journal.append(1L, 100L, TransactionType.CHARGE, 1_000L);
+        journal.append(2L, 50L, TransactionType.CHARGE, 1_001L);
+        journal.awaitDurable(journal.append(1L, -30L, TransactionType.USE, 1_002L));
+        journal.shutdown();
+
+        MappedPointJournal reopened = open(1024);
+
+        verify(store).insertOrUpdate(1L, 70L);
+        verify(store).insertOrUpdate(2L, 50L);
+        // 복원한 기록 뒤부터 순번이 이어집니다.
+        assertEquals(4L, reopened.append(2L, 10L, TransactionType.CHARGE, 1_003L));
+        reopened.shutdown();
+    }
+
+    @Test
+    @DisplayName("성공테스트-세그먼트가 가득 차면 다음 세그먼트에 이어 쓰고, 닫힌 세그먼트는 체크포인트로 접어 지웁니다")
+    void 세그먼트를_넘겨_쓰고_체크포인트로_접습니다() throws InterruptedException, IOException {
+        // 세그먼트 하나에 기록 4개
+        MappedPointJournal journal = open(4 * JournalRecord.BYTES);
+        long sequence = 0;
+        for (int i = 0; i < 10; i++) {
+            sequence = journal.append(1L, 1L, TransactionType.CHARGE, 1_000L + i);
+        }
+        journal.awaitDurable(sequence);
+        journal.shutdown();
+
+        // 닫힌 세그먼트 0, 4 는 체크포인트에 접히고 지금 쓰는 세그먼트만 남습니다.
+        assertEquals(List.of("00000000000000000008.wal", "checkpoint"), segmentNames());
+        MappedPointJournal reopened = open(4 * JournalRecord.BYTES);
+        verify(store).insertOrUpdate(1L, 10L);
+        assertEquals(11L, reopened.append(1L, 1L, TransactionType.CHARGE, 1_010L));
+        reopened.shutdown();
+    }
+
+    @Test
+    @DisplayName("성공테스트-체크포인트를 쓴 뒤 세그먼트를 지우기 전에 멈춰도 체크포인트에 접힌 기록은 다시 더하지 않습니다")
+    void 체크포인트에_접힌_기록은_다시_더하지_않습니다() throws InterruptedException, IOException {
+        MappedPointJournal journal = open(4 * JournalRecord.BYTES);
+        long sequence = 0;
+        for (int i = 0; i < 6; i++) {
+            sequence = journal.append(1L, 1L, TransactionType.CHARGE, 1_000L + i);
+        }
+        journal.awaitDurable(sequence);
+        journal.shutdown();
+        // 체크포인트에 접힌 세그먼트 0 을 다시 써서, 체크포인트를 쓴 뒤 세그먼트를 지우기 전에 멈춘 상황을 만듭니다.
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("00000000000000000000.wal").toFile(), "rw")) {
+            for (int i = 0; i < 4; i++) {
+                file.writeLong(1L);
+                file.writeLong(1L);
+                file.writeLong(1_000L + i);
+                file.writeInt(TransactionType.CHARGE.ordinal());
+                file.writeInt(MappedPointJournal.checksum(1L, 1L, 1_000L + i, TransactionType.CHARGE.ordinal()));
+            }
+        }
+
+        open(4 * JournalRecord.BYTES).shutdown();
+        verify(store).insertOrUpdate(1L, 6L);
+    }
+
+    @Test
+    @DisplayName("실패테스트-뒤처리가 실패해 보상 기록을 남긴 요청은 다시 열어도 잔액에 더하지 않습니다")
+    void 보상_기록을_남긴_요청은_복원하지_않습니다() throws InterruptedException {
+        MappedPointJournal journal = open(1024);
+        journal.append(1L, 100L, TransactionType.CHARGE, 1_000L);
+        journal.awaitDurable(journal.append(1L, 50L, TransactionType.CHARGE, 1_001L));
+        journal.abort(1L, 50L, TransactionType.CHARGE, 1_001L);
+        journal.shutdown();
+
+        open(1024).shutdown();
+
+        verify(store).insertOrUpdate(1L, 100L);
+    }
+
+    @Test
+    @DisplayName("성공테스트-쓰다가 멈춘 기록은 버리고 그 자리부터 이어 씁니다")
+    void 쓰다가_멈춘_기록은_버립니다() throws InterruptedException, IOException {
+        MappedPointJournal journal = open(1024);
+        journal.append(1L, 100L, TransactionType.CHARGE, 1_000L);
+        journal.awaitDurable(journal.append(1L, 200L, TransactionType.CHARGE, 1_001L));
+        journal.shutdown();
+        // 두 번째 기록의 checksum 을 망가뜨려 기록 중에 멈춘 상황을 만듭니다.
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("00000000000000000000.wal").toFile(), "rw")) {
+            file.seek(JournalRecord.BYTES + 28);
+            file.writeInt(0);
+        }
+
+        MappedPointJournal reopened = open(1024);
+        verify(store).insertOrUpdate(1L, 100L);
+        reopened.awaitDurable(reopened.append(1L, 5L, TransactionType.CHARGE, 1_002L));
+        reopened.shutdown();
+
+        reset(store);
+        open(1024).shutdown();
+        verify(store).insertOrUpdate(1L, 105L);
+    }
+
+    private MappedPointJournal open(int segmentBytes) {
+        return new MappedPointJournal(new PointJournalProperties(true, directory.toString(), segmentBytes), store);
+    }
+
+    private List<String> segmentNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+}
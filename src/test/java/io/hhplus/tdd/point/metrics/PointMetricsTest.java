@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.exception.PointException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 지표 이름과 태그가 대시보드에서 쓰는 형태대로 기록되는지 검증합니다.
+ */
+class PointMetricsTest {
+    private SimpleMeterRegistry registry;
+    private PointMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new PointMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("성공테스트-서비스 처리 시간은 성공과 실패를 나눠 기록합니다")
+    void 서비스_처리_시간은_성공과_실패를_나눠_기록합니다() {
+        metrics.timeService("charge", () -> 1L);
+        assertThrows(PointException.class, () -> metrics.timeService("charge", () -> {
+            throw new PointException("포인트가 부족합니다.");
+        }));
+
+        assertEquals(1, registry.get("point.service").tags("operation", "charge", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("point.service").tags("operation", "charge", "outcome", "failure").timer().count());
+    }
+
+    @Test
+    @DisplayName("성공테스트-거절 사유별로 거절 수를 셉니다")
+    void 거절_사유별로_거절_수를_셉니다() {
+        metrics.countRejection("use", "timeout");
+        metrics.countRejection("use", "timeout");
+        metrics.countRejection("use", "queue_full");
+
+        assertEquals(2.0, registry.get("point.rejections").tags("operation", "use", "reason", "timeout").counter().count());
+        assertEquals(1.0, registry.get("point.rejections").tags("operation", "use", "reason", "queue_full").counter().count());
+    }
+
+    @Test
+    @DisplayName("성공테스트-같은 태그의 지표는 한 번만 등록하고 다시 씁니다")
+    void 같은_태그의_지표는_다시_씁니다() {
+        metrics.timeTable("user_point", "select", () -> 1L);
+        metrics.timeTable("user_point", "select", () -> 1L);
+        metrics.timeTable("user_point", "insert", () -> 1L);
+        metrics.countCasRetry("charge");
+        metrics.countCasRetry("charge");
+
+        assertEquals(2, registry.get("point.table").tags("table", "user_point", "operation", "select").timer().count());
+        assertEquals(1, registry.get("point.table").tags("table", "user_point", "operation", "insert").timer().count());
+        assertEquals(2, registry.find("point.table").timers().size());
+        assertEquals(2.0, registry.get("point.cas.retries").tags("operation", "charge").counter().count());
+    }
+
+    @Test
+    @DisplayName("성공테스트-비동기 처리 시간은 Future 가 완료될 때 성공과 실패를 나눠 기록합니다")
+    void 비동기_처리_시간은_완료될_때_기록합니다() {
+        CompletableFuture<Long> pending = new CompletableFuture<>();
+        CompletableFuture<Long> timed = metrics.timeServiceAsync("charge", () -> pending);
+        CompletableFuture<Long> failed = metrics.timeServiceAsync("use", () -> CompletableFuture.failedFuture(new PointException("포인트가 부족합니다.")));
+
+        // 완료되기 전에는 기록하지 않습니다.
+        assertNull(registry.find("point.service").tags("operation", "charge", "outcome", "success").timer());
+        pending.complete(1L);
+
+        assertSame(pending, timed);
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(1, registry.get("point.service").tags("operation", "charge", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("point.service").tags("operation", "use", "outcome", "failure").timer().count());
+    }
+}
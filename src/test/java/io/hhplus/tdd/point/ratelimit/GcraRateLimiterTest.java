@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GcraRateLimiterTest {
+
+    @Test
+    @DisplayName("성공테스트-순간 허용량까지는 바로 허용하고, 넘으면 다음 토큰까지 남은 시간을 알려줍니다")
+    void 순간_허용량을_넘으면_남은_시간을_알려줍니다() {
+        // 초당 10건, 순간 5건
+        GcraRateLimiter limiter = new GcraRateLimiter(16, 10, 5);
+        long now = TimeUnit.SECONDS.toNanos(10);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire(1L, now));
+        }
+        long wait = limiter.tryAcquire(1L, now);
+
+        assertTrue(wait > 0 && wait <= TimeUnit.MILLISECONDS.toNanos(100), "wait: " + wait);
+        // 토큰 하나가 채워질 시간이 지나면 다시 허용됩니다.
+        assertEquals(0, limiter.tryAcquire(1L, now + wait));
+    }
+
+    @Test
+    @DisplayName("성공테스트-다른 칸을 쓰는 사용자의 한도는 서로 영향을 주지 않습니다")
+    void 다른_사용자의_한도는_서로_영향을_주지_않습니다() {
+        GcraRateLimiter limiter = new GcraRateLimiter(65536, 1, 1);
+        long now = TimeUnit.SECONDS.toNanos(10);
+
+        assertEquals(0, limiter.tryAcquire(1L, now));
+        assertTrue(limiter.tryAcquire(1L, now) > 0);
+        assertEquals(0, limiter.tryAcquire(2L, now));
+    }
+}
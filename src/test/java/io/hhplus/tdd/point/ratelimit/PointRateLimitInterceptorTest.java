@@ -0,0 +1,145 @@
+package io.hhplus.tdd.point.ratelimit;
+
+import io.hhplus.tdd.point.config.PointIdempotencyProperties;
+import io.hhplus.tdd.point.config.PointRateLimitProperties;
+import io.hhplus.tdd.point.exception.PointRateLimitException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.service.IdempotencyCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * document/think.md 의 제한(동시에 20개, 하루 충전 10번)이 서비스 호출 전에 지켜지는지 검증합니다.
+ */
+class PointRateLimitInterceptorTest {
+    private static final MockHttpServletResponse RESPONSE = new MockHttpServletResponse();
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-03-01T12:00:00Z"), ZoneId.of("Asia/Seoul"));
+    private final IdempotencyCache idempotencyCache = new IdempotencyCache(new PointIdempotencyProperties(100, 128, 600_000L, 100), PointMetrics.noop());
+
+    @Test
+    @DisplayName("실패테스트-하루 충전 횟수를 넘으면 다음 날까지 기다리라는 응답으로 거절합니다")
+    void 하루_충전_횟수를_넘으면_거절합니다() throws Exception {
+        PointRateLimitInterceptor interceptor = interceptor(1000, 1000, 20, 10);
+
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = request(1L, "charge");
+            assertTrue(interceptor.preHandle(request, RESPONSE, null));
+            interceptor.afterCompletion(request, RESPONSE, null, null);
+        }
+        PointRateLimitException thrown = assertThrows(PointRateLimitException.class,
+                () -> interceptor.preHandle(request(1L, "charge"), RESPONSE, null));
+
+        // 2024-03-01 21:00 (Asia/Seoul) 기준 다음 날 0시까지 3시간
+        assertEquals(3 * 60 * 60, thrown.getRetryAfterSeconds());
+        // 사용 요청과 다른 사용자의 충전은 영향을 받지 않습니다.
+        assertTrue(interceptor.preHandle(request(1L, "use"), RESPONSE, null));
+        assertTrue(interceptor.preHandle(request(2L, "charge"), RESPONSE, null));
+    }
+
+    @Test
+    @DisplayName("실패테스트-동시에 처리 중인 요청이 한도를 넘으면 거절하고, 처리가 끝나면 다시 허용합니다")
+    void 동시_요청_한도를_넘으면_거절합니다() throws Exception {
+        PointRateLimitInterceptor interceptor = interceptor(1000, 1000, 2, 10);
+        MockHttpServletRequest first = request(1L, "use");
+        MockHttpServletRequest second = request(1L, "use");
+
+        assertTrue(interceptor.preHandle(first, RESPONSE, null));
+        assertTrue(interceptor.preHandle(second, RESPONSE, null));
+        assertThrows(PointRateLimitException.class, () -> interceptor.preHandle(request(1L, "use"), RESPONSE, null));
+
+        interceptor.afterCompletion(first, RESPONSE, null, null);
+        assertTrue(interceptor.preHandle(request(1L, "use"), RESPONSE, null));
+    }
+
+    @Test
+    @DisplayName("실패테스트-사용자별 요청 수를 넘으면 거절합니다")
+    void 사용자별_요청_수를_넘으면_거절합니다() throws Exception {
+        PointRateLimitInterceptor interceptor = interceptor(1, 3, 20, 10);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = request(1L, "use");
+            assertTrue(interceptor.preHandle(request, RESPONSE, null));
+            interceptor.afterCompletion(request, RESPONSE, null, null);
+        }
+        PointRateLimitException thrown = assertThrows(PointRateLimitException.class,
+                () -> interceptor.preHandle(request(1L, "use"), RESPONSE, null));
+        assertEquals(1, thrown.getRetryAfterSeconds());
+    }
+
+    @Test
+    @DisplayName("실패테스트-ids 파라미터로 여러 사용자를 조회하면 사용자마다 요청 수를 셉니다")
+    void 여러_사용자_조회도_사용자마다_셉니다() throws Exception {
+        PointRateLimitInterceptor interceptor = interceptor(1, 1, 20, 0);
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/point");
+        first.setParameter("ids", "1,2");
+        assertTrue(interceptor.preHandle(first, RESPONSE, null));
+        interceptor.afterCompletion(first, RESPONSE, null, null);
+
+        MockHttpServletRequest second = new MockHttpServletRequest("GET", "/point");
+        second.setParameter("ids", "3,2");
+        assertThrows(PointRateLimitException.class, () -> interceptor.preHandle(second, RESPONSE, null));
+    }
+
+    @Test
+    @DisplayName("실패테스트-일괄처리는 본문의 충전 건마다 하루 충전 횟수를 세고, 넘으면 잡았던 동시 요청 수를 돌려놓고 거절합니다")
+    void 일괄처리도_충전_건마다_셉니다() throws Exception {
+        PointRateLimitInterceptor interceptor = interceptor(1000, 1000, 1, 2);
+        List<PointOperation> operations = List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 100L),
+                new PointOperation(2L, TransactionType.CHARGE, 100L),
+                new PointOperation(1L, TransactionType.CHARGE, 100L),
+                new PointOperation(1L, TransactionType.CHARGE, 100L));
+
+        assertThrows(PointRateLimitException.class, () -> interceptor.admitBulk(new MockHttpServletRequest("PATCH", "/point/bulk"), operations));
+
+        // 거절된 일괄처리는 동시 요청 수도, 충전 횟수도 남기지 않습니다.
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/point/bulk");
+        interceptor.admitBulk(request, operations.subList(0, 3));
+        assertThrows(PointRateLimitException.class, () -> interceptor.preHandle(request(1L, "use"), RESPONSE, null));
+        interceptor.afterCompletion(request, RESPONSE, null, null);
+        assertThrows(PointRateLimitException.class, () -> interceptor.preHandle(request(1L, "charge"), RESPONSE, null));
+    }
+
+    @Test
+    @DisplayName("성공테스트-같은 Idempotency-Key 로 다시 보낸 충전은 하루 충전 횟수에 세지 않습니다")
+    void 재시도한_충전은_세지_않습니다() throws Exception {
+        PointRateLimitInterceptor interceptor = interceptor(1000, 1000, 20, 1);
+        idempotencyCache.execute("key-1", 1L, TransactionType.CHARGE, 100L,
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 100L, 0L)));
+        MockHttpServletRequest first = request(1L, "charge");
+        assertTrue(interceptor.preHandle(first, RESPONSE, null));
+        interceptor.afterCompletion(first, RESPONSE, null, null);
+
+        MockHttpServletRequest replay = request(1L, "charge");
+        replay.addHeader(IdempotencyCache.HEADER, "key-1");
+        assertTrue(interceptor.preHandle(replay, RESPONSE, null));
+        assertThrows(PointRateLimitException.class, () -> interceptor.preHandle(request(1L, "charge"), RESPONSE, null));
+    }
+
+    private PointRateLimitInterceptor interceptor(double userPermitsPerSecond, int userBurst, int maxConcurrent, int dailyChargeLimit) {
+        PointRateLimitProperties properties = new PointRateLimitProperties(true, 1024, userPermitsPerSecond, userBurst, 100_000, 100_000, maxConcurrent, dailyChargeLimit);
+        return new PointRateLimitInterceptor(properties, idempotencyCache, PointMetrics.noop(), clock);
+    }
+
+    private MockHttpServletRequest request(long userId, String action) {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/point/" + userId + "/" + action);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", String.valueOf(userId)));
+        return request;
+    }
+}
@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.analytics.FailedEventAnalytics;
+import io.hhplus.tdd.point.config.PointFailedEventAnalyticsProperties;
+import io.hhplus.tdd.point.model.FailedEventSummary;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 비동기 저장을 끄고 저장소에 바로 저장해도 실패 이벤트 집계가 채워지는지 검증합니다.
+ */
+class AnalyzedFailedEventRepositoryTest {
+
+    @Test
+    @DisplayName("성공테스트-비동기 저장 없이 저장소에 바로 저장해도 집계에 기록됩니다")
+    void 비동기_저장_없이도_집계에_기록됩니다() {
+        ConcurrentFailedEventRepository store = new ConcurrentFailedEventRepository();
+        FailedEventAnalytics analytics = new FailedEventAnalytics(PointFailedEventAnalyticsProperties.defaults());
+        AnalyzedFailedEventRepository repository = new AnalyzedFailedEventRepository(store, analytics);
+
+        repository.save(new PointFailedEvent(0, 1L, "USE", 10L, "포인트가 부족합니다.", System.currentTimeMillis()));
+        repository.save(new PointFailedEvent(0, 1L, "USE", 20L, "포인트가 부족합니다.", System.currentTimeMillis()));
+
+        FailedEventSummary summary = analytics.summary(1, 10);
+        assertEquals(2L, summary.operations().get(0).total());
+        assertEquals(1L, summary.topUsers().get(0).userId());
+        assertEquals(2, repository.findAllByUserId(1L).size());
+    }
+}
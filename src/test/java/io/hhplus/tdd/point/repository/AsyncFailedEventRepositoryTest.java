@@ -0,0 +1,125 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointFailedEventPipelineProperties;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 실패 이벤트 저장이 요청 스레드를 붙잡지 않는지, 버퍼가 가득 차면 기다리지 않고 버리는지 검증합니다.
+ */
+class AsyncFailedEventRepositoryTest {
+    private final FailedEventRepository store = Mockito.mock(FailedEventRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AsyncFailedEventRepository repository;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        repository.shutdown();
+    }
+
+    @Test
+    @DisplayName("성공테스트-Table 이 느려도 실패 이벤트 저장은 바로 돌아오고, writer 가 뒤에서 저장합니다")
+    void 실패_이벤트_저장은_바로_돌아옵니다() {
+        when(store.save(any(PointFailedEvent.class))).thenAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(300);
+            return invocation.getArgument(0);
+        });
+        repository = new AsyncFailedEventRepository(store, new PointFailedEventPipelineProperties(true, 100, 16, 1),
+                PointExecutionProperties.platform(), new PointMetrics(registry));
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            repository.save(event(i));
+        }
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 100);
+        verify(store, timeout(3_000).times(3)).save(any(PointFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("실패테스트-버퍼가 가득 차면 기다리지 않고 버린 뒤 overflow 로 셉니다")
+    void 버퍼가_가득_차면_버립니다() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(store.save(any(PointFailedEvent.class))).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+        repository = new AsyncFailedEventRepository(store, new PointFailedEventPipelineProperties(true, 2, 1, 1),
+                PointExecutionProperties.platform(), new PointMetrics(registry));
+
+        // 첫 이벤트는 writer 가 꺼내 저장하는 중에 멈춰 있고, 버퍼에는 2개만 들어갑니다.
+        repository.save(event(0));
+        assertTrue(writing.await(1, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) {
+            repository.save(event(i));
+        }
+
+        assertEquals(3.0, registry.get("point.failed.events.dropped").tags("reason", "overflow").counter().count());
+        release.countDown();
+        verify(store, timeout(3_000).times(3)).save(any(PointFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("성공테스트-writer 를 늘리면 여러 사용자의 실패 이벤트를 동시에 저장합니다")
+    void writer_를_늘리면_동시에_저장합니다() throws InterruptedException {
+        CountDownLatch saving = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+        when(store.save(any(PointFailedEvent.class))).thenAnswer(invocation -> {
+            saving.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+        repository = new AsyncFailedEventRepository(store, new PointFailedEventPipelineProperties(true, 640, 16, 64),
+                PointExecutionProperties.platform(), new PointMetrics(registry));
+
+        // 사용자마다 writer 를 고르므로, 서로 다른 writer 로 간 이벤트는 앞선 저장이 끝나기 전에 저장을 시작합니다.
+        for (int i = 0; i < 64; i++) {
+            repository.save(event(i));
+        }
+
+        assertTrue(saving.await(3, TimeUnit.SECONDS));
+        release.countDown();
+        verify(store, timeout(3_000).times(64)).save(any(PointFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("실패테스트-종료할 때 시간 안에 저장하지 못한 이벤트는 shutdown 으로 셉니다")
+    void 종료할_때_남은_이벤트는_shutdown_으로_셉니다() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        when(store.save(any(PointFailedEvent.class))).thenAnswer(invocation -> {
+            writing.countDown();
+            TimeUnit.SECONDS.sleep(10);
+            return invocation.getArgument(0);
+        });
+        repository = new AsyncFailedEventRepository(store, new PointFailedEventPipelineProperties(true, 10, 1, 1),
+                PointExecutionProperties.platform(), new PointMetrics(registry));
+
+        repository.save(event(0));
+        assertTrue(writing.await(1, TimeUnit.SECONDS));
+        for (int i = 1; i <= 3; i++) {
+            repository.save(event(i));
+        }
+        repository.shutdown(100);
+
+        assertEquals(3.0, registry.get("point.failed.events.dropped").tags("reason", "shutdown").counter().count());
+    }
+
+    private static PointFailedEvent event(long userId) {
+        return new PointFailedEvent(0, userId, "USE", 10L, "포인트가 부족합니다.", System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointHistoryPipelineProperties;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 비동기 이력 저장소가 저장된 이력을 돌려주고, 끝내 저장하지 못한 이력을 버리지 않고 알리는지 검증합니다.
+ */
+class AsyncPointHistoryRepositoryTest {
+    private final PointHistoryRepository store = Mockito.mock(PointHistoryRepository.class);
+    private final FailedEventRepository failedEventRepository = Mockito.mock(FailedEventRepository.class);
+    private final PointJournal journal = Mockito.mock(PointJournal.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AsyncPointHistoryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new AsyncPointHistoryRepository(store, new PointHistoryPipelineProperties(true, 100, 16, 3),
+                PointExecutionProperties.platform(), new PointMetrics(registry), failedEventRepository, journal);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        repository.shutdown();
+    }
+
+    @Test
+    @DisplayName("성공테스트-insert 는 저장이 끝난 뒤 id 가 매겨진 이력을 돌려줍니다")
+    void insert_는_저장된_이력을_돌려줍니다() {
+        when(store.save(any(PointHistory.class))).thenAnswer(invocation -> {
+            PointHistory history = invocation.getArgument(0);
+            return new PointHistory(7L, history.userId(), history.amount(), history.type(), history.updateMillis());
+        });
+
+        PointHistory saved = repository.insert(1L, 100L, TransactionType.CHARGE, 1L);
+
+        assertEquals(new PointHistory(7L, 1L, 100L, TransactionType.CHARGE, 1L), saved);
+    }
+
+    @Test
+    @DisplayName("실패테스트-기다리는 호출자가 없는 이력을 다시 시도해도 저장하지 못하면 실패 이벤트를 남기고 기록을 되돌립니다")
+    void 끝내_저장하지_못한_이력은_실패_이벤트로_남깁니다() {
+        when(store.save(any(PointHistory.class))).thenThrow(new IllegalStateException("이력 저장 실패"));
+
+        CompletableFuture<PointHistory> saved = repository.saveAsync(new PointHistory(0, 1L, -30L, TransactionType.USE, 1L));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> saved.get(3, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        verify(store, times(3)).save(any(PointHistory.class));
+        verify(journal).abort(1L, -30L, TransactionType.USE, 1L);
+        verify(failedEventRepository).save(any(PointFailedEvent.class));
+        assertEquals(2.0, registry.get("point.history.write.failures").tags("result", "retried").counter().count());
+        assertEquals(1.0, registry.get("point.history.write.failures").tags("result", "failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("실패테스트-save 로 기다리는 호출자에게는 저장 오류를 그대로 던지고 처리를 맡깁니다")
+    void save_로_기다리면_오류를_던집니다() {
+        when(store.save(any(PointHistory.class))).thenThrow(new IllegalStateException("이력 저장 실패"));
+
+        assertThrows(IllegalStateException.class, () -> repository.save(new PointHistory(0, 1L, 30L, TransactionType.CHARGE, 1L)));
+
+        verify(journal, never()).abort(anyLong(), anyLong(), any(TransactionType.class), anyLong());
+        verify(failedEventRepository, never()).save(any(PointFailedEvent.class));
+    }
+}
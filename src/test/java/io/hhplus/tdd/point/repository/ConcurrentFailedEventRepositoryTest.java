@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentFailedEventRepositoryTest {
+    private final ConcurrentFailedEventRepository repository = new ConcurrentFailedEventRepository();
+
+    @Test
+    @DisplayName("성공테스트-저장한 실패 이벤트에 id 를 매기고 사용자별로 조회합니다")
+    void 저장한_실패_이벤트를_사용자별로_조회합니다() {
+        PointFailedEvent saved = repository.save(event(1L));
+        repository.save(event(2L));
+        repository.save(event(1L));
+
+        assertEquals(1L, saved.getId());
+        assertEquals(List.of(1L, 3L), repository.findAllByUserId(1L).stream().map(PointFailedEvent::getId).toList());
+        assertTrue(repository.findAllByUserId(404L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("동시성테스트-여러 스레드가 같은 사용자의 실패 이벤트를 동시에 저장해도 사라지거나 id 가 겹치지 않습니다")
+    void 동시에_저장해도_실패_이벤트가_사라지지_않습니다() throws InterruptedException {
+        int threads = 16;
+        int perThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> IntStream.range(0, perThread).forEach(i -> repository.save(event(7L))));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        List<PointFailedEvent> events = repository.findAllByUserId(7L);
+        assertEquals(threads * perThread, events.size());
+        assertEquals(threads * perThread, events.stream().map(PointFailedEvent::getId).distinct().count());
+    }
+
+    private static PointFailedEvent event(long userId) {
+        return new PointFailedEvent(0, userId, "USE", 10L, "포인트가 부족합니다.", System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,103 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentPointHistoryRepositoryTest {
+    private final ConcurrentPointHistoryRepository repository = new ConcurrentPointHistoryRepository();
+
+    @Test
+    @DisplayName("성공테스트-사용자의 이력만 저장한 순서대로 조회되고, 조건 조회는 limit 개까지 반환합니다")
+    void 사용자의_이력만_순서대로_조회됩니다() {
+        for (int i = 0; i < 100; i++) {
+            repository.insert(i % 2, i, i % 4 == 0 ? TransactionType.USE : TransactionType.CHARGE, i);
+        }
+
+        List<PointHistory> histories = repository.selectAllByUserId(1L);
+        List<PointHistory> used = repository.selectByUserId(0L, new PointHistoryCondition(10L, 5, null, null, TransactionType.USE), 5);
+
+        assertEquals(50, histories.size());
+        assertEquals(new PointHistory(2L, 1L, 1L, TransactionType.CHARGE, 1L), histories.get(0));
+        assertEquals(List.of(13L, 17L, 21L, 25L, 29L), used.stream().map(PointHistory::id).toList());
+        List<PointHistory> streamed = new ArrayList<>();
+        repository.forEachByUserId(1L, streamed::add);
+        assertEquals(histories, streamed);
+        assertTrue(repository.selectAllByUserId(404L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("동시성테스트-여러 스레드가 동시에 이력을 추가해도 이력이 사라지거나 id 가 겹치지 않고, 사용자 안에서는 id 순서입니다")
+    void 동시에_추가해도_이력이_사라지지_않습니다() throws InterruptedException {
+        int threads = 16;
+        int perThread = 10_000;
+        int users = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger readErrors = new AtomicInteger();
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        repository.insert((thread * perThread + i) % users, 1L, TransactionType.CHARGE, i);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        // 추가하는 동안 읽어도 덜 쓰인(null) 행이 보이지 않아야 합니다.
+        executor.submit(() -> {
+            while (writing.get()) {
+                for (PointHistory history : repository.selectAllByUserId(0L)) {
+                    if (history == null || history.userId() != 0L) {
+                        readErrors.incrementAndGet();
+                    }
+                }
+            }
+        });
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        writing.set(false);
+        executor.shutdown();
+
+        Set<Long> ids = new HashSet<>();
+        int rows = 0;
+        for (long userId = 0; userId < users; userId++) {
+            long previousId = 0;
+            for (PointHistory history : repository.selectAllByUserId(userId)) {
+                assertEquals(userId, history.userId());
+                // 같은 사용자의 이력이 동시에 들어와도 사용자 안에서는 id 오름차순이어야 cursor 조회가 행을 건너뛰지 않습니다.
+                assertTrue(history.id() > previousId);
+                previousId = history.id();
+                ids.add(history.id());
+                rows++;
+            }
+        }
+        assertEquals(threads * perThread, rows);
+        assertEquals(threads * perThread, ids.size());
+        assertEquals(0, readErrors.get());
+    }
+}
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentUserPointRepositoryTest {
+
+    @Test
+    @DisplayName("성공테스트-저장한 잔액을 조회하고, 저장한 적 없는 사용자는 0 포인트입니다")
+    void 저장한_잔액을_조회합니다() {
+        ConcurrentUserPointRepository repository = new ConcurrentUserPointRepository();
+
+        UserPoint saved = repository.insertOrUpdate(1L, 100L);
+        repository.insertOrUpdate(1L, 150L);
+
+        assertEquals(100L, saved.point());
+        assertEquals(150L, repository.selectById(1L).point());
+        assertEquals(0L, repository.selectById(404L).point());
+        assertEquals(Long.MIN_VALUE, repository.insertOrUpdate(Long.MIN_VALUE, 1L).id());
+        assertEquals(1L, repository.selectById(Long.MIN_VALUE).point());
+    }
+
+    /**
+     * stripe 를 2개로 줄여 같은 stripe 안에서 테이블이 여러 번 늘어나는 동안 읽기와 쓰기가 겹치게 합니다.
+     */
+    @Test
+    @DisplayName("동시성테스트-여러 스레드가 서로 다른 사용자를 동시에 저장해도 잔액이 사라지지 않습니다")
+    void 동시에_저장해도_잔액이_사라지지_않습니다() throws Exception {
+        ConcurrentUserPointRepository repository = new ConcurrentUserPointRepository(2, PointMetrics.noop());
+        int threads = 8;
+        int usersPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> misses = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                long base = (long) t * usersPerThread;
+                misses.add(executor.submit(() -> {
+                    start.await();
+                    int miss = 0;
+                    for (long userId = base; userId < base + usersPerThread; userId++) {
+                        repository.insertOrUpdate(userId, userId);
+                        // 방금 저장한 값은 다른 스레드가 테이블을 늘리는 중에도 보여야 합니다.
+                        if (repository.selectById(userId).point() != userId) {
+                            miss++;
+                        }
+                    }
+                    return miss;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> miss : misses) {
+                assertEquals(0, miss.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (long userId = 0; userId < (long) threads * usersPerThread; userId++) {
+            assertEquals(userId, repository.selectById(userId).point());
+        }
+    }
+}
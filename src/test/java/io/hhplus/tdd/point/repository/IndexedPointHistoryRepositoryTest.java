@@ -0,0 +1,179 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IndexedPointHistoryRepositoryTest {
+    private PointHistoryTable pointHistoryTable;
+    private IndexedPointHistoryRepository repository;
+
+    /**
+     * Table 의 지연 없이 색인 동작만 확인하기 위해 Table 은 순번만 매겨서 돌려주도록 목킹합니다.
+     */
+    @BeforeEach
+    void setUp() {
+        pointHistoryTable = Mockito.mock(PointHistoryTable.class);
+        AtomicLong cursor = new AtomicLong();
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(TransactionType.class), anyLong()))
+                .thenAnswer(invocation -> new PointHistory(cursor.incrementAndGet(), invocation.getArgument(0),
+                        invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+        repository = new IndexedPointHistoryRepository(pointHistoryTable);
+    }
+
+    @Test
+    @DisplayName("성공테스트-사용자의 이력만 저장한 순서대로 조회되고 Table 전체를 훑지 않습니다")
+    void 사용자의_이력만_순서대로_조회됩니다() {
+        repository.insert(1L, 100L, TransactionType.CHARGE, 1L);
+        repository.insert(2L, 200L, TransactionType.CHARGE, 2L);
+        repository.insert(1L, -50L, TransactionType.USE, 3L);
+
+        List<PointHistory> histories = repository.selectAllByUserId(1L);
+
+        assertEquals(List.of(
+                new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 1L),
+                new PointHistory(3L, 1L, -50L, TransactionType.USE, 3L)
+        ), histories);
+        verify(pointHistoryTable, never()).selectAllByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("성공테스트-이력이 없는 사용자는 빈 목록을 반환합니다")
+    void 이력이_없는_사용자는_빈_목록을_반환합니다() {
+        assertTrue(repository.selectAllByUserId(404L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("동시성테스트-여러 사용자가 동시에 이력을 추가하고 조회해도 유실되거나 깨진 행이 없습니다")
+    void 동시에_추가하고_조회해도_유실되지_않습니다() throws InterruptedException {
+        final int userCount = 8;
+        final int rowsPerUser = 2000; // chunk 여러 개에 걸치도록 충분히 많이 추가합니다.
+        ExecutorService executorService = Executors.newFixedThreadPool(userCount * 2);
+        CountDownLatch latch = new CountDownLatch(userCount * 2);
+
+        for (int i = 0; i < userCount; i++) {
+            final long userId = i;
+            executorService.execute(() -> {
+                try {
+                    for (int row = 0; row < rowsPerUser; row++) {
+                        repository.insert(userId, row, TransactionType.CHARGE, row);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+            // 추가가 진행되는 동안 읽는 쪽은 항상 완성된 행만 보아야 합니다.
+            executorService.execute(() -> {
+                try {
+                    for (int read = 0; read < 100; read++) {
+                        List<PointHistory> histories = repository.selectAllByUserId(userId);
+                        for (int row = 0; row < histories.size(); row++) {
+                            assertEquals(row, histories.get(row).amount());
+                            assertEquals(userId, histories.get(row).userId());
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        for (long userId = 0; userId < userCount; userId++) {
+            assertEquals(rowsPerUser, repository.selectAllByUserId(userId).size());
+        }
+    }
+
+    @Test
+    @DisplayName("동시성테스트-스레드 안전하지 않은 Table 은 한 번에 한 스레드만 호출하고 색인은 id 순서를 유지합니다")
+    void Table_추가는_한_번에_하나씩_합니다() throws InterruptedException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicLong cursor = new AtomicLong();
+        // 원본 Table 처럼 cursor 를 읽고 늘리는 사이에 다른 스레드가 끼어들면 겹친 것으로 셉니다.
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(TransactionType.class), anyLong())).thenAnswer(invocation -> {
+            if (inFlight.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+            }
+            long id = cursor.get() + 1;
+            Thread.yield();
+            cursor.set(id);
+            inFlight.decrementAndGet();
+            return new PointHistory(id, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3));
+        });
+        final int threadCount = 16;
+        final int rowsPerThread = 500;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            final long userId = i % 4;
+            executorService.execute(() -> {
+                try {
+                    for (int row = 0; row < rowsPerThread; row++) {
+                        repository.insert(userId, row, TransactionType.CHARGE, row);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        assertEquals(0, overlaps.get());
+        assertEquals((long) threadCount * rowsPerThread, cursor.get());
+        for (long userId = 0; userId < 4; userId++) {
+            List<PointHistory> histories = repository.selectAllByUserId(userId);
+            assertEquals(threadCount / 4 * rowsPerThread, histories.size());
+            for (int row = 1; row < histories.size(); row++) {
+                assertTrue(histories.get(row - 1).id() < histories.get(row).id());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("성공테스트-cursor 로 이어서 조회하면 chunk 를 넘어가도 빠지거나 겹치는 이력 없이 이어집니다")
+    void cursor_로_이어서_조회합니다() {
+        for (int row = 0; row < 600; row++) {
+            repository.insert(1L, row, TransactionType.CHARGE, row);
+            repository.insert(2L, row, TransactionType.CHARGE, row);
+        }
+
+        List<Long> ids = new ArrayList<>();
+        Long cursor = null;
+        while (true) {
+            List<PointHistory> page = repository.selectByUserId(1L, new PointHistoryCondition(cursor, 100, null, null, null), 100);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(history -> ids.add(history.id()));
+            cursor = page.get(page.size() - 1).id();
+        }
+
+        assertEquals(600, ids.size());
+        for (int row = 0; row < ids.size(); row++) {
+            assertEquals(row * 2L + 1, ids.get(row));
+        }
+        // 사용자 1 의 이력 사이에 있는 id 를 cursor 로 넘겨도 그 다음 이력부터 조회합니다.
+        assertEquals(5L, repository.selectByUserId(1L, new PointHistoryCondition(4L, 1, null, null, null), 1).get(0).id());
+        assertTrue(repository.selectByUserId(1L, new PointHistoryCondition(1199L, 10, null, null, null), 10).isEmpty());
+    }
+}
@@ -0,0 +1,109 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryCondition;
+import io.hhplus.tdd.point.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapPointHistoryRepositoryTest {
+    private OffHeapPointHistoryRepository repository;
+
+    /**
+     * chunk 경계를 자주 넘도록 chunk 하나에 16행만 둡니다.
+     */
+    @BeforeEach
+    void setUp() {
+        repository = new OffHeapPointHistoryRepository(16, PointMetrics.noop());
+    }
+
+    @Test
+    @DisplayName("성공테스트-사용자의 이력만 저장한 순서대로 조회되고 id 는 저장 순번입니다")
+    void 사용자의_이력만_순서대로_조회됩니다() {
+        repository.insert(1L, 100L, TransactionType.CHARGE, 1L);
+        repository.insert(2L, 200L, TransactionType.CHARGE, 2L);
+        PointHistory inserted = repository.insert(1L, -50L, TransactionType.USE, 3L);
+
+        assertEquals(new PointHistory(3L, 1L, -50L, TransactionType.USE, 3L), inserted);
+        assertEquals(List.of(
+                new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 1L),
+                new PointHistory(3L, 1L, -50L, TransactionType.USE, 3L)
+        ), repository.selectAllByUserId(1L));
+        assertTrue(repository.selectAllByUserId(404L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("성공테스트-조건 조회는 chunk 를 넘어가도 조건에 맞는 이력만 limit 개까지 반환합니다")
+    void 조건에_맞는_이력만_limit_개까지_조회됩니다() {
+        for (int i = 0; i < 100; i++) {
+            repository.insert(i % 2, i, i % 4 == 0 ? TransactionType.USE : TransactionType.CHARGE, i);
+        }
+
+        List<PointHistory> histories = repository.selectByUserId(0L, new PointHistoryCondition(10L, 5, null, null, TransactionType.USE), 5);
+
+        // 사용자 0 의 행은 i 가 짝수인 행이고, 그 중 USE 는 i % 4 == 0 인 행입니다. (id = i + 1)
+        assertEquals(List.of(13L, 17L, 21L, 25L, 29L), histories.stream().map(PointHistory::id).toList());
+        List<PointHistory> streamed = new ArrayList<>();
+        repository.forEachByUserId(1L, streamed::add);
+        assertEquals(50, streamed.size());
+        assertEquals(repository.selectAllByUserId(1L), streamed);
+        assertEquals(7L * 16 * OffHeapPointHistoryRepository.ROW_BYTES, repository.allocatedBytes());
+    }
+
+    @Test
+    @DisplayName("동시성테스트-여러 사용자가 동시에 이력을 추가하고 조회해도 유실되거나 깨진 행이 없습니다")
+    void 동시에_추가하고_조회해도_유실되지_않습니다() throws InterruptedException {
+        final int userCount = 8;
+        final int rowsPerUser = 2000;
+        ExecutorService executorService = Executors.newFixedThreadPool(userCount * 2);
+        CountDownLatch latch = new CountDownLatch(userCount * 2);
+        AtomicInteger brokenRows = new AtomicInteger();
+
+        for (int i = 0; i < userCount; i++) {
+            final long userId = i;
+            executorService.execute(() -> {
+                try {
+                    for (int row = 0; row < rowsPerUser; row++) {
+                        repository.insert(userId, row, TransactionType.CHARGE, row);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+            // 추가가 진행되는 동안 읽는 쪽은 항상 완성된 행만 보아야 합니다.
+            executorService.execute(() -> {
+                try {
+                    for (int read = 0; read < 100; read++) {
+                        List<PointHistory> histories = repository.selectAllByUserId(userId);
+                        for (int row = 0; row < histories.size(); row++) {
+                            if (histories.get(row).amount() != row || histories.get(row).userId() != userId) {
+                                brokenRows.incrementAndGet();
+                            }
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        assertEquals(0, brokenRows.get());
+        for (long userId = 0; userId < userCount; userId++) {
+            assertEquals(rowsPerUser, repository.selectAllByUserId(userId).size());
+        }
+        assertEquals(userCount * rowsPerUser, repository.size());
+    }
+}
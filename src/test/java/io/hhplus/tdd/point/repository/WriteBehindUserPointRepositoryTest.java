@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.config.UserPointCacheProperties;
+import io.hhplus.tdd.point.model.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class WriteBehindUserPointRepositoryTest {
+    private UserPointRepository store;
+    private WriteBehindUserPointRepository repository;
+
+    /**
+     * 주기적인 flush 가 테스트 도중 끼어들지 않도록 flush 주기를 길게 잡고 직접 flush 를 호출합니다.
+     */
+    @BeforeEach
+    void setUp() {
+        store = Mockito.mock(UserPointRepository.class);
+        repository = new WriteBehindUserPointRepository(store, new UserPointCacheProperties(true, 60_000L));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        repository.shutdown();
+    }
+
+    @Test
+    @DisplayName("성공테스트-한번 조회한 사용자는 다시 Table 을 조회하지 않습니다")
+    void 한번_조회한_사용자는_메모리에서_응답합니다() {
+        long userId = 1L;
+        when(store.selectById(userId)).thenReturn(new UserPoint(userId, 100L, System.currentTimeMillis()));
+
+        repository.selectById(userId);
+        UserPoint result = repository.selectById(userId);
+
+        assertEquals(100L, result.point());
+        verify(store, times(1)).selectById(userId);
+    }
+
+    @Test
+    @DisplayName("성공테스트-저장한 값은 Table 에 내려쓰기 전에도 바로 조회됩니다")
+    void 저장한_값은_바로_조회됩니다() {
+        long userId = 2L;
+
+        repository.save(new UserPoint(userId, 500L, System.currentTimeMillis()));
+
+        assertEquals(500L, repository.selectById(userId).point());
+        verify(store, never()).selectById(userId);
+        verify(store, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("성공테스트-flush 사이의 여러 변경은 마지막 값 한번만 Table 에 씁니다")
+    void 여러_변경은_마지막_값만_내려씁니다() {
+        long userId = 3L;
+
+        repository.insertOrUpdate(userId, 100L);
+        repository.insertOrUpdate(userId, 200L);
+        repository.insertOrUpdate(userId, 300L);
+        repository.flush();
+
+        verify(store, times(1)).insertOrUpdate(userId, 300L);
+        verify(store, times(1)).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("성공테스트-종료 시 남아있는 변경분을 모두 내려씁니다")
+    void 종료시_남은_변경분을_내려씁니다() throws InterruptedException {
+        repository.insertOrUpdate(4L, 10L);
+        repository.insertOrUpdate(5L, 20L);
+
+        repository.shutdown();
+
+        verify(store).insertOrUpdate(4L, 10L);
+        verify(store).insertOrUpdate(5L, 20L);
+    }
+}
@@ -0,0 +1,209 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.FailedEventRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * CAS 엔진은 잠금 없이 동작하므로 동시에 요청해도 잔액이 정확한지, 규칙 검사가 CAS 안에서 지켜지는지 검증합니다.
+ */
+class CasPointServiceTest {
+    private UserPointRepository userPointRepository;
+    private PointHistoryRepository pointHistoryRepository;
+    private FailedEventRepository failedEventRepository;
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        userPointRepository = Mockito.mock(UserPointRepository.class);
+        pointHistoryRepository = Mockito.mock(PointHistoryRepository.class);
+        // 엔진은 saveAsync 로 이력을 넘기므로, 기본 구현대로 save 를 거치게 하여 save 에 대한 목킹과 검증을 그대로 씁니다.
+        doCallRealMethod().when(pointHistoryRepository).saveAsync(any(PointHistory.class));
+        failedEventRepository = Mockito.mock(FailedEventRepository.class);
+        pointService = new CasPointService(userPointRepository, pointHistoryRepository, failedEventRepository);
+    }
+
+    @Test
+    @DisplayName("성공테스트-같은 사용자가 동시에 충전해도 모든 충전이 반영됩니다")
+    void 동시에_충전해도_모든_충전이_반영됩니다() throws InterruptedException {
+        long userId = 1L;
+        int threadCount = 1000;
+        when(userPointRepository.selectById(userId)).thenReturn(UserPoint.empty(userId));
+
+        runConcurrently(threadCount, () -> pointService.chargePoint(userId, 1L));
+
+        assertEquals(threadCount, pointService.getPointById(userId).point());
+        verify(pointHistoryRepository, times(threadCount)).save(any(PointHistory.class));
+        // 저장소에는 결국 최신 스냅샷이 남아야 합니다.
+        verify(userPointRepository, atLeastOnce()).save(new UserPoint(userId, threadCount, pointService.getPointById(userId).updateMillis()));
+    }
+
+    @Test
+    @DisplayName("성공테스트-동시에 사용해도 잔액보다 많이 사용되지 않습니다")
+    void 동시에_사용해도_잔액보다_많이_사용되지_않습니다() throws InterruptedException {
+        long userId = 2L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+        AtomicInteger failedCount = new AtomicInteger();
+
+        // 20 포인트씩 100번 사용하면 50번만 성공해야 합니다.
+        runConcurrently(100, () -> {
+            try {
+                pointService.usePoint(userId, 20L);
+            } catch (PointException ex) {
+                assertEquals("포인트가 부족합니다.", ex.getMessage());
+                failedCount.incrementAndGet();
+            }
+        });
+
+        assertEquals(0L, pointService.getPointById(userId).point());
+        assertEquals(50, failedCount.get());
+        verify(failedEventRepository, times(50)).save(any(PointFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("실패테스트-1000000 포인트를 넘은 사용자는 충전할 수 없습니다")
+    void 최대포인트를_넘으면_충전에_실패합니다() {
+        long userId = 3L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 1000001L, System.currentTimeMillis()));
+
+        PointException exception = assertThrows(PointException.class, () -> pointService.chargePoint(userId, 1L));
+
+        assertEquals("1000000 포인트이상 넣을수 없습니다", exception.getMessage());
+        verify(userPointRepository, never()).save(any(UserPoint.class));
+    }
+
+    @Test
+    @DisplayName("실패테스트-존재하지 않는 사용자는 사용할 수 없습니다")
+    void 존재하지_않는_사용자는_사용에_실패합니다() {
+        long userId = 4L;
+        when(userPointRepository.selectById(userId)).thenReturn(null);
+
+        PointException exception = assertThrows(PointException.class, () -> pointService.usePoint(userId, 1L));
+
+        assertEquals("존재하지 않는 사용자입니다.", exception.getMessage());
+        verify(failedEventRepository).save(any(PointFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("실패테스트-기록에 실패하면 잔액을 확정하지 않고 실패 이벤트를 저장합니다")
+    void 기록에_실패하면_변화량을_되돌립니다() {
+        long userId = 5L;
+        PointJournal journal = Mockito.mock(PointJournal.class);
+        doThrow(new PointException("포인트 기록을 디스크에 저장하지 못했습니다.")).when(journal).awaitDurable(anyLong());
+        PointService journaled = new CasPointService(userPointRepository, pointHistoryRepository, failedEventRepository,
+                new PointAsyncExecutor(PointExecutionProperties.platform()), PointMetrics.noop(), journal);
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 100L, System.currentTimeMillis()));
+
+        assertThrows(PointException.class, () -> journaled.chargePoint(userId, 50L));
+
+        assertEquals(100L, journaled.getPointById(userId).point());
+        verify(userPointRepository, never()).save(any(UserPoint.class));
+        verify(pointHistoryRepository, never()).save(any(PointHistory.class));
+        verify(failedEventRepository).save(any(PointFailedEvent.class));
+        // 재시작할 때 실패한 충전이 복원되지 않도록 보상 기록을 남깁니다.
+        verify(journal).abort(eq(userId), eq(50L), eq(TransactionType.CHARGE), anyLong());
+    }
+
+    @Test
+    @DisplayName("동시성테스트-확정되지 않은 충전으로는 사용할 수 없어, 충전이 실패해도 잔액이 음수가 되지 않습니다")
+    void 확정되지_않은_충전으로는_사용할_수_없습니다() throws Exception {
+        long userId = 8L;
+        CountDownLatch journaling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PointJournal journal = Mockito.mock(PointJournal.class);
+        doAnswer(invocation -> {
+            journaling.countDown();
+            release.await();
+            throw new PointException("포인트 기록을 디스크에 저장하지 못했습니다.");
+        }).when(journal).awaitDurable(anyLong());
+        PointService journaled = new CasPointService(userPointRepository, pointHistoryRepository, failedEventRepository,
+                new PointAsyncExecutor(PointExecutionProperties.platform()), PointMetrics.noop(), journal);
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 100L, System.currentTimeMillis()));
+
+        // 50 충전이 기록을 기다리는 동안 120 사용은 확정된 100 기준으로 검사되어 실패해야 합니다.
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<?> charge = executorService.submit(() -> journaled.chargePoint(userId, 50L));
+        assertTrue(journaling.await(1, TimeUnit.SECONDS));
+        PointException exception = assertThrows(PointException.class, () -> journaled.usePoint(userId, 120L));
+        release.countDown();
+        assertThrows(Exception.class, () -> charge.get(1, TimeUnit.SECONDS));
+        executorService.shutdown();
+
+        assertEquals("포인트가 부족합니다.", exception.getMessage());
+        assertEquals(100L, journaled.getPointById(userId).point());
+        verify(userPointRepository, never()).save(any(UserPoint.class));
+    }
+
+    @Test
+    @DisplayName("동시성테스트-처음 조회하는 사용자의 저장소 조회가 느려도 다른 사용자의 요청을 막지 않습니다")
+    void 저장소_조회가_느려도_다른_사용자를_막지_않습니다() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userPointRepository.selectById(anyLong())).thenAnswer(invocation -> UserPoint.empty(invocation.getArgument(0)));
+        when(userPointRepository.selectById(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return UserPoint.empty(1L);
+        });
+        ExecutorService slow = Executors.newSingleThreadExecutor();
+        slow.execute(() -> pointService.chargePoint(1L, 10L));
+        assertTrue(loading.await(1, TimeUnit.SECONDS));
+
+        // 사용자 1 과 같은 stripe 에 들어가는 사용자도 있도록 충분히 많은 사용자를 충전합니다.
+        ExecutorService others = Executors.newSingleThreadExecutor();
+        Future<?> charged = others.submit(() -> {
+            for (long userId = 2; userId < 1_000; userId++) {
+                pointService.chargePoint(userId, 10L);
+            }
+        });
+        try {
+            assertDoesNotThrow(() -> charged.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            slow.shutdown();
+            others.shutdown();
+        }
+        assertTrue(slow.awaitTermination(1, TimeUnit.SECONDS));
+        assertEquals(10L, pointService.getPointById(1L).point());
+    }
+
+    private void runConcurrently(int count, Runnable task) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch latch = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            executorService.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+    }
+}
@@ -0,0 +1,181 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.config.PointEventSourcingProperties;
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointQueueProperties;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.FailedEventRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 이벤트 소싱 엔진은 이력만 동기로 쓰고, 잔액은 스냅샷과 그 이후 이력으로 복원되는지 검증합니다.
+ */
+class EventSourcedPointServiceTest {
+    private UserPointRepository userPointRepository;
+    private PointHistoryRepository pointHistoryRepository;
+    private FailedEventRepository failedEventRepository;
+    private UserRequestQueueExecutor requestQueueExecutor;
+    private EventSourcedPointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        userPointRepository = Mockito.mock(UserPointRepository.class);
+        pointHistoryRepository = Mockito.mock(PointHistoryRepository.class);
+        failedEventRepository = Mockito.mock(FailedEventRepository.class);
+        // Table 처럼 저장 시각을 찍어서 돌려줍니다.
+        when(userPointRepository.insertOrUpdate(anyLong(), anyLong()))
+                .thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), System.currentTimeMillis()));
+        requestQueueExecutor = new UserRequestQueueExecutor(PointQueueProperties.defaults());
+        // 주기 스냅샷은 테스트에서 직접 실행합니다.
+        pointService = new EventSourcedPointService(userPointRepository, pointHistoryRepository, failedEventRepository, requestQueueExecutor,
+                new PointAsyncExecutor(PointExecutionProperties.platform()), new PointEventSourcingProperties(600_000L),
+                PointExecutionProperties.platform(), PointMetrics.noop(), PointJournal.noop());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        requestQueueExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("성공테스트-충전과 사용은 이력만 저장하고 잔액은 이력을 접어 계산합니다")
+    void 충전과_사용은_이력만_저장합니다() {
+        long userId = 1L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 100L, 1_000L));
+
+        pointService.chargePoint(userId, 50L);
+        UserPoint result = pointService.usePoint(userId, 30L);
+
+        assertEquals(120L, result.point());
+        assertEquals(120L, pointService.getPointById(userId).point());
+        verify(pointHistoryRepository).insert(eq(userId), eq(50L), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryRepository).insert(eq(userId), eq(-30L), eq(TransactionType.USE), anyLong());
+        // 처음 쓰는 사용자의 기준 스냅샷 한 번 외에는 잔액을 쓰지 않습니다.
+        verify(userPointRepository, times(1)).insertOrUpdate(userId, 100L);
+        verify(userPointRepository, never()).insertOrUpdate(userId, 120L);
+    }
+
+    @Test
+    @DisplayName("성공테스트-스냅샷 이후의 이력만 다시 접어 잔액을 복원합니다")
+    void 스냅샷_이후의_이력만_접습니다() {
+        long userId = 2L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 100L, 5_000L));
+        doAnswer(invocation -> {
+            Consumer<PointHistory> consumer = invocation.getArgument(1);
+            // 스냅샷에 이미 포함된 이력
+            consumer.accept(new PointHistory(1L, userId, 100L, TransactionType.CHARGE, 4_000L));
+            consumer.accept(new PointHistory(2L, userId, 100L, TransactionType.CHARGE, 5_000L));
+            // 스냅샷 이후의 이력
+            consumer.accept(new PointHistory(3L, userId, 30L, TransactionType.CHARGE, 6_000L));
+            consumer.accept(new PointHistory(4L, userId, -10L, TransactionType.USE, 7_000L));
+            return null;
+        }).when(pointHistoryRepository).forEachByUserId(eq(userId), any());
+
+        UserPoint userPoint = pointService.getPointById(userId);
+
+        assertEquals(120L, userPoint.point());
+        assertEquals(7_000L, userPoint.updateMillis());
+    }
+
+    @Test
+    @DisplayName("성공테스트-주기 스냅샷은 변경된 사용자의 최신 잔액을 남깁니다")
+    void 주기_스냅샷은_최신_잔액을_남깁니다() {
+        long userId = 3L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 0L, 1_000L));
+        pointService.chargePoint(userId, 10L);
+        pointService.chargePoint(userId, 20L);
+
+        pointService.snapshotDirty();
+
+        verify(userPointRepository, timeout(1_000)).insertOrUpdate(userId, 30L);
+    }
+
+    @Test
+    @DisplayName("실패테스트-잔액이 부족하면 이력을 남기지 않고 실패 이벤트를 저장합니다")
+    void 잔액이_부족하면_이력을_남기지_않습니다() {
+        long userId = 4L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 10L, 1_000L));
+
+        PointException exception = assertThrows(PointException.class, () -> pointService.usePoint(userId, 20L));
+
+        assertEquals("포인트가 부족합니다.", exception.getMessage());
+        assertEquals(10L, pointService.getPointById(userId).point());
+        verify(pointHistoryRepository, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(failedEventRepository).save(any(PointFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("실패테스트-이력 저장이 실패하면 잔액을 바꾸지 않고 실패 이벤트를 저장합니다")
+    void 이력_저장이_실패하면_잔액을_바꾸지_않습니다() {
+        long userId = 5L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 100L, 1_000L));
+        when(pointHistoryRepository.insert(eq(userId), anyLong(), any(TransactionType.class), anyLong()))
+                .thenThrow(new IllegalStateException("이력 저장 실패"));
+
+        assertThrows(IllegalStateException.class, () -> pointService.chargePoint(userId, 50L));
+
+        assertEquals(100L, pointService.getPointById(userId).point());
+        verify(failedEventRepository).save(any(PointFailedEvent.class));
+        // 다음 요청은 이력 저장이 실패한 요청을 빼고 이어서 반영합니다.
+        reset(pointHistoryRepository);
+        assertEquals(130L, pointService.chargePoint(userId, 30L).point());
+    }
+
+    @Test
+    @DisplayName("동시성테스트-처음 조회하는 사용자의 잔액 복원이 느려도 다른 사용자의 조회를 막지 않습니다")
+    void 잔액_복원이_느려도_다른_사용자를_막지_않습니다() throws InterruptedException {
+        CountDownLatch replaying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userPointRepository.selectById(anyLong())).thenAnswer(invocation -> UserPoint.empty(invocation.getArgument(0)));
+        when(userPointRepository.selectById(1L)).thenAnswer(invocation -> {
+            replaying.countDown();
+            release.await();
+            return UserPoint.empty(1L);
+        });
+        ExecutorService slow = Executors.newSingleThreadExecutor();
+        slow.execute(() -> pointService.getPointById(1L));
+        assertTrue(replaying.await(1, TimeUnit.SECONDS));
+
+        // 사용자 1 과 같은 bin 에 들어가는 사용자도 있도록 충분히 많은 사용자를 조회합니다.
+        ExecutorService others = Executors.newSingleThreadExecutor();
+        Future<?> loaded = others.submit(() -> {
+            for (long userId = 2; userId < 1_000; userId++) {
+                pointService.getPointById(userId);
+            }
+        });
+        try {
+            assertDoesNotThrow(() -> loaded.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            slow.shutdown();
+            others.shutdown();
+        }
+        assertTrue(slow.awaitTermination(1, TimeUnit.SECONDS));
+        assertEquals(0L, pointService.getPointById(1L).point());
+    }
+}
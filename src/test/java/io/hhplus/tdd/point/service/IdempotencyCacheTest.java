@@ -0,0 +1,123 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.config.PointIdempotencyProperties;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.exception.PointIdempotencyConflictException;
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 같은 Idempotency-Key 로 재시도한 요청이 다시 실행되지 않는지, 캐시 크기와 보관 시간이 지켜지는지 검증합니다.
+ */
+class IdempotencyCacheTest {
+    private SimpleMeterRegistry registry;
+    private AtomicLong now;
+    private AtomicInteger executions;
+    private IdempotencyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        now = new AtomicLong(0);
+        executions = new AtomicInteger();
+        cache = new IdempotencyCache(new PointIdempotencyProperties(2, 16, 1000L, 2), new PointMetrics(registry), now::get);
+    }
+
+    @Test
+    @DisplayName("성공테스트-같은 키로 재시도하면 다시 충전하지 않고 처음 결과를 돌려줍니다")
+    void 같은_키로_재시도하면_처음_결과를_돌려줍니다() {
+        UserPoint first = cache.execute("key-1", 1L, TransactionType.CHARGE, 100L, this::charge).join();
+        UserPoint retried = cache.execute("key-1", 1L, TransactionType.CHARGE, 100L, this::charge).join();
+
+        assertSame(first, retried);
+        assertEquals(1, executions.get());
+        assertEquals(1.0, registry.get("point.idempotency.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("성공테스트-처리 중인 요청과 같은 키로 들어온 요청은 처리 중인 결과를 함께 기다립니다")
+    void 처리_중인_요청과_같은_키는_함께_기다립니다() {
+        CompletableFuture<UserPoint> pending = new CompletableFuture<>();
+        CompletableFuture<UserPoint> first = cache.execute("key-1", 1L, TransactionType.CHARGE, 100L, () -> pending);
+        CompletableFuture<UserPoint> retried = cache.execute("key-1", 1L, TransactionType.CHARGE, 100L, this::charge);
+
+        pending.complete(new UserPoint(1L, 100L, 0L));
+
+        assertEquals(100L, retried.join().point());
+        assertSame(first.join(), retried.join());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    @DisplayName("실패테스트-실패한 요청은 보관하지 않으므로 같은 키로 다시 시도할 수 있습니다")
+    void 실패한_요청은_같은_키로_다시_시도할_수_있습니다() {
+        CompletableFuture<UserPoint> failed = cache.execute("key-1", 1L, TransactionType.USE, 100L,
+                () -> CompletableFuture.failedFuture(new PointException("포인트가 부족합니다.")));
+        assertTrue(failed.isCompletedExceptionally());
+
+        cache.execute("key-1", 1L, TransactionType.USE, 100L, this::charge).join();
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("실패테스트-같은 키로 다른 요청을 보내면 예외가 발생합니다")
+    void 같은_키로_다른_요청을_보내면_예외가_발생합니다() {
+        cache.execute("key-1", 1L, TransactionType.CHARGE, 100L, this::charge).join();
+
+        assertThrows(PointIdempotencyConflictException.class, () -> cache.execute("key-1", 1L, TransactionType.CHARGE, 200L, this::charge));
+    }
+
+    @Test
+    @DisplayName("성공테스트-최대 항목 수를 넘거나 보관 시간이 지나면 오래된 항목부터 내보냅니다")
+    void 오래된_항목부터_내보냅니다() {
+        cache.execute("key-1", 1L, TransactionType.CHARGE, 100L, this::charge).join();
+        cache.execute("key-2", 1L, TransactionType.CHARGE, 100L, this::charge).join();
+        cache.execute("key-3", 1L, TransactionType.CHARGE, 100L, this::charge).join();
+
+        assertEquals(2, cache.size());
+        assertEquals(1.0, registry.get("point.idempotency.evictions").tag("reason", "size").counter().count());
+
+        now.set(5000L);
+        cache.execute("key-4", 1L, TransactionType.CHARGE, 100L, this::charge).join();
+
+        assertEquals(1, cache.size());
+        assertEquals(2.0, registry.get("point.idempotency.evictions").tag("reason", "expired").counter().count());
+    }
+
+    @Test
+    @DisplayName("실패테스트-처리 중인 키가 최대 개수에 이르면 새 키를 거절하고 처리 중인 항목은 내보내지 않습니다")
+    void 처리_중인_키가_가득_차면_새_키를_거절합니다() {
+        CompletableFuture<UserPoint> first = new CompletableFuture<>();
+        CompletableFuture<UserPoint> second = new CompletableFuture<>();
+        cache.execute("key-1", 1L, TransactionType.CHARGE, 100L, () -> first);
+        cache.execute("key-2", 1L, TransactionType.CHARGE, 100L, () -> second);
+
+        assertThrows(PointRequestRejectedException.class, () -> cache.execute("key-3", 1L, TransactionType.CHARGE, 100L, this::charge));
+        assertEquals(0, executions.get());
+        assertEquals(2, cache.size());
+
+        // 처리가 끝나 자리가 나면 새 키를 다시 받습니다.
+        first.complete(new UserPoint(1L, 100L, 0L));
+        cache.execute("key-3", 1L, TransactionType.CHARGE, 100L, this::charge).join();
+        assertEquals(1, executions.get());
+        assertEquals(1.0, registry.get("point.idempotency.requests").tag("result", "rejected").counter().count());
+    }
+
+    private CompletableFuture<UserPoint> charge() {
+        executions.incrementAndGet();
+        return CompletableFuture.completedFuture(new UserPoint(1L, 100L * executions.get(), 0L));
+    }
+}
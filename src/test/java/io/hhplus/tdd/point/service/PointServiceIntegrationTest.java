@@ -13,11 +13,13 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+// 같은 사용자의 요청이 대기열에서 순차 처리되므로 Table 의 지연시간을 감안해 대기 시간을 넉넉히 잡습니다.
+@SpringBootTest(properties = "point.queue.timeout-millis=600000")
 public class PointServiceIntegrationTest {
 
     @Autowired
@@ -74,21 +76,21 @@ public class PointServiceIntegrationTest {
     }
 
     /**
-     * Todo - 동시성테스트-실패케이스-같은유저아이디가 다수의 포인트충전요청시 충전에 실패합니다.
-     * 실패테스트(포인트충전)-같은유저아이디가_다수의_포인트충전요청시_충전에_실패합니다
+     * Todo - 동시성테스트-같은유저아이디가 다수의 포인트충전요청시 모든 요청이 순서대로 처리됩니다.
+     * 예전에는 tryLock 에 실패한 요청을 즉시 거절했지만, 이제는 사용자별 대기열에 쌓아 순차적으로 처리합니다.
      * @throws InterruptedException
      */
     @Test
-    @DisplayName("실패테스트(포인트충전)-같은유저아이디가_다수의_포인트충전요청시_충전에_실패합니다")
-    void 같은유저아이디가_다수의_포인트충전요청시_충전에_실패합니다() throws InterruptedException {
+    @DisplayName("성공테스트(포인트충전)-같은유저아이디가_다수의_포인트충전요청시_모든_요청이_순서대로_처리됩니다")
+    void 같은유저아이디가_다수의_포인트충전요청시_모든_요청이_순서대로_처리됩니다() throws InterruptedException {
         final long userId = 99L; // 테스트에 사용될 사용자 ID
         final long chargeAmount = 1L; // 각 요청에 의해 충전될 포인트 양
-        final int threadCount = 100; // 동시에 실행될 스레드의 수
+        final int threadCount = 1000; // 동시에 요청될 작업의 수
 
         // 동시성 테스트를 위한 준비: 스레드 풀과 CountDownLatch 생성
-        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        ExecutorService executorService = Executors.newFixedThreadPool(64);
         CountDownLatch latch = new CountDownLatch(threadCount);
-
+        AtomicInteger failedCount = new AtomicInteger();
 
         // 모든 스레드에서 포인트 충전을 요청
         for (int i = 0; i < threadCount; i++) {
@@ -96,7 +98,7 @@ public class PointServiceIntegrationTest {
                 try {
                     pointService.chargePoint(userId, chargeAmount);
                 } catch (PointException ex) {
-                    assertEquals("현재 처리 중입니다. 잠시 후 다시 시도해주세요.", ex.getMessage());
+                    failedCount.incrementAndGet();
                 }
                 finally {
                     latch.countDown(); // 작업 완료 시 래치 카운트 감소
@@ -108,7 +110,9 @@ public class PointServiceIntegrationTest {
 
         // 모든 요청이 처리된 후의 사용자 포인트를 검증
         UserPoint finalUserPoint = pointService.getPointById(userId);
-        assertEquals(1, finalUserPoint.point(), "포인트가 정확히 증가하지 않았습니다.");
+        assertEquals(0, failedCount.get(), "거절된 요청이 없어야 합니다.");
+        assertEquals(threadCount * chargeAmount, finalUserPoint.point(), "포인트가 정확히 증가하지 않았습니다.");
+        assertEquals(threadCount, pointService.getHistoriesByUserId(userId).size(), "요청마다 이력이 하나씩 남아야 합니다.");
 
         executorService.shutdown(); // 스레드 풀 종료
     }
@@ -175,6 +179,7 @@ public class PointServiceIntegrationTest {
 
         ExecutorService executorService = Executors.newFixedThreadPool(50); // 동시성 테스트를 위한 스레드 풀
         CountDownLatch latch = new CountDownLatch(threadCount); // 모든 스레드가 작업을 완료할 때까지 대기하기 위한 래치
+        AtomicInteger failedCount = new AtomicInteger(); // 거절된 요청 수
 
         for (int i = 2; i < threadCount+2; i++) {
             if (i % 2 == 0) { // 짝수 번째 스레드는 포인트 충전 요청
@@ -182,7 +187,7 @@ public class PointServiceIntegrationTest {
                     try {
                         pointService.chargePoint(userId, chargeAmount);
                     } catch (PointException ex) {
-                        assertEquals("현재 처리 중입니다. 잠시 후 다시 시도해주세요.", ex.getMessage());
+                        failedCount.incrementAndGet();
                     }
                     finally {
                         latch.countDown(); // 작업 완료 시 래치 카운트 감소
@@ -193,8 +198,7 @@ public class PointServiceIntegrationTest {
                     try {
                         pointService.usePoint(userId, useAmount);
                     } catch (PointException ex) {
-                        // 예외가 발생했다면, 예상된 예외 발생으로 간주
-                        assertEquals("현재 포인트 사용 처리 중입니다. 잠시 후 다시 시도해주세요.", ex.getMessage());
+                        failedCount.incrementAndGet();
                     } finally {
                         latch.countDown();
                     }
@@ -206,8 +210,9 @@ public class PointServiceIntegrationTest {
 
         // 최종 사용자 포인트 검증
         UserPoint finalUserPoint = pointService.getPointById(userId);
-        // 예상되는 최종 포인트 값 계산 및 검증
-        assertEquals(5001, finalUserPoint.point());
+        // 충전과 사용이 모두 순서대로 처리되므로 초기 충전량이 그대로 남아야 합니다.
+        assertEquals(0, failedCount.get(), "거절된 요청이 없어야 합니다.");
+        assertEquals(initialCharge, finalUserPoint.point());
 
         executorService.shutdown(); // 스레드 풀 종료
     }
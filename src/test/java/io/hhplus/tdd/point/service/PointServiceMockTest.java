@@ -12,6 +12,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
@@ -34,6 +36,8 @@ class PointServiceMockTest {
     void setUp() {
         userPointRepository = Mockito.mock(UserPointRepository.class);
         pointHistoryRepository = Mockito.mock(PointHistoryRepository.class);
+        // 엔진은 saveAsync 로 이력을 넘기므로, 기본 구현대로 save 를 거치게 하여 save 에 대한 목킹과 검증을 그대로 씁니다.
+        doCallRealMethod().when(pointHistoryRepository).saveAsync(any(PointHistory.class));
         failedEventRepository = Mockito.mock(FailedEventRepository.class); // Mock 객체 추가
         pointService = new PointServiceImpl(userPointRepository, pointHistoryRepository, failedEventRepository);
     }
@@ -391,4 +395,145 @@ class PointServiceMockTest {
         assertEquals(mockHistories, result, "조회된 포인트사용내역이 예상과 일치하는지 확인");
         Mockito.verify(pointHistoryRepository, times(1)).selectAllByUserId(givenUserId);
     }
+
+    /**
+     * 성공테스트-포인트사용내역 페이지조회
+     * 요청한 개수보다 이력이 많으면 마지막 이력 id 를 다음 커서로 돌려줍니다.
+     */
+    @Test
+    @DisplayName("성공테스트-포인트사용내역 페이지조회-다음 이력이 있으면 마지막 이력 id 를 다음 커서로 반환합니다")
+    void testGetHistoryPage() {
+        // given : 요청 크기 2, 저장소는 크기+1 개를 조회해서 다음 페이지 여부를 판단합니다.
+        long givenUserId = 1L;
+        PointHistoryCondition condition = new PointHistoryCondition(null, 2, null, null, null);
+        List<PointHistory> mockHistories = Arrays.asList(
+                new PointHistory(1L, givenUserId, 500, TransactionType.CHARGE, System.currentTimeMillis()),
+                new PointHistory(2L, givenUserId, -300, TransactionType.USE, System.currentTimeMillis()),
+                new PointHistory(3L, givenUserId, 100, TransactionType.CHARGE, System.currentTimeMillis())
+        );
+        Mockito.when(pointHistoryRepository.selectByUserId(givenUserId, condition, 3)).thenReturn(mockHistories);
+
+        // when
+        PointHistoryPage page = pointService.getHistoryPage(givenUserId, condition);
+
+        // then
+        assertEquals(mockHistories.subList(0, 2), page.histories(), "요청한 개수만큼만 반환해야 합니다.");
+        assertEquals(2L, page.nextCursor(), "마지막으로 반환한 이력 id 가 다음 커서여야 합니다.");
+    }
+
+    @Test
+    @DisplayName("성공테스트-포인트사용내역 페이지조회-마지막 페이지면 다음 커서가 없습니다")
+    void testGetLastHistoryPage() {
+        long givenUserId = 1L;
+        PointHistoryCondition condition = new PointHistoryCondition(2L, 2, null, null, TransactionType.CHARGE);
+        List<PointHistory> mockHistories = List.of(
+                new PointHistory(3L, givenUserId, 100, TransactionType.CHARGE, System.currentTimeMillis())
+        );
+        Mockito.when(pointHistoryRepository.selectByUserId(givenUserId, condition, 3)).thenReturn(mockHistories);
+
+        PointHistoryPage page = pointService.getHistoryPage(givenUserId, condition);
+
+        assertEquals(mockHistories, page.histories());
+        assertNull(page.nextCursor(), "더 조회할 이력이 없으면 다음 커서는 null 이어야 합니다.");
+    }
+
+    @Test
+    @DisplayName("성공테스트-비동기 충전은 Future 로 충전 결과를 돌려줍니다")
+    void testChargePointAsync() {
+        long userId = 1L;
+        when(userPointRepository.selectById(userId)).thenReturn(UserPoint.empty(userId));
+
+        CompletableFuture<UserPoint> future = pointService.chargePointAsync(userId, 100L);
+
+        assertEquals(100L, future.join().point());
+        verify(pointHistoryRepository).save(any(PointHistory.class));
+    }
+
+    @Test
+    @DisplayName("실패테스트-비동기 사용이 실패하면 Future 가 예외로 완료되고 실패 데이터를 저장합니다")
+    void testUsePointAsyncFailure() {
+        long userId = 1L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 100L, System.currentTimeMillis()));
+
+        CompletableFuture<UserPoint> future = pointService.usePointAsync(userId, 1000L);
+
+        CompletionException thrown = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(PointException.class, thrown.getCause());
+        verify(failedEventRepository).save(any(PointFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("성공테스트-일괄처리는 사용자별로 한 번에 반영하고 요청 순서대로 건별 결과를 돌려줍니다")
+    void testApplyBulk() {
+        when(userPointRepository.selectById(1L)).thenReturn(UserPoint.empty(1L));
+        when(userPointRepository.selectById(2L)).thenReturn(new UserPoint(2L, 100L, System.currentTimeMillis()));
+        List<PointOperation> operations = List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 100L),
+                new PointOperation(2L, TransactionType.USE, 1000L),
+                new PointOperation(1L, TransactionType.USE, 30L),
+                new PointOperation(2L, TransactionType.CHARGE, 50L));
+
+        List<PointOperationResult> results = pointService.applyBulk(operations);
+
+        assertEquals(100L, results.get(0).userPoint().point());
+        assertFalse(results.get(1).succeeded());
+        assertEquals("포인트가 부족합니다.", results.get(1).errorMessage());
+        assertEquals(70L, results.get(2).userPoint().point());
+        assertEquals(150L, results.get(3).userPoint().point());
+        // 사용자마다 잔액은 한 번만 저장되고, 실패한 건만 실패 데이터로 남습니다.
+        verify(userPointRepository, times(1)).save(argThat(userPoint -> userPoint.id() == 1L));
+        verify(userPointRepository, times(1)).save(argThat(userPoint -> userPoint.id() == 2L));
+        verify(failedEventRepository, times(1)).save(any(PointFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("실패테스트-이력 저장이 중간에 실패하면 이력이 남은 요청까지만 잔액에 반영하고 나머지는 실패 데이터로 남깁니다")
+    void testHistoryFailureInBatch() {
+        when(userPointRepository.selectById(1L)).thenReturn(UserPoint.empty(1L));
+        when(pointHistoryRepository.save(any(PointHistory.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new IllegalStateException("이력 저장 실패"));
+        List<PointOperation> operations = List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 100L),
+                new PointOperation(1L, TransactionType.CHARGE, 50L),
+                new PointOperation(1L, TransactionType.USE, 30L));
+
+        List<PointOperationResult> results = pointService.applyBulk(operations);
+
+        assertEquals(100L, results.get(0).userPoint().point());
+        assertFalse(results.get(1).succeeded());
+        assertFalse(results.get(2).succeeded());
+        // 이력이 남은 첫 요청의 잔액만 저장되고, 이력이 없는 요청은 실패 데이터로 남습니다.
+        verify(userPointRepository, times(1)).save(argThat(userPoint -> userPoint.id() == 1L && userPoint.point() == 100L));
+        verify(failedEventRepository, times(2)).save(any(PointFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("실패테스트-한 사용자의 일괄처리 건수가 대기열 최대 깊이를 넘으면 모두 거절하고 잔액을 바꾸지 않습니다")
+    void testApplyBulkOverQueueDepth() {
+        when(userPointRepository.selectById(1L)).thenReturn(UserPoint.empty(1L));
+        // 기본 설정의 max-queue-depth 는 1000 입니다.
+        List<PointOperation> operations = java.util.stream.LongStream.rangeClosed(1, 1001)
+                .mapToObj(i -> new PointOperation(1L, TransactionType.CHARGE, 1L))
+                .toList();
+
+        List<PointOperationResult> results = pointService.applyBulk(operations);
+
+        assertTrue(results.stream().noneMatch(PointOperationResult::succeeded));
+        assertEquals("요청 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.", results.get(0).errorMessage());
+        verify(userPointRepository, never()).save(any(UserPoint.class));
+    }
+
+    @Test
+    @DisplayName("성공테스트-여러 사용자 조회는 중복 아이디를 한 번만 조회하고 요청 순서대로 돌려줍니다")
+    void testGetPointsByIds() {
+        when(userPointRepository.selectById(1L)).thenReturn(new UserPoint(1L, 100L, System.currentTimeMillis()));
+        when(userPointRepository.selectById(2L)).thenReturn(new UserPoint(2L, 200L, System.currentTimeMillis()));
+        when(userPointRepository.selectById(3L)).thenReturn(null);
+
+        List<UserPoint> userPoints = pointService.getPointsByIdsAsync(List.of(2L, 1L, 2L, 3L)).join();
+
+        assertEquals(List.of(2L, 1L), userPoints.stream().map(UserPoint::id).toList());
+        verify(userPointRepository, times(1)).selectById(2L);
+    }
 }
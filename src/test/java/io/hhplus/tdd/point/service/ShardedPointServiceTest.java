@@ -0,0 +1,261 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointShardingProperties;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointFailedEvent;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.repository.FailedEventRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * 샤드 엔진은 샤드 스레드 하나가 사용자의 잔액을 맡으므로, 동시에 요청해도 잔액이 정확하고 우편함이 가득 차면 거절하는지 검증합니다.
+ */
+class ShardedPointServiceTest {
+    private UserPointRepository userPointRepository;
+    private PointHistoryRepository pointHistoryRepository;
+    private FailedEventRepository failedEventRepository;
+    private ShardedPointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        userPointRepository = Mockito.mock(UserPointRepository.class);
+        pointHistoryRepository = Mockito.mock(PointHistoryRepository.class);
+        // 엔진은 saveAsync 로 이력을 넘기므로, 기본 구현대로 save 를 거치게 하여 save 에 대한 목킹과 검증을 그대로 씁니다.
+        doCallRealMethod().when(pointHistoryRepository).saveAsync(any(PointHistory.class));
+        failedEventRepository = Mockito.mock(FailedEventRepository.class);
+        pointService = shardedService(PointShardingProperties.defaults());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("동시성테스트-같은 사용자가 동시에 충전해도 모든 충전이 반영됩니다")
+    void 동시에_충전해도_모든_충전이_반영됩니다() throws InterruptedException {
+        long userId = 1L;
+        int threadCount = 1000;
+        when(userPointRepository.selectById(userId)).thenReturn(UserPoint.empty(userId));
+
+        runConcurrently(threadCount, () -> pointService.chargePoint(userId, 1L));
+
+        assertEquals(threadCount, pointService.getPointById(userId).point());
+        verify(pointHistoryRepository, times(threadCount)).save(any(PointHistory.class));
+        // 샤드가 처음 한 번만 저장소에서 읽고 이후에는 샤드의 잔액을 씁니다.
+        verify(userPointRepository, times(1)).selectById(userId);
+    }
+
+    @Test
+    @DisplayName("동시성테스트-여러 샤드에 나뉜 사용자들의 잔액이 각각 정확합니다")
+    void 여러_사용자의_잔액이_각각_정확합니다() throws InterruptedException {
+        int userCount = 100;
+        when(userPointRepository.selectById(anyLong())).thenAnswer(invocation -> UserPoint.empty(invocation.getArgument(0)));
+
+        runConcurrently(userCount * 10, new Runnable() {
+            private final AtomicInteger sequence = new AtomicInteger();
+
+            @Override
+            public void run() {
+                pointService.chargePoint(sequence.getAndIncrement() % userCount, 10L);
+            }
+        });
+
+        for (long userId = 0; userId < userCount; userId++) {
+            assertEquals(100L, pointService.getPointById(userId).point());
+        }
+    }
+
+    @Test
+    @DisplayName("동시성테스트-동시에 사용해도 잔액보다 많이 사용되지 않습니다")
+    void 동시에_사용해도_잔액보다_많이_사용되지_않습니다() throws InterruptedException {
+        long userId = 2L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+        AtomicInteger failedCount = new AtomicInteger();
+
+        // 20 포인트씩 100번 사용하면 50번만 성공해야 합니다.
+        runConcurrently(100, () -> {
+            try {
+                pointService.usePoint(userId, 20L);
+            } catch (PointException ex) {
+                assertEquals("포인트가 부족합니다.", ex.getMessage());
+                failedCount.incrementAndGet();
+            }
+        });
+
+        assertEquals(0L, pointService.getPointById(userId).point());
+        assertEquals(50, failedCount.get());
+        verify(failedEventRepository, times(50)).save(any(PointFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("실패테스트-이력 저장에 실패하면 잔액을 저장하지 않고 되돌린 뒤 실패 이벤트를 저장합니다")
+    void 이력_저장에_실패하면_잔액을_되돌립니다() {
+        long userId = 3L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 100L, System.currentTimeMillis()));
+        when(pointHistoryRepository.save(any(PointHistory.class))).thenThrow(new IllegalStateException("이력 저장 실패"));
+
+        assertThrows(IllegalStateException.class, () -> pointService.chargePoint(userId, 50L));
+
+        assertEquals(100L, pointService.getPointById(userId).point());
+        // 이력을 먼저 저장하므로 잔액은 저장소에 남지 않습니다.
+        verify(userPointRepository, never()).save(any(UserPoint.class));
+        verify(failedEventRepository).save(any(PointFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("실패테스트-잔액 저장에 실패하면 실패 이벤트를 저장하고 다음 요청에서 저장소의 잔액을 다시 읽습니다")
+    void 잔액_저장에_실패하면_저장소에서_다시_읽습니다() {
+        long userId = 6L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 100L, System.currentTimeMillis()));
+        when(userPointRepository.save(any(UserPoint.class))).thenThrow(new IllegalStateException("잔액 저장 실패"));
+
+        assertThrows(IllegalStateException.class, () -> pointService.chargePoint(userId, 50L));
+
+        assertEquals(100L, pointService.getPointById(userId).point());
+        verify(userPointRepository, times(2)).selectById(userId);
+        verify(failedEventRepository).save(any(PointFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("동시성테스트-잔액 저장이 실패하기 전에 미리 읽은 잔액은 늦게 도착해도 쓰지 않고 저장소에서 다시 읽습니다")
+    void 저장_실패_전에_미리_읽은_잔액은_쓰지_않습니다() throws Exception {
+        long userId = 9L;
+        AtomicReference<UserPoint> stored = new AtomicReference<>(new UserPoint(userId, 100L, System.currentTimeMillis()));
+        AtomicBoolean first = new AtomicBoolean(true);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // 처음 읽는 요청은 저장 실패 전의 잔액을 읽은 채로, 충전이 실패할 때까지 샤드에 도착하지 않습니다.
+        when(userPointRepository.selectById(userId)).thenAnswer(invocation -> {
+            UserPoint snapshot = stored.get();
+            if (first.compareAndSet(true, false)) {
+                reading.countDown();
+                release.await();
+            }
+            return snapshot;
+        });
+        // 저장소에는 반영되었지만 실패로 응답한 경우처럼, 잔액은 바뀌고 예외가 발생합니다.
+        when(userPointRepository.save(any(UserPoint.class))).thenAnswer(invocation -> {
+            stored.set(invocation.getArgument(0));
+            throw new IllegalStateException("잔액 저장 실패");
+        });
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        Future<UserPoint> staleRead = reader.submit(() -> pointService.getPointById(userId));
+        assertTrue(reading.await(1, TimeUnit.SECONDS));
+
+        assertThrows(IllegalStateException.class, () -> pointService.chargePoint(userId, 50L));
+        release.countDown();
+
+        try {
+            assertEquals(150L, staleRead.get(1, TimeUnit.SECONDS).point());
+            assertEquals(150L, pointService.getPointById(userId).point());
+        } finally {
+            reader.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("성공테스트-처음 보는 사용자의 잔액은 샤드 스레드가 아니라 요청 스레드에서 읽습니다")
+    void 처음_보는_사용자는_요청_스레드에서_읽습니다() {
+        long userId = 7L;
+        List<String> loadingThreads = new CopyOnWriteArrayList<>();
+        when(userPointRepository.selectById(userId)).thenAnswer(invocation -> {
+            loadingThreads.add(Thread.currentThread().getName());
+            return new UserPoint(userId, 100L, System.currentTimeMillis());
+        });
+
+        assertEquals(150L, pointService.chargePoint(userId, 50L).point());
+        assertEquals(150L, pointService.getPointById(userId).point());
+
+        assertEquals(List.of(Thread.currentThread().getName()), loadingThreads);
+    }
+
+    @Test
+    @DisplayName("실패테스트-존재하지 않는 사용자는 조회할 수 없습니다")
+    void 존재하지_않는_사용자는_조회에_실패합니다() {
+        long userId = 4L;
+        when(userPointRepository.selectById(userId)).thenReturn(null);
+
+        PointException exception = assertThrows(PointException.class, () -> pointService.getPointById(userId));
+
+        assertEquals("존재하지 않는 사용자 ID입니다.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("실패테스트-샤드의 우편함이 가득 차면 요청을 거절하고 실패 이벤트를 저장합니다")
+    void 우편함이_가득_차면_요청을_거절합니다() throws Exception {
+        pointService.shutdown();
+        pointService = shardedService(new PointShardingProperties(1, 1, 1, 30_000L));
+        long userId = 5L;
+        CountDownLatch release = new CountDownLatch(1);
+        when(userPointRepository.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        when(pointHistoryRepository.save(any(PointHistory.class))).thenAnswer(invocation -> {
+            release.await();
+            return invocation.getArgument(0);
+        });
+
+        // 첫 요청은 샤드가 꺼내 처리하는 중에 멈추고, 두 번째 요청이 우편함을 채웁니다.
+        CompletableFuture<UserPoint> first = pointService.chargePointAsync(userId, 1L);
+        while (pointService.mailboxDepths()[0] > 0) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<UserPoint> second = pointService.chargePointAsync(userId, 1L);
+
+        PointRequestRejectedException exception = assertThrows(PointRequestRejectedException.class, () -> pointService.chargePoint(userId, 1L));
+
+        assertEquals("요청 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.", exception.getMessage());
+        verify(failedEventRepository).save(any(PointFailedEvent.class));
+        release.countDown();
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).point());
+        assertEquals(2L, second.get(5, TimeUnit.SECONDS).point());
+    }
+
+    private ShardedPointService shardedService(PointShardingProperties properties) {
+        return new ShardedPointService(userPointRepository, pointHistoryRepository, failedEventRepository, properties,
+                new PointAsyncExecutor(PointExecutionProperties.platform()), PointExecutionProperties.platform(), PointMetrics.noop(), PointJournal.noop());
+    }
+
+    private void runConcurrently(int count, Runnable task) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch latch = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            executorService.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+    }
+}
@@ -0,0 +1,132 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.config.PointExecutionProperties;
+import io.hhplus.tdd.point.config.PointQueueProperties;
+import io.hhplus.tdd.point.config.PointQueueProperties.Lanes;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 대기열이 비어 제거되는 순간과 새 요청이 들어오는 순간이 계속 겹쳐도
+ * 같은 사용자의 작업이 동시에 실행되거나 유실되지 않는지 검증합니다.
+ */
+class UserRequestQueueExecutorTest {
+    private static final int USER_COUNT = 64;
+    private static final int STRIPES = 16;
+
+    private UserRequestQueueExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Lanes.class)
+    @DisplayName("성공테스트-대기열 제거와 추가가 경합해도 같은 사용자의 작업은 한 번에 하나씩 빠짐없이 실행됩니다")
+    void 대기열_제거와_추가가_경합해도_작업이_유실되지_않습니다(Lanes lanes) throws InterruptedException {
+        executor = executor(lanes);
+        int submitters = 32;
+        int tasksPerSubmitter = 2000;
+        // 잠금 없이 올리는 값이므로 같은 사용자의 작업이 겹쳐 실행되면 값이 유실됩니다.
+        long[] counts = new long[USER_COUNT];
+        AtomicIntegerArray expected = new AtomicIntegerArray(USER_COUNT);
+        AtomicIntegerArray running = new AtomicIntegerArray(USER_COUNT);
+        AtomicInteger overlaps = new AtomicInteger();
+
+        ExecutorService submitterPool = Executors.newFixedThreadPool(submitters);
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        CountDownLatch submitted = new CountDownLatch(submitters);
+        for (int s = 0; s < submitters; s++) {
+            submitterPool.execute(() -> {
+                List<CompletableFuture<Void>> own = new ArrayList<>(tasksPerSubmitter);
+                for (int i = 0; i < tasksPerSubmitter; i++) {
+                    int user = ThreadLocalRandom.current().nextInt(USER_COUNT);
+                    expected.incrementAndGet(user);
+                    own.add(executor.submit(user, () -> {
+                        if (running.incrementAndGet(user) > 1) {
+                            overlaps.incrementAndGet();
+                        }
+                        counts[user]++;
+                        Thread.yield();
+                        running.decrementAndGet(user);
+                        return null;
+                    }));
+                }
+                synchronized (results) {
+                    results.addAll(own);
+                }
+                submitted.countDown();
+            });
+        }
+        submitted.await();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        submitterPool.shutdown();
+
+        assertEquals(0, overlaps.get());
+        for (int user = 0; user < USER_COUNT; user++) {
+            assertEquals(expected.get(user), counts[user], "user " + user);
+        }
+        awaitIdle();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Lanes.class)
+    @DisplayName("성공테스트-striped 방식은 사용자가 많아도 대기열 수가 stripes 를 넘지 않습니다")
+    void 대기열_수는_방식에_따라_제한됩니다(Lanes lanes) throws Exception {
+        executor = executor(lanes);
+        int distinctUsers = 10_000;
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Void>> results = new ArrayList<>(distinctUsers);
+        for (long user = 0; user < distinctUsers; user++) {
+            results.add(executor.submit(user, () -> {
+                release.await();
+                return null;
+            }));
+        }
+
+        int active = executor.activeUserCount();
+        if (lanes == Lanes.STRIPED) {
+            assertTrue(active <= STRIPES, "active: " + active);
+        } else {
+            assertTrue(active > STRIPES, "active: " + active);
+        }
+
+        release.countDown();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        awaitIdle();
+    }
+
+    /**
+     * 마지막 작업의 결과가 전달된 뒤에 대기열이 제거되므로 잠시 기다렸다가 확인합니다.
+     */
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.activeUserCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, executor.activeUserCount(), "처리가 끝나면 모든 대기열이 제거되어야 합니다.");
+    }
+
+    private UserRequestQueueExecutor executor(Lanes lanes) {
+        // 대기열 초과로 거절되지 않도록 대기열 한도를 넉넉히 둡니다.
+        PointQueueProperties properties = new PointQueueProperties(8, 100_000, 30_000L, 64, lanes, STRIPES);
+        return new UserRequestQueueExecutor(properties, PointExecutionProperties.platform(), PointMetrics.noop());
+    }
+}